@@ -0,0 +1,57 @@
+package sqlancer.benchmarks;
+
+import sqlancer.DatabaseProvider;
+import sqlancer.MainOptions;
+import sqlancer.Randomly;
+import sqlancer.SQLGlobalState;
+import sqlancer.StateToReproduce;
+import sqlancer.duckdb.DuckDBOptions;
+import sqlancer.duckdb.DuckDBProvider;
+import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
+import sqlancer.postgres.PostgresGlobalState;
+import sqlancer.postgres.PostgresOptions;
+import sqlancer.postgres.PostgresProvider;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3Options;
+import sqlancer.sqlite3.SQLite3Provider;
+
+/**
+ * Creates global states with default options and a {@link StubConnection}, as {@link sqlancer.Main} would for a
+ * database named "benchmark".
+ */
+public final class BenchmarkStates {
+
+    public static final long SEED = 0;
+
+    private BenchmarkStates() {
+    }
+
+    public static SQLite3GlobalState createSQLite3State() {
+        return init(new SQLite3GlobalState(), new SQLite3Options(), new SQLite3Provider());
+    }
+
+    public static DuckDBGlobalState createDuckDBState() {
+        return init(new DuckDBGlobalState(), new DuckDBOptions(), new DuckDBProvider());
+    }
+
+    public static PostgresGlobalState createPostgresState() {
+        PostgresOptions options = new PostgresOptions();
+        // the stub connection does not return any collations
+        options.testCollations = false;
+        return init(new PostgresGlobalState(), options, new PostgresProvider());
+    }
+
+    private static <G extends SQLGlobalState<?, ?>> G init(G state, Object dbmsSpecificOptions,
+            DatabaseProvider<?, ?, ?> provider) {
+        MainOptions options = new MainOptions();
+        Randomly.initialize(options);
+        state.setMainOptions(options);
+        state.setDbmsSpecificOptions(dbmsSpecificOptions);
+        state.setRandomly(new Randomly(SEED));
+        state.setDatabaseName("benchmark");
+        state.setState(new StateToReproduce("benchmark", provider));
+        state.setConnection(StubConnection.create());
+        return state;
+    }
+
+}
@@ -0,0 +1,76 @@
+package sqlancer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.ComparatorHelper;
+import sqlancer.ResultSetDigest;
+import sqlancer.sqlite3.SQLite3GlobalState;
+
+/**
+ * Measures the comparison of two equal result sets (in different orders), as done by the TLP oracles for each query,
+ * by comparing their values or their digests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComparatorHelperBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int nrRows;
+
+    private List<String> resultSet;
+    private List<String> secondResultSet;
+    private SQLite3GlobalState state;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkStates.SEED);
+        resultSet = new ArrayList<>(nrRows);
+        for (int i = 0; i < nrRows; i++) {
+            resultSet.add(Long.toString(random.nextInt(nrRows)));
+        }
+        secondResultSet = new ArrayList<>(resultSet);
+        Collections.shuffle(secondResultSet, random);
+        state = BenchmarkStates.createSQLite3State();
+    }
+
+    @Benchmark
+    public void assumeResultSetsAreEqual() {
+        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, "SELECT c0 FROM t0",
+                Collections.singletonList("SELECT c0 FROM t0 WHERE p UNION ALL ..."), state);
+    }
+
+    @Benchmark
+    public boolean resultSetDigests() {
+        // the work of --streaming-result-comparison when the result sets are equal, without keeping the rows
+        ResultSetDigest digest = new ResultSetDigest();
+        for (String value : resultSet) {
+            digest.add(value);
+        }
+        ResultSetDigest secondDigest = new ResultSetDigest();
+        for (String value : secondResultSet) {
+            secondDigest.add(value);
+        }
+        return digest.equals(secondDigest);
+    }
+
+}
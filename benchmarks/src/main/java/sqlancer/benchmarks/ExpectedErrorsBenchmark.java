@@ -0,0 +1,112 @@
+package sqlancer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.ExpectedErrorsMatcher;
+import sqlancer.duckdb.DuckDBErrors;
+import sqlancer.sqlite3.SQLite3Errors;
+
+/**
+ * Compares the previous linear scan over the expected errors with {@link ExpectedErrorsMatcher}. As in the providers,
+ * the errors are added to a new {@link ExpectedErrors} object for each query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpectedErrorsBenchmark {
+
+    @Param({ "sqlite3", "duckdb" })
+    public String dbms;
+
+    private String[] messages;
+
+    @Setup
+    public void setup() {
+        // the last message is not expected, so that all errors are checked
+        messages = new String[] { "[SQLITE_ERROR] SQL error or missing database (integer overflow)",
+                "Binder Error: No function matches the given name and argument types",
+                "Conversion Error: Could not convert string 'abc' to INT32",
+                "an unexpected internal error that is not in any of the lists" };
+    }
+
+    private ExpectedErrors createErrors() {
+        ExpectedErrors errors = new ExpectedErrors();
+        if ("sqlite3".equals(dbms)) {
+            SQLite3Errors.addExpectedExpressionErrors(errors);
+            SQLite3Errors.addInsertUpdateErrors(errors);
+            SQLite3Errors.addQueryErrors(errors);
+        } else {
+            DuckDBErrors.addExpressionErrors(errors);
+            DuckDBErrors.addInsertErrors(errors);
+            DuckDBErrors.addGroupByErrors(errors);
+        }
+        return errors;
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole bh) {
+        // the implementation before ExpectedErrorsMatcher, on the sets that createErrors() adds
+        List<String> substrings = new ArrayList<>();
+        List<Pattern> regexes = new ArrayList<>();
+        if ("sqlite3".equals(dbms)) {
+            substrings.addAll(SQLite3Errors.getExpectedExpressionErrors());
+            substrings.addAll(SQLite3Errors.getInsertUpdateErrors());
+            substrings.addAll(SQLite3Errors.getQueryErrors());
+        } else {
+            substrings.addAll(DuckDBErrors.getExpressionErrors());
+            substrings.addAll(DuckDBErrors.getInsertErrors());
+            substrings.addAll(DuckDBErrors.getGroupByErrors());
+            regexes.addAll(DuckDBErrors.getExpressionErrorsRegex());
+        }
+        Set<String> errors = new HashSet<>(substrings);
+        Set<Pattern> regexErrors = new HashSet<>(regexes);
+        for (String message : messages) {
+            bh.consume(linearScan(errors, regexErrors, message));
+        }
+    }
+
+    private static boolean linearScan(Set<String> errors, Set<Pattern> regexes, String error) {
+        for (String s : errors) {
+            if (error.contains(s)) {
+                return true;
+            }
+        }
+        for (Pattern p : regexes) {
+            if (p.matcher(error).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public void cachedMatcher(Blackhole bh) {
+        ExpectedErrors errors = createErrors();
+        for (String message : messages) {
+            bh.consume(errors.errorIsExpected(message));
+        }
+    }
+
+}
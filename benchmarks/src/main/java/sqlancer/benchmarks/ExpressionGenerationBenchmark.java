@@ -0,0 +1,100 @@
+package sqlancer.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.duckdb.DuckDBSchema.DuckDBColumn;
+import sqlancer.duckdb.DuckDBSchema.DuckDBCompositeDataType;
+import sqlancer.duckdb.DuckDBSchema.DuckDBDataType;
+import sqlancer.duckdb.ast.DuckDBExpression;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator;
+import sqlancer.postgres.PostgresSchema.PostgresColumn;
+import sqlancer.postgres.PostgresSchema.PostgresDataType;
+import sqlancer.postgres.ast.PostgresExpression;
+import sqlancer.postgres.gen.PostgresExpressionGenerator;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.gen.SQLite3ExpressionGenerator;
+import sqlancer.sqlite3.schema.SQLite3DataType;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column.SQLite3CollateSequence;
+
+/**
+ * Measures the generation of random expressions (with the default maximum depth) over a table with one column of each
+ * type. Expressions that the generators reject with an {@link IgnoreMeException} are counted as well, as the oracles
+ * also pay for them. Run it with {@code -prof gc} to see the bytes allocated per expression.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionGenerationBenchmark {
+
+    private SQLite3ExpressionGenerator sqlite3Generator;
+    private DuckDBExpressionGenerator duckDBGenerator;
+    private PostgresExpressionGenerator postgresGenerator;
+
+    @Setup
+    public void setup() {
+        List<SQLite3Column> sqlite3Columns = Arrays.asList(
+                new SQLite3Column("c0", SQLite3DataType.INT, true, false, SQLite3CollateSequence.BINARY),
+                new SQLite3Column("c1", SQLite3DataType.TEXT, false, false, SQLite3CollateSequence.NOCASE),
+                new SQLite3Column("c2", SQLite3DataType.REAL, false, false, SQLite3CollateSequence.BINARY));
+        sqlite3Generator = new SQLite3ExpressionGenerator(BenchmarkStates.createSQLite3State())
+                .setColumns(sqlite3Columns);
+
+        List<DuckDBColumn> duckDBColumns = Arrays.asList(
+                new DuckDBColumn("c0", new DuckDBCompositeDataType(DuckDBDataType.INT, 4), false, true),
+                new DuckDBColumn("c1", new DuckDBCompositeDataType(DuckDBDataType.VARCHAR, 0), false, true),
+                new DuckDBColumn("c2", new DuckDBCompositeDataType(DuckDBDataType.FLOAT, 8), false, true));
+        duckDBGenerator = new DuckDBExpressionGenerator(BenchmarkStates.createDuckDBState())
+                .setColumns(duckDBColumns);
+
+        List<PostgresColumn> postgresColumns = Arrays.asList(new PostgresColumn("c0", PostgresDataType.INT),
+                new PostgresColumn("c1", PostgresDataType.TEXT), new PostgresColumn("c2", PostgresDataType.BOOLEAN));
+        postgresGenerator = new PostgresExpressionGenerator(BenchmarkStates.createPostgresState())
+                .setColumns(postgresColumns);
+    }
+
+    @Benchmark
+    public SQLite3Expression sqlite3() {
+        try {
+            return sqlite3Generator.generateExpression();
+        } catch (IgnoreMeException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public DuckDBExpression duckDB() {
+        try {
+            return duckDBGenerator.generateExpression();
+        } catch (IgnoreMeException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public PostgresExpression postgres() {
+        try {
+            return postgresGenerator.generateExpression(0);
+        } catch (IgnoreMeException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package sqlancer.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.MainOptions;
+import sqlancer.Randomly;
+
+/**
+ * Measures the generation of random values with the default options (i.e., with constant caching). Run it with
+ * {@code -prof gc} to also see the bytes allocated per operation, which are not zero, as strings and subsets are
+ * allocated for each value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomlyBenchmark {
+
+    private final List<String> options = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h");
+    private Randomly r;
+
+    @Setup
+    public void setup() {
+        Randomly.initialize(new MainOptions());
+        r = new Randomly(BenchmarkStates.SEED);
+    }
+
+    @Benchmark
+    public long getInteger() {
+        return r.getInteger();
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return r.getDouble();
+    }
+
+    @Benchmark
+    public String getString() {
+        return r.getString();
+    }
+
+    @Benchmark
+    public boolean getBoolean() {
+        return Randomly.getBoolean();
+    }
+
+    @Benchmark
+    public String fromList() {
+        return Randomly.fromList(options);
+    }
+
+    @Benchmark
+    public List<String> nonEmptySubset() {
+        return Randomly.nonEmptySubset(options);
+    }
+
+    @Benchmark
+    public List<String> subset() {
+        return Randomly.subset(options);
+    }
+
+}
@@ -0,0 +1,87 @@
+package sqlancer.benchmarks;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.beust.jcommander.JCommander;
+
+import sqlancer.MainOptions;
+import sqlancer.SQLConnection;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.common.query.SQLancerResultSet;
+import sqlancer.postgres.PostgresGlobalState;
+
+/**
+ * Measures the queries/s with and without reusing statements (see --statement-cache-size). By default, the queries are
+ * executed on a stub connection, which only shows the overhead on the side of SQLancer. To measure the effect for a
+ * DBMS, pass its JDBC URL, e.g., {@code -p url=jdbc:postgresql://localhost:5432/test -p user=sqlancer -p
+ * password=sqlancer} or {@code -p url=jdbc:mysql://localhost:3306/test?useSSL=false -p user=root -p password=}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementReuseBenchmark {
+
+    @Param({ "0", "32" })
+    public int statementCacheSize;
+
+    @Param({ "" })
+    public String url;
+
+    @Param({ "" })
+    public String user;
+
+    @Param({ "" })
+    public String password;
+
+    private PostgresGlobalState state;
+    private SQLQueryAdapter query;
+
+    @Setup
+    public void setup() throws SQLException {
+        state = BenchmarkStates.createPostgresState();
+        MainOptions options = new MainOptions();
+        JCommander.newBuilder().addObject(options).build()
+                .parse("--statement-cache-size", String.valueOf(statementCacheSize));
+        state.setMainOptions(options);
+        if (!url.isEmpty()) {
+            state.setConnection(new SQLConnection(DriverManager.getConnection(url, user, password)));
+        }
+        query = new SQLQueryAdapter("SELECT 1");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        state.getConnection().close();
+    }
+
+    @Benchmark
+    public boolean executeAndGet() throws SQLException {
+        try (SQLancerResultSet rs = query.executeAndGet(state)) {
+            return rs.next();
+        }
+    }
+
+    @Benchmark
+    public boolean execute() throws SQLException {
+        return query.execute(state);
+    }
+
+}
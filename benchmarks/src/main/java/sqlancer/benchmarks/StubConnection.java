@@ -0,0 +1,66 @@
+package sqlancer.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import sqlancer.SQLConnection;
+
+/**
+ * A JDBC connection that accepts every statement and returns empty result sets, so that the benchmarks only measure
+ * the cost on the side of SQLancer.
+ */
+public final class StubConnection {
+
+    private StubConnection() {
+    }
+
+    public static SQLConnection create() {
+        return new SQLConnection(createProxy(Connection.class));
+    }
+
+    private static <T> T createProxy(Class<T> type) {
+        Object proxy = Proxy.newProxyInstance(StubConnection.class.getClassLoader(), new Class<?>[] { type },
+                (p, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    switch (method.getName()) {
+                    case "createStatement":
+                        return createProxy(Statement.class);
+                    case "prepareStatement":
+                        return createProxy(PreparedStatement.class);
+                    case "executeQuery":
+                    case "getResultSet":
+                        return createProxy(ResultSet.class);
+                    // the catalog cache keys the results by the server and its version
+                    case "getMetaData":
+                        return createProxy(returnType);
+                    case "getURL":
+                        return "jdbc:stub://localhost/benchmark";
+                    case "getDatabaseProductVersion":
+                        return "stub";
+                    case "hashCode":
+                        return System.identityHashCode(p);
+                    case "equals":
+                        return p == args[0];
+                    case "toString":
+                        return type.getSimpleName() + " stub";
+                    default:
+                        break;
+                    }
+                    if (returnType == boolean.class) {
+                        return false;
+                    } else if (returnType == int.class) {
+                        return 0;
+                    } else if (returnType == long.class) {
+                        return 0L;
+                    } else if (returnType.isPrimitive() && returnType != void.class) {
+                        throw new UnsupportedOperationException(method.toString());
+                    }
+                    return null;
+                });
+        return type.cast(proxy);
+    }
+
+}
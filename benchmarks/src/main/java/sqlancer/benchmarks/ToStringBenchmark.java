@@ -0,0 +1,84 @@
+package sqlancer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.duckdb.DuckDBToStringVisitor;
+import sqlancer.duckdb.ast.DuckDBExpression;
+import sqlancer.sqlite3.SQLite3ToStringVisitor;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+
+/**
+ * Measures the rendering of generated expressions to SQL strings by {@link SQLite3ToStringVisitor} and, for DuckDB, by
+ * {@link sqlancer.common.ast.newast.NewToStringVisitor}. The expressions are generated once, so that only the
+ * rendering is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToStringBenchmark {
+
+    private static final int NR_EXPRESSIONS = 1024;
+
+    private List<SQLite3Expression> sqlite3Expressions;
+    private List<DuckDBExpression> duckDBExpressions;
+    private int next;
+
+    @Setup
+    public void setup() {
+        ExpressionGenerationBenchmark generators = new ExpressionGenerationBenchmark();
+        generators.setup();
+        sqlite3Expressions = generate(generators::sqlite3);
+        duckDBExpressions = generate(generators::duckDB);
+    }
+
+    private static <E> List<E> generate(Supplier<E> generator) {
+        List<E> expressions = new ArrayList<>(NR_EXPRESSIONS);
+        while (expressions.size() < NR_EXPRESSIONS) {
+            try {
+                E expression = generator.get();
+                if (expression != null) {
+                    expressions.add(expression);
+                }
+            } catch (IgnoreMeException e) {
+                // try again
+            }
+        }
+        return expressions;
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % NR_EXPRESSIONS;
+        return next;
+    }
+
+    @Benchmark
+    public String sqlite3() {
+        SQLite3ToStringVisitor visitor = new SQLite3ToStringVisitor();
+        visitor.visit(sqlite3Expressions.get(nextIndex()));
+        return visitor.get();
+    }
+
+    @Benchmark
+    public String duckDB() {
+        return DuckDBToStringVisitor.asString(duckDBExpressions.get(nextIndex()));
+    }
+
+}
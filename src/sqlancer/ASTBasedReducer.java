@@ -3,10 +3,23 @@ package sqlancer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.transformations.JSQLParserBasedTransformation;
+import sqlancer.transformations.ParsedStatementCache;
 import sqlancer.transformations.RemoveClausesOfSelect;
 import sqlancer.transformations.RemoveColumnsOfSelect;
 import sqlancer.transformations.RemoveElementsOfExpressionList;
@@ -20,6 +33,11 @@ import sqlancer.transformations.Transformation;
 public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection>
         implements Reducer<G> {
 
+    private static final List<Supplier<Transformation>> TRANSFORMATIONS = List.of(RemoveUnions::new,
+            RemoveClausesOfSelect::new, RemoveRowsOfInsert::new, RemoveColumnsOfSelect::new,
+            RemoveElementsOfExpressionList::new, SimplifyExpressions::new, SimplifyConstant::new,
+            RoundDoubleConstant::new);
+
     private final DatabaseProvider<G, O, C> provider;
 
     @SuppressWarnings("unused")
@@ -30,14 +48,51 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
     private List<Query<C>> reducedStatements;
     // statement after reduction.
 
+    private ReplayCheckpoints<G, C> replayer;
+    // index of the statement that is currently transformed, before which the candidates do not change
+    private int currentStatementIndex;
+    // the number of successful edits of the transformations that have been applied
+    private long reduceSteps;
+    // whether a statement was changed in the current round of transformations
+    private boolean observedChange;
+
+    // used if --reducer-threads > 1, see applyInParallel()
+    private ExecutorService reducerExecutor;
+    private BlockingQueue<G> workerStates;
+    private Map<G, ReplayCheckpoints<G, C>> workerReplayers;
+
+    // the statements parsed by the transformations, which are shared by all threads
+    private ParsedStatementCache parsedStatementCache;
+
+    /**
+     * The outcome of applying a transformation to a statement on a worker state.
+     */
+    private static final class TransformationResult<C extends SQLancerDBConnection> {
+
+        private final Query<C> statement;
+        private final boolean changed;
+        private final long reduceSteps;
+
+        TransformationResult(Query<C> statement, boolean changed, long reduceSteps) {
+            this.statement = statement;
+            this.changed = changed;
+            this.reduceSteps = reduceSteps;
+        }
+
+    }
+
     public ASTBasedReducer(DatabaseProvider<G, O, C> provider) {
         this.provider = provider;
     }
 
     @SuppressWarnings("unchecked")
-    private void updateStatements(String queryString, int index) {
+    private static <C extends SQLancerDBConnection> Query<C> createStatement(String queryString) {
         boolean couldAffectSchema = queryString.contains("CREATE TABLE") || queryString.contains("EXPLAIN");
-        reducedStatements.set(index, (Query<C>) new SQLQueryAdapter(queryString, couldAffectSchema));
+        return (Query<C>) new SQLQueryAdapter(queryString, couldAffectSchema);
+    }
+
+    private void updateStatements(String queryString, int index) {
+        reducedStatements.set(index, createStatement(queryString));
     }
 
     @SuppressWarnings("unchecked")
@@ -46,6 +101,10 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
         this.state = state;
         this.newGlobalState = newGlobalState;
         this.reproducer = reproducer;
+        int maxCheckpoints = ReplayCheckpoints.getMaxCheckpoints(state.getOptions(), provider);
+        this.replayer = new ReplayCheckpoints<>(provider, newGlobalState.getDatabaseName(), maxCheckpoints);
+        this.reduceSteps = 0;
+        this.parsedStatementCache = new ParsedStatementCache();
 
         long maxReduceTime = state.getOptions().getMaxStatementReduceTime();
         long maxReduceSteps = state.getOptions().getMaxStatementReduceSteps();
@@ -54,82 +113,213 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
         newGlobalState.getState().setStatements(new ArrayList<>(initialBugInducingStatements));
 
         List<Transformation> transformations = new ArrayList<>();
+        for (Supplier<Transformation> transformation : TRANSFORMATIONS) {
+            Transformation t = createTransformation(transformation);
+            t.setBugJudgement(() -> {
+                try {
+                    return this.bugStillTriggers();
+                } catch (Exception ignored) {
+                }
+                return false;
+            });
+            transformations.add(t);
+        }
 
-        transformations.add(new RemoveUnions());
-        transformations.add(new RemoveClausesOfSelect());
-        transformations.add(new RemoveRowsOfInsert());
-        transformations.add(new RemoveColumnsOfSelect());
-        transformations.add(new RemoveElementsOfExpressionList());
-        transformations.add(new SimplifyExpressions());
-        transformations.add(new SimplifyConstant());
-        transformations.add(new RoundDoubleConstant());
-
-        Transformation.setBugJudgement(() -> {
-            try {
-                return this.bugStillTriggers();
-            } catch (Exception ignored) {
+        int nrThreads = state.getOptions().getNrReducerThreads();
+        List<ReplayCheckpoints<G, C>> allReplayers = new ArrayList<>();
+        allReplayers.add(replayer);
+        if (nrThreads > 1) {
+            reducerExecutor = Executors.newFixedThreadPool(nrThreads);
+            workerStates = new ArrayBlockingQueue<>(nrThreads);
+            workerReplayers = new HashMap<>();
+            for (int i = 0; i < nrThreads; i++) {
+                G workerState = StatementReducer.createWorkerState(provider, newGlobalState,
+                        newGlobalState.getDatabaseName() + "_astreducer" + i);
+                ReplayCheckpoints<G, C> workerReplayer = new ReplayCheckpoints<>(provider,
+                        workerState.getDatabaseName(), maxCheckpoints);
+                workerReplayers.put(workerState, workerReplayer);
+                allReplayers.add(workerReplayer);
+                workerStates.add(workerState);
             }
-            return false;
-        });
+        }
 
-        boolean observeChange;
         reducedStatements = new ArrayList<>();
         for (Query<?> query : initialBugInducingStatements) {
             reducedStatements.add((Query<C>) query);
         }
 
         Instant startTime = Instant.now();
-        reduceProcess: do {
-            observeChange = false;
-            for (Transformation t : transformations) {
-                for (int i = 0; i < reducedStatements.size(); i++) {
-
-                    Instant currentTime = Instant.now();
-                    if (maxReduceTime != MainOptions.NO_REDUCE_LIMIT
-                            && Duration.between(startTime, currentTime).getSeconds() >= maxReduceTime) {
-                        break reduceProcess;
-                    }
+        try {
+            reduceProcess: do {
+                observedChange = false;
+                for (int transformationIndex = 0; transformationIndex < TRANSFORMATIONS.size(); transformationIndex++) {
+                    Transformation t = transformations.get(transformationIndex);
+                    int i = 0;
+                    while (i < reducedStatements.size()) {
 
-                    if (maxReduceSteps != MainOptions.NO_REDUCE_LIMIT
-                            && Transformation.getReduceSteps() >= maxReduceSteps) {
-                        break reduceProcess;
-                    }
+                        Instant currentTime = Instant.now();
+                        if (maxReduceTime != MainOptions.NO_REDUCE_LIMIT
+                                && Duration.between(startTime, currentTime).getSeconds() >= maxReduceTime) {
+                            break reduceProcess;
+                        }
+
+                        if (maxReduceSteps != MainOptions.NO_REDUCE_LIMIT && reduceSteps >= maxReduceSteps) {
+                            break reduceProcess;
+                        }
 
-                    Query<?> query = reducedStatements.get(i);
-                    boolean initFlag = t.init(query.getQueryString());
-                    int index = i;
-                    t.setStatementChangedCallBack((statementString) -> {
-                        updateStatements(statementString, index);
-                    });
-
-                    if (!initFlag) {
-                        newGlobalState.getLogger()
-                                .logReducer("warning: failed parsing the statement at transformer : " + t);
-                        continue;
+                        if (reducerExecutor != null) {
+                            i = applyInParallel(TRANSFORMATIONS.get(transformationIndex), i);
+                            continue;
+                        }
+
+                        currentStatementIndex = i;
+                        Query<?> query = reducedStatements.get(i);
+                        int index = i;
+                        i++;
+                        if (!t.mayChange(query.getQueryString())) {
+                            continue;
+                        }
+                        boolean initFlag = t.init(query.getQueryString());
+                        t.setStatementChangedCallBack((statementString) -> {
+                            updateStatements(statementString, index);
+                        });
+
+                        if (!initFlag) {
+                            newGlobalState.getLogger()
+                                    .logReducer("warning: failed parsing the statement at transformer : " + t);
+                            continue;
+                        }
+                        long stepsBefore = t.getReduceSteps();
+                        t.apply();
+                        t.release();
+                        reduceSteps += t.getReduceSteps() - stepsBefore;
+                        observedChange |= t.changed();
                     }
-                    t.apply();
-                    observeChange |= t.changed();
                 }
+            } while (observedChange);
+        } finally {
+            if (reducerExecutor != null) {
+                reducerExecutor.shutdownNow();
+                // the workers might still be saving checkpoints, which are deleted below
+                reducerExecutor.awaitTermination(1, TimeUnit.MINUTES);
+                reducerExecutor = null;
+            }
+            ReplayCheckpoints.deleteCheckpoints(allReplayers);
+            if (workerStates != null) {
+                StatementReducer.dropWorkerDatabases(provider, workerStates);
+                workerStates = null;
+                workerReplayers = null;
             }
-        } while (observeChange);
+        }
 
         newGlobalState.getState().setStatements(new ArrayList<>(reducedStatements));
         newGlobalState.getLogger().logReduced(newGlobalState.getState());
+        newGlobalState.getLogger().logReducer(ReplayCheckpoints.getStatistics(allReplayers));
+        newGlobalState.getLogger().logReducer(parsedStatementCache.getStatistics());
     }
 
-    public boolean bugStillTriggers() throws Exception {
-        try (C con2 = provider.createDatabase(newGlobalState)) {
-            newGlobalState.setConnection(con2);
-            List<Query<C>> candidateStatements = new ArrayList<>(reducedStatements);
-            newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
+    private Transformation createTransformation(Supplier<Transformation> transformation) {
+        Transformation t = transformation.get();
+        if (t instanceof JSQLParserBasedTransformation) {
+            ((JSQLParserBasedTransformation) t).setParsedStatementCache(parsedStatementCache);
+        }
+        return t;
+    }
 
-            for (Query<C> s : candidateStatements) {
+    // applies the transformation to the next statements concurrently, each on a worker state with the current
+    // statements; the statements are then taken in order until the first one that the transformation changed, so that
+    // the result is the same as if the statements were transformed one after another, and the results for the
+    // statements after it (which were computed with its original version) are discarded
+    private int applyInParallel(Supplier<Transformation> transformation, int firstIndex) throws Exception {
+        List<Query<C>> statements = new ArrayList<>(reducedStatements);
+        int lastIndex = Math.min(firstIndex + workerReplayers.size(), statements.size());
+        AtomicInteger firstChangedIndex = new AtomicInteger(Integer.MAX_VALUE);
+        List<Future<TransformationResult<C>>> results = new ArrayList<>();
+        for (int i = firstIndex; i < lastIndex; i++) {
+            int index = i;
+            results.add(reducerExecutor.submit(() -> {
+                G workerState = workerStates.take();
                 try {
-                    s.execute(newGlobalState);
-                } catch (Throwable ignoredException) {
-                    // ignore
+                    return applyOnWorker(createTransformation(transformation), statements, index, workerState,
+                            firstChangedIndex);
+                } finally {
+                    workerStates.add(workerState);
                 }
+            }));
+        }
+        for (int i = firstIndex; i < lastIndex; i++) {
+            TransformationResult<C> result;
+            try {
+                result = results.get(i - firstIndex).get();
+            } catch (ExecutionException e) {
+                throw new AssertionError(e);
+            }
+            if (result == null) {
+                newGlobalState.getLogger().logReducer(
+                        "warning: failed parsing the statement at transformer : " + transformation.get());
+                continue;
+            }
+            reduceSteps += result.reduceSteps;
+            if (result.changed) {
+                results.forEach(f -> f.cancel(false));
+                observedChange = true;
+                reducedStatements.set(i, result.statement);
+                newGlobalState.getState().setStatements(new ArrayList<>(reducedStatements));
+                newGlobalState.getLogger().logReduced(newGlobalState.getState());
+                return i + 1;
             }
+        }
+        return lastIndex;
+    }
+
+    // returns null if the statement cannot be parsed
+    private TransformationResult<C> applyOnWorker(Transformation t, List<Query<C>> statements, int index,
+            G workerState, AtomicInteger firstChangedIndex) {
+        String sql = statements.get(index).getQueryString();
+        if (!t.mayChange(sql)) {
+            return new TransformationResult<>(statements.get(index), false, 0);
+        }
+        if (!t.init(sql)) {
+            return null;
+        }
+        List<Query<C>> candidateStatements = new ArrayList<>(statements);
+        t.setStatementChangedCallBack(
+                statementString -> candidateStatements.set(index, createStatement(statementString)));
+        t.setBugJudgement(() -> {
+            // the result is discarded anyway if a previous statement was changed
+            if (index > firstChangedIndex.get()) {
+                return false;
+            }
+            try {
+                return bugStillTriggers(workerState, candidateStatements, index);
+            } catch (Exception ignored) {
+            }
+            return false;
+        });
+        t.apply();
+        t.release();
+        if (t.changed()) {
+            firstChangedIndex.accumulateAndGet(index, Math::min);
+        }
+        return new TransformationResult<>(candidateStatements.get(index), t.changed(), t.getReduceSteps());
+    }
+
+    private boolean bugStillTriggers(G workerState, List<Query<C>> candidateStatements, int checkpointPosition)
+            throws Exception {
+        workerState.getState().setStatements(new ArrayList<>(candidateStatements));
+        try (C con = workerReplayers.get(workerState).replay(workerState, candidateStatements, checkpointPosition)) {
+            try {
+                return reproducer.bugStillTriggers(workerState);
+            } catch (Throwable ignoredException) {
+                return false;
+            }
+        }
+    }
+
+    public boolean bugStillTriggers() throws Exception {
+        List<Query<C>> candidateStatements = new ArrayList<>(reducedStatements);
+        newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
+        try (C con2 = replayer.replay(newGlobalState, candidateStatements, currentStatementIndex)) {
             try {
                 if (reproducer.bugStillTriggers(newGlobalState)) {
                     newGlobalState.getLogger().logReduced(newGlobalState.getState());
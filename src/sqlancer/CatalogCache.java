@@ -0,0 +1,254 @@
+package sqlancer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The results of the queries on the system catalogs (e.g., the operators, collations, and functions of PostgreSQL),
+ * shared by all threads, so that the catalogs are not queried again for each database and each connection. The catalogs
+ * only change when the server is upgraded or when a DBMS-specific setup (e.g., an extension) is installed in the
+ * template database, so the results are kept by the server, its version, the DBMS, the options that change the catalogs
+ * (e.g., --extensions), and the query.
+ *
+ * If --catalog-cache-file is given, the results are loaded from the file at startup and saved to it periodically and at
+ * the end of the run, so that later runs against the same server do not query the catalogs at all.
+ */
+public final class CatalogCache {
+
+    private static final int MAGIC = 0x43415443; // "CATC"
+    private static final int VERSION = 1;
+
+    private static final CatalogCache IN_MEMORY = new CatalogCache(null);
+
+    // the caches with a file, by the path of the file
+    private static final ConcurrentMap<String, CatalogCache> CACHE_FILES = new ConcurrentHashMap<>();
+
+    private final File file;
+    private final ConcurrentMap<String, List<List<String>>> results = new ConcurrentHashMap<>();
+    private volatile boolean changed;
+
+    @FunctionalInterface
+    interface CatalogQuery {
+        List<List<String>> execute() throws SQLException;
+    }
+
+    private CatalogCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cache that is stored in the given file, which is loaded when it is first requested.
+     *
+     * @param path
+     *            the path of the file, or null for the cache that is not saved
+     *
+     * @return the cache
+     */
+    public static CatalogCache open(String path) {
+        if (path == null) {
+            return IN_MEMORY;
+        }
+        return CACHE_FILES.computeIfAbsent(path, p -> {
+            try {
+                return load(p);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+    }
+
+    static CatalogCache load(String path) throws IOException {
+        CatalogCache cache = new CatalogCache(new File(path));
+        cache.load();
+        return cache;
+    }
+
+    // removes the database from a JDBC URL such as jdbc:postgresql://localhost:5432/test?user=sqlancer
+    static String getServerURL(String url) {
+        int hostIndex = url.indexOf("//");
+        if (hostIndex == -1) {
+            return url;
+        }
+        int databaseIndex = url.indexOf('/', hostIndex + 2);
+        return databaseIndex == -1 ? url : url.substring(0, databaseIndex);
+    }
+
+    /**
+     * Returns the rows of a query on the system catalogs, which is only executed if no thread (and no previous run with
+     * the same file) has executed it on the same server before.
+     *
+     * @param con
+     *            the connection on which the query is executed
+     * @param dbms
+     *            the DBMS that is tested, as different DBMSs that are based on the same server might set up different
+     *            catalogs
+     * @param options
+     *            the options of the DBMS that change the catalogs (e.g., the extensions that are created in each
+     *            database), or an empty string
+     * @param query
+     *            the query
+     *
+     * @return the unmodifiable rows, each with the values of all columns as strings
+     *
+     * @throws SQLException
+     *             if the query cannot be executed
+     */
+    public List<List<String>> getRows(SQLConnection con, String dbms, String options, String query)
+            throws SQLException {
+        String key = String.join("\n", getServerURL(con.getURL()), con.getDatabaseVersion(), dbms, options, query);
+        return getRows(key, () -> executeQuery(con, query));
+    }
+
+    List<List<String>> getRows(String key, CatalogQuery query) throws SQLException {
+        List<List<String>> rows = results.get(key);
+        if (rows != null) {
+            return rows;
+        }
+        // the threads might execute the same query concurrently, which is harmless as they obtain the same result
+        rows = query.execute();
+        List<List<String>> previousRows = results.putIfAbsent(key, rows);
+        if (previousRows != null) {
+            return previousRows;
+        }
+        changed = true;
+        return rows;
+    }
+
+    /**
+     * Returns the values of the first column of a query on the system catalogs (see
+     * {@link #getRows(SQLConnection, String, String, String)}).
+     *
+     * @param con
+     *            the connection on which the query is executed
+     * @param dbms
+     *            the DBMS that is tested
+     * @param options
+     *            the options of the DBMS that change the catalogs, or an empty string
+     * @param query
+     *            the query
+     *
+     * @return the values of the first column
+     *
+     * @throws SQLException
+     *             if the query cannot be executed
+     */
+    public List<String> getColumn(SQLConnection con, String dbms, String options, String query)
+            throws SQLException {
+        List<List<String>> rows = getRows(con, dbms, options, query);
+        List<String> column = new ArrayList<>(rows.size());
+        for (List<String> row : rows) {
+            column.add(row.get(0));
+        }
+        return column;
+    }
+
+    private static List<List<String>> executeQuery(SQLConnection con, String query) throws SQLException {
+        List<List<String>> rows = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery(query)) {
+                int nrColumns = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    List<String> row = new ArrayList<>(nrColumns);
+                    for (int i = 1; i <= nrColumns; i++) {
+                        row.add(rs.getString(i));
+                    }
+                    rows.add(Collections.unmodifiableList(row));
+                }
+            }
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    private void load() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not a catalog cache file");
+            }
+            int nrResults = in.readInt();
+            for (int i = 0; i < nrResults; i++) {
+                String key = in.readUTF();
+                int nrRows = in.readInt();
+                int nrColumns = in.readInt();
+                List<List<String>> rows = new ArrayList<>(nrRows);
+                for (int j = 0; j < nrRows; j++) {
+                    List<String> row = new ArrayList<>(nrColumns);
+                    for (int k = 0; k < nrColumns; k++) {
+                        row.add(in.readBoolean() ? in.readUTF() : null);
+                    }
+                    rows.add(Collections.unmodifiableList(row));
+                }
+                results.put(key, Collections.unmodifiableList(rows));
+            }
+        }
+    }
+
+    /**
+     * Saves the results to the file, if any query was executed since the file was loaded. The results are first written
+     * to a temporary file, which then replaces the file, so that the file is complete even if SQLancer is killed while
+     * saving it. The file is saved periodically and on shutdown, so the saves are serialized, as they share the temporary
+     * file.
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        if (file == null || !changed) {
+            return;
+        }
+        // reset before the results are written, so that the results of queries executed meanwhile are saved next time
+        changed = false;
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            List<Map.Entry<String, List<List<String>>>> entries = new ArrayList<>(results.entrySet());
+            out.writeInt(entries.size());
+            for (Map.Entry<String, List<List<String>>> entry : entries) {
+                List<List<String>> rows = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(rows.size());
+                out.writeInt(rows.isEmpty() ? 0 : rows.get(0).size());
+                for (List<String> row : rows) {
+                    for (String value : row) {
+                        out.writeBoolean(value != null);
+                        if (value != null) {
+                            out.writeUTF(value);
+                        }
+                    }
+                }
+            }
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static void saveAll() throws IOException {
+        for (CatalogCache cache : CACHE_FILES.values()) {
+            cache.save();
+        }
+    }
+
+}
@@ -1,20 +1,26 @@
 package sqlancer;
 
-import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import sqlancer.OracleConnectionPool.ConnectionTask;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLancerResultSet;
 
 public final class ComparatorHelper {
 
+    private static final Pattern TRAILING_ZEROS = Pattern.compile("[\\.]0+$");
+
     private ComparatorHelper() {
     }
 
@@ -38,32 +44,63 @@ public final class ComparatorHelper {
 
     public static List<String> getResultSetFirstColumnAsString(String queryString, ExpectedErrors errors,
             SQLGlobalState<?, ?> state) throws SQLException {
+        List<String> resultSet = new ArrayList<>();
+        forEachValueInFirstColumn(queryString, errors, state, resultSet::add);
+        return resultSet;
+    }
+
+    /**
+     * Computes the digest of the first column of the result set without keeping its values in memory.
+     *
+     * @param queryString
+     *            the query
+     * @param errors
+     *            the errors that the query might result in
+     * @param state
+     *            the global state
+     *
+     * @return the digest of the values, after removing trailing zeros as in
+     *         {@link #getResultSetFirstColumnAsString(String, ExpectedErrors, SQLGlobalState)}
+     *
+     * @throws SQLException
+     *             if the result set cannot be read
+     */
+    public static ResultSetDigest getResultSetFirstColumnDigest(String queryString, ExpectedErrors errors,
+            SQLGlobalState<?, ?> state) throws SQLException {
+        ResultSetDigest digest = new ResultSetDigest();
+        forEachValueInFirstColumn(queryString, errors, state, digest::add);
+        return digest;
+    }
+
+    private static void forEachValueInFirstColumn(String queryString, ExpectedErrors errors,
+            SQLGlobalState<?, ?> state, Consumer<String> consumer) throws SQLException {
+        logQuery(queryString, state);
+        forEachValueInFirstColumn(queryString, errors, state, state.getConnection(), consumer);
+    }
+
+    private static void logQuery(String queryString, SQLGlobalState<?, ?> state) {
         if (state.getOptions().logEachSelect()) {
-            // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
-            try {
-                state.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
         }
+    }
+
+    private static void forEachValueInFirstColumn(String queryString, ExpectedErrors errors,
+            SQLGlobalState<?, ?> state, SQLConnection connection, Consumer<String> consumer) throws SQLException {
         boolean canonicalizeString = state.getOptions().canonicalizeSqlString();
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors, true, canonicalizeString);
-        List<String> resultSet = new ArrayList<>();
         SQLancerResultSet result = null;
         try {
-            result = q.executeAndGet(state);
+            result = q.executeAndGet(state, connection);
             if (result == null) {
                 throw new IgnoreMeException();
             }
             while (result.next()) {
                 String resultTemp = result.getString(1);
                 if (resultTemp != null) {
-                    resultTemp = resultTemp.replaceAll("[\\.]0+$", ""); // Remove the trailing zeros as many DBMS treat
+                    resultTemp = removeTrailingZeros(resultTemp); // Remove the trailing zeros as many DBMS treat
                     // it as non-bugs
                 }
-                resultSet.add(resultTemp);
+                consumer.accept(resultTemp);
             }
         } catch (Exception e) {
             if (e instanceof IgnoreMeException) {
@@ -82,7 +119,70 @@ public final class ComparatorHelper {
                 result.close();
             }
         }
-        return resultSet;
+    }
+
+    // reads the first column of each query's result set; the queries are executed concurrently if the state has an
+    // OracleConnectionPool, but logged in their order
+    private static <T> List<T> readFirstColumns(List<String> queryStrings, ExpectedErrors errors,
+            SQLGlobalState<?, ?> state, Supplier<T> newResult, BiConsumer<T, String> add) throws SQLException {
+        List<ConnectionTask<SQLConnection, T>> tasks = new ArrayList<>();
+        for (String queryString : queryStrings) {
+            logQuery(queryString, state);
+            tasks.add(con -> {
+                T result = newResult.get();
+                forEachValueInFirstColumn(queryString, errors, state, con, value -> add.accept(result, value));
+                return result;
+            });
+        }
+        return OracleConnectionPool.execute(state, tasks);
+    }
+
+    // the results of the original query, if it is not null, followed by the results of the partitioning queries, which
+    // are added to combinedString
+    private static <T> List<T> readCombinedResults(String originalQueryString, String firstQueryString,
+            String secondQueryString, String thirdQueryString, List<String> combinedString, boolean asUnion,
+            SQLGlobalState<?, ?> state, ExpectedErrors errors, Supplier<T> newResult, BiConsumer<T, String> add)
+            throws SQLException {
+        List<String> partitionQueryStrings = new ArrayList<>();
+        if (asUnion) {
+            partitionQueryStrings.add(
+                    firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL " + thirdQueryString);
+        } else {
+            partitionQueryStrings.add(firstQueryString);
+            partitionQueryStrings.add(secondQueryString);
+            partitionQueryStrings.add(thirdQueryString);
+        }
+        combinedString.addAll(partitionQueryStrings);
+        List<String> queryStrings = new ArrayList<>();
+        if (originalQueryString != null) {
+            queryStrings.add(originalQueryString);
+        }
+        queryStrings.addAll(partitionQueryStrings);
+        return readFirstColumns(queryStrings, errors, state, newResult, add);
+    }
+
+    // equivalent to value.replaceAll("[\\.]0+$", ""), but without using a regex for most values
+    static String removeTrailingZeros(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return value;
+        }
+        char last = value.charAt(length - 1);
+        if (last != '0') {
+            if (last == '\n' || last == '\r' || last == '\u0085' || last == '\u2028' || last == '\u2029') {
+                // $ also matches before a line terminator at the end
+                return TRAILING_ZEROS.matcher(value).replaceAll("");
+            }
+            return value;
+        }
+        int i = length - 1;
+        while (i > 0 && value.charAt(i - 1) == '0') {
+            i--;
+        }
+        if (i > 0 && value.charAt(i - 1) == '.') {
+            return value.substring(0, i - 1);
+        }
+        return value;
     }
 
     public static void assumeResultSetsAreEqual(List<String> resultSet, List<String> secondResultSet,
@@ -143,24 +243,177 @@ public final class ComparatorHelper {
     public static List<String> getCombinedResultSet(String firstQueryString, String secondQueryString,
             String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
             ExpectedErrors errors) throws SQLException {
-        List<String> secondResultSet;
-        if (asUnion) {
-            String unionString = firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL "
-                    + thirdQueryString;
-            combinedString.add(unionString);
-            secondResultSet = getResultSetFirstColumnAsString(unionString, errors, state);
-        } else {
-            secondResultSet = new ArrayList<>();
-            secondResultSet.addAll(getResultSetFirstColumnAsString(firstQueryString, errors, state));
-            secondResultSet.addAll(getResultSetFirstColumnAsString(secondQueryString, errors, state));
-            secondResultSet.addAll(getResultSetFirstColumnAsString(thirdQueryString, errors, state));
-            combinedString.add(firstQueryString);
-            combinedString.add(secondQueryString);
-            combinedString.add(thirdQueryString);
+        return getCombinedResultSet(null, new ArrayList<>(), firstQueryString, secondQueryString, thirdQueryString,
+                combinedString, asUnion, state, errors);
+    }
+
+    /**
+     * Like {@link #getCombinedResultSet(String, String, String, List, boolean, SQLGlobalState, ExpectedErrors)}, but
+     * also reads the result set of the original query, so that all queries can be executed concurrently with
+     * --oracle-connections.
+     *
+     * @param originalQueryString
+     *            the original query, or null if only the partitioning queries are executed
+     * @param originalResultSet
+     *            the list to which the values of the original query are added
+     * @param firstQueryString
+     *            the first partitioning query
+     * @param secondQueryString
+     *            the second partitioning query
+     * @param thirdQueryString
+     *            the third partitioning query
+     * @param combinedString
+     *            the list to which the executed partitioning queries are added
+     * @param asUnion
+     *            whether the queries are combined by UNION ALL rather than executed one by one
+     * @param state
+     *            the global state
+     * @param errors
+     *            the errors that the queries might result in
+     *
+     * @return the combined result set of the partitioning queries
+     *
+     * @throws SQLException
+     *             if a result set cannot be read
+     */
+    public static List<String> getCombinedResultSet(String originalQueryString, List<String> originalResultSet,
+            String firstQueryString, String secondQueryString, String thirdQueryString, List<String> combinedString,
+            boolean asUnion, SQLGlobalState<?, ?> state, ExpectedErrors errors) throws SQLException {
+        List<List<String>> resultSets = readCombinedResults(originalQueryString, firstQueryString, secondQueryString,
+                thirdQueryString, combinedString, asUnion, state, errors, ArrayList::new, List::add);
+        int first = 0;
+        if (originalQueryString != null) {
+            originalResultSet.addAll(resultSets.get(0));
+            first = 1;
+        }
+        List<String> secondResultSet = new ArrayList<>();
+        for (List<String> resultSet : resultSets.subList(first, resultSets.size())) {
+            secondResultSet.addAll(resultSet);
         }
         return secondResultSet;
     }
 
+    /**
+     * Computes the digest of the result set of the partitioning queries as
+     * {@link #getCombinedResultSet(String, String, String, List, boolean, SQLGlobalState, ExpectedErrors)} would
+     * return it.
+     *
+     * @param firstQueryString
+     *            the first partitioning query
+     * @param secondQueryString
+     *            the second partitioning query
+     * @param thirdQueryString
+     *            the third partitioning query
+     * @param combinedString
+     *            the list to which the executed queries are added
+     * @param asUnion
+     *            whether the queries are combined by UNION ALL rather than executed one by one
+     * @param state
+     *            the global state
+     * @param errors
+     *            the errors that the queries might result in
+     *
+     * @return the digest of the combined result set
+     *
+     * @throws SQLException
+     *             if a result set cannot be read
+     */
+    public static ResultSetDigest getCombinedResultSetDigest(String firstQueryString, String secondQueryString,
+            String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
+            ExpectedErrors errors) throws SQLException {
+        return getCombinedResultSetDigest(null, new ResultSetDigest(), firstQueryString, secondQueryString,
+                thirdQueryString, combinedString, asUnion, state, errors);
+    }
+
+    /**
+     * Like {@link #getCombinedResultSetDigest(String, String, String, List, boolean, SQLGlobalState, ExpectedErrors)},
+     * but also computes the digest of the original query, so that all queries can be executed concurrently with
+     * --oracle-connections.
+     *
+     * @param originalQueryString
+     *            the original query, or null if only the partitioning queries are executed
+     * @param originalDigest
+     *            the digest to which the values of the original query are added
+     * @param firstQueryString
+     *            the first partitioning query
+     * @param secondQueryString
+     *            the second partitioning query
+     * @param thirdQueryString
+     *            the third partitioning query
+     * @param combinedString
+     *            the list to which the executed partitioning queries are added
+     * @param asUnion
+     *            whether the queries are combined by UNION ALL rather than executed one by one
+     * @param state
+     *            the global state
+     * @param errors
+     *            the errors that the queries might result in
+     *
+     * @return the digest of the combined result set of the partitioning queries
+     *
+     * @throws SQLException
+     *             if a result set cannot be read
+     */
+    public static ResultSetDigest getCombinedResultSetDigest(String originalQueryString,
+            ResultSetDigest originalDigest, String firstQueryString, String secondQueryString,
+            String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
+            ExpectedErrors errors) throws SQLException {
+        List<ResultSetDigest> digests = readCombinedResults(originalQueryString, firstQueryString, secondQueryString,
+                thirdQueryString, combinedString, asUnion, state, errors, ResultSetDigest::new, ResultSetDigest::add);
+        int first = 0;
+        if (originalQueryString != null) {
+            originalDigest.addAll(digests.get(0));
+            first = 1;
+        }
+        ResultSetDigest digest = new ResultSetDigest();
+        for (ResultSetDigest partitionDigest : digests.subList(first, digests.size())) {
+            digest.addAll(partitionDigest);
+        }
+        return digest;
+    }
+
+    /**
+     * Checks that the result set of the original query and the combined result set of the other queries contain the
+     * same values, given only their digests. Equal digests imply equal result sets. Otherwise, the queries are executed
+     * again to compare their values as
+     * {@link #assumeResultSetsAreEqual(List, List, String, List, SQLGlobalState)} does, which considers result sets
+     * with the same size and the same distinct values as equal and reports the missing values.
+     *
+     * @param digest
+     *            the digest of the result set of the original query
+     * @param secondDigest
+     *            the digest of the combined result set of the other queries
+     * @param originalQueryString
+     *            the original query
+     * @param combinedString
+     *            the other queries, whose result sets are combined
+     * @param state
+     *            the global state
+     * @param errors
+     *            the errors that the queries might result in
+     *
+     * @throws SQLException
+     *             if a result set cannot be read
+     */
+    public static void assumeResultSetDigestsAreEqual(ResultSetDigest digest, ResultSetDigest secondDigest,
+            String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state,
+            ExpectedErrors errors) throws SQLException {
+        if (state.getOptions().validateResultSizeOnly() ? digest.getNrRows() == secondDigest.getNrRows()
+                : digest.equals(secondDigest)) {
+            return;
+        }
+        List<String> queryStrings = new ArrayList<>();
+        queryStrings.add(originalQueryString);
+        queryStrings.addAll(combinedString);
+        List<List<String>> resultSets = readFirstColumns(queryStrings, errors, state, ArrayList::new, List::add);
+        List<String> resultSet = resultSets.get(0);
+        List<String> secondResultSet = new ArrayList<>();
+        for (List<String> partitionResultSet : resultSets.subList(1, resultSets.size())) {
+            secondResultSet.addAll(partitionResultSet);
+        }
+        assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString, state);
+    }
+
     public static List<String> getCombinedResultSetNoDuplicates(String firstQueryString, String secondQueryString,
             String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
             ExpectedErrors errors) throws SQLException {
@@ -0,0 +1,249 @@
+package sqlancer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Databases that are created in the background before a thread needs them (see --database-pool-depth), so that the
+ * thread does not wait for DROP DATABASE and CREATE DATABASE, which take up to seconds on distributed DBMSs. Only the
+ * states of the generated databases take them from a pool (see {@link GlobalState#setDatabasePoolName(String)}); the
+ * states of the reducer, of the replays, and of the connection test create their databases directly. Each thread has
+ * its own pool, keyed by the name of the database that it would otherwise create, whose databases are named by
+ * appending a number to that name. A database that was taken from the pool is dropped in the background once its
+ * connection is closed and the thread takes the next database, after which its name is used for another database. The
+ * database on which a run failed is kept instead (see {@link #keep(GlobalState)}). When the thread ends, the databases
+ * that it has not taken are dropped (see {@link #closeAll()}).
+ *
+ * The CREATE DATABASE statements might be random (e.g., for PostgreSQL), so they are generated by the thread when it
+ * takes a database from the pool rather than by the background threads, which keeps the run of the thread
+ * deterministic.
+ */
+public final class DatabasePool {
+
+    // the pools of each thread, by the name of the database that the thread would otherwise create
+    private static final ThreadLocal<Map<String, DatabasePool>> POOLS = ThreadLocal.withInitial(HashMap::new);
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "database-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String baseName;
+    private final EntryConnection entryConnection;
+    private final UnaryOperator<String> dropCommand;
+    // the futures of the databases that are (being) created, in the order in which they are taken
+    private final Queue<Future<PooledDatabase>> databases = new ConcurrentLinkedQueue<>();
+    // the names of the databases that have been dropped after they were used
+    private final Queue<String> freeNames = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nrNames = new AtomicInteger();
+    // the names of the taken databases whose connections have been closed, which are dropped when the next one is taken
+    private final Set<String> closedNames = new LinkedHashSet<>();
+    // the names of the taken databases that are not dropped, as the run on them failed
+    private final Set<String> keptNames = new HashSet<>();
+    // the drops of the used databases that might still be executed
+    private final Queue<Future<?>> pendingDrops = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Opens a connection to the server that is not connected to one of the pooled databases, on which they are created
+     * and dropped.
+     */
+    @FunctionalInterface
+    public interface EntryConnection {
+        Connection getConnection() throws SQLException;
+    }
+
+    private static final class PooledDatabase {
+
+        private final String name;
+        private final String createCommand;
+
+        PooledDatabase(String name, String createCommand) {
+            this.name = name;
+            this.createCommand = createCommand;
+        }
+
+    }
+
+    private DatabasePool(String baseName, EntryConnection entryConnection, UnaryOperator<String> dropCommand) {
+        this.baseName = baseName;
+        this.entryConnection = entryConnection;
+        this.dropCommand = dropCommand;
+    }
+
+    public static boolean isEnabled(GlobalState<?, ?, ?> globalState) {
+        return globalState.getDatabasePoolName() != null && globalState.getOptions().getDatabasePoolDepth() > 0;
+    }
+
+    /**
+     * Takes a database that is ready to use from the pool of the given state, sets the database name of the state to the
+     * name of the taken database, and logs the statements that created the database. A database is created in the
+     * background to replace it.
+     *
+     * @param globalState
+     *            the state of the thread
+     * @param entryConnection
+     *            opens a connection to the server on which the databases are created and dropped
+     * @param dropCommand
+     *            returns the statement that drops the database with the given name, if it exists
+     * @param createCommand
+     *            returns the statement that creates the database with the given name
+     *
+     * @return the action that releases the taken database, which is executed once the connection to the database is
+     *         closed
+     *
+     * @throws SQLException
+     *             if the database could not be created
+     */
+    public static Runnable take(GlobalState<?, ?, ?> globalState, EntryConnection entryConnection,
+            UnaryOperator<String> dropCommand, UnaryOperator<String> createCommand) throws SQLException {
+        DatabasePool pool = POOLS.get().computeIfAbsent(globalState.getDatabasePoolName(),
+                name -> new DatabasePool(name, entryConnection, dropCommand));
+        PooledDatabase database = pool.take(globalState.getOptions().getDatabasePoolDepth(), createCommand);
+        globalState.getState().logStatement(dropCommand.apply(database.name));
+        globalState.getState().logStatement(database.createCommand);
+        globalState.setDatabaseName(database.name);
+        return () -> pool.release(database.name);
+    }
+
+    /**
+     * Keeps the database that the given state has taken from its pool, instead of dropping it once its connection is
+     * closed, so that the database on which a run failed can be inspected.
+     *
+     * @param globalState
+     *            the state of the thread
+     */
+    public static void keep(GlobalState<?, ?, ?> globalState) {
+        if (isEnabled(globalState)) {
+            DatabasePool pool = POOLS.get().get(globalState.getDatabasePoolName());
+            if (pool != null) {
+                pool.keep(globalState.getDatabaseName());
+            }
+        }
+    }
+
+    /**
+     * Drops the databases that the pools of the current thread have created but not handed out, and waits until the
+     * used databases have been dropped, once the thread generates no more databases.
+     */
+    public static void closeAll() {
+        POOLS.get().values().forEach(DatabasePool::close);
+        POOLS.remove();
+    }
+
+    private synchronized PooledDatabase take(int depth, UnaryOperator<String> createCommand) throws SQLException {
+        dropClosedDatabases();
+        // fills the pool when it is first used, and after a database could not be created
+        while (databases.size() < depth) {
+            submitCreation(createCommand);
+        }
+        Future<PooledDatabase> database = databases.poll();
+        submitCreation(createCommand);
+        try {
+            return database.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new AssertionError(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    private void submitCreation(UnaryOperator<String> createCommand) {
+        String name = freeNames.poll();
+        if (name == null) {
+            name = baseName + "_" + nrNames.getAndIncrement();
+        }
+        PooledDatabase database = new PooledDatabase(name, createCommand.apply(name));
+        databases.add(EXECUTOR.submit(() -> {
+            try (Connection con = entryConnection.getConnection(); Statement s = con.createStatement()) {
+                s.execute(dropCommand.apply(database.name));
+                s.execute(database.createCommand);
+            } catch (SQLException e) {
+                // the name can be used for another database, which drops this one first if it was created
+                freeNames.add(database.name);
+                throw e;
+            }
+            return database;
+        }));
+    }
+
+    // the connection might be closed more than once, and the run might fail after it was closed
+    private synchronized void release(String name) {
+        closedNames.add(name);
+    }
+
+    private synchronized void keep(String name) {
+        keptNames.add(name);
+    }
+
+    private void dropClosedDatabases() {
+        pendingDrops.removeIf(Future::isDone);
+        for (String name : closedNames) {
+            if (keptNames.remove(name)) {
+                // the name is not used again, as the database still exists
+                continue;
+            }
+            pendingDrops.add(EXECUTOR.submit(() -> {
+                try {
+                    drop(name);
+                    freeNames.add(name);
+                } catch (SQLException e) {
+                    // the name is not used again, as the database might still exist
+                    e.printStackTrace();
+                }
+            }));
+        }
+        closedNames.clear();
+    }
+
+    private synchronized void close() {
+        dropClosedDatabases();
+        for (Future<PooledDatabase> database = databases.poll(); database != null; database = databases.poll()) {
+            try {
+                drop(database.get().name);
+            } catch (ExecutionException e) {
+                // the database was not created
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+        for (Future<?> drop = pendingDrops.poll(); drop != null; drop = pendingDrops.poll()) {
+            try {
+                drop.get();
+            } catch (ExecutionException e) {
+                throw new AssertionError(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private void drop(String name) throws SQLException {
+        try (Connection con = entryConnection.getConnection(); Statement s = con.createStatement()) {
+            s.execute(dropCommand.apply(name));
+        }
+    }
+
+}
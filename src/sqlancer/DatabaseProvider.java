@@ -46,6 +46,111 @@ public interface DatabaseProvider<G extends GlobalState<O, ?, C>, O extends DBMS
 
     C createDatabase(G globalState) throws Exception;
 
+    /**
+     * Drops the database that {@link #createDatabase} created for the given state, once it is no longer needed and its
+     * connection has been closed (e.g., the databases of the reducer threads). By default, the database is left behind
+     * and only dropped when a database with the same name is created again.
+     *
+     * @param globalState
+     *            the state whose database is dropped
+     *
+     * @throws Exception
+     *             if dropping the database fails
+     */
+    default void dropDatabase(G globalState) throws Exception {
+    }
+
+    /**
+     * Whether databases of this DBMS can be saved as templates and copied (see {@link DatabaseTemplatePool}).
+     * Otherwise, each database is generated from scratch. The template methods are only called if this method returns
+     * true, so a provider that returns true must implement {@link #saveDatabaseTemplate},
+     * {@link #restoreDatabaseTemplate}, and {@link #deleteDatabaseTemplate}.
+     *
+     * @return true if the template methods are implemented
+     */
+    default boolean supportsDatabaseTemplates() {
+        return false;
+    }
+
+    /**
+     * Saves a copy of the generated database under the given name. Only called if {@link #supportsDatabaseTemplates()}
+     * returns true.
+     *
+     * @param globalState
+     *            the state whose database was generated
+     * @param templateName
+     *            the name under which the copy is saved
+     *
+     * @return true if the copy was saved, or false if the database cannot be copied faithfully
+     *
+     * @throws Exception
+     *             if saving the copy fails
+     */
+    default boolean saveDatabaseTemplate(G globalState, String templateName) throws Exception {
+        throw new UnsupportedOperationException(getDBMSName() + " does not support database templates");
+    }
+
+    /**
+     * Replaces the newly created, empty database with a copy of the given template. Only called if
+     * {@link #supportsDatabaseTemplates()} returns true.
+     *
+     * @param globalState
+     *            the state whose database was created by {@link #createDatabase}
+     * @param template
+     *            the template to be copied
+     *
+     * @throws Exception
+     *             if copying the template fails
+     */
+    default void restoreDatabaseTemplate(G globalState, DatabaseTemplatePool.DatabaseTemplate template)
+            throws Exception {
+        throw new UnsupportedOperationException(getDBMSName() + " does not support database templates");
+    }
+
+    /**
+     * Deletes the copy that was saved under the given name, once it is no longer needed. Only called if
+     * {@link #supportsDatabaseTemplates()} returns true.
+     *
+     * @param templateName
+     *            the name under which the copy was saved
+     *
+     * @throws Exception
+     *             if deleting the copy fails
+     */
+    default void deleteDatabaseTemplate(String templateName) throws Exception {
+        throw new UnsupportedOperationException(getDBMSName() + " does not support database templates");
+    }
+
+    /**
+     * Whether additional connections to an existing database can be opened for the queries of the test oracles (see
+     * {@link OracleConnectionPool}). {@link #createReadOnlyConnection} is only called if this method returns true, so a
+     * provider that returns true must implement it.
+     *
+     * @return true if {@link #createReadOnlyConnection} is implemented
+     */
+    default boolean supportsReadOnlyConnections() {
+        return false;
+    }
+
+    /**
+     * Opens an additional connection to the database that {@link #createDatabase} created, through which the database
+     * is only read. Only called if {@link #supportsReadOnlyConnections()} returns true. The connection must see the
+     * committed state of the database and must be safe to use from another thread than the connection of the state; if
+     * it cannot be opened or configured, it must be closed before the exception is thrown. The caller closes the
+     * connection.
+     *
+     * @param globalState
+     *            the state whose database was created by {@link #createDatabase}
+     *
+     * @return the connection
+     *
+     * @throws Exception
+     *             if the connection cannot be opened
+     */
+    default C createReadOnlyConnection(G globalState) throws Exception {
+        throw new UnsupportedOperationException(getDBMSName() + " does not support read-only connections");
+    }
+
     /**
      * The DBMS name is used to name the log directory and command to test the respective DBMS.
      *
@@ -0,0 +1,137 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import sqlancer.common.query.Query;
+
+/**
+ * A pool of generated databases that serve as templates for further databases (see --template-pool-size). The first
+ * databases of a DBMS are generated as usual and saved as templates. Afterwards, each database is a copy of a template
+ * that is selected by the randomness of its state, so that the test oracles can be executed without first executing the
+ * statements that generated the database. The templates are deleted at the end of the run (see {@link #deleteAll()}).
+ */
+public final class DatabaseTemplatePool {
+
+    private static final ConcurrentMap<String, DatabaseTemplatePool> POOLS = new ConcurrentHashMap<>();
+
+    // by the number of the template, e.g., sqlite3-template2 before sqlite3-template10
+    private static final Comparator<DatabaseTemplate> TEMPLATE_ORDER = Comparator
+            .comparingInt((DatabaseTemplate t) -> t.getName().length()).thenComparing(DatabaseTemplate::getName);
+
+    private final DatabaseProvider<?, ?, ?> provider;
+    private final String dbmsName;
+    private final int size;
+    private final List<DatabaseTemplate> templates = new ArrayList<>();
+    private int nrReservedTemplates;
+    private int nextTemplateId;
+
+    public static final class DatabaseTemplate {
+
+        private final String name;
+        private final List<Query<?>> statements;
+
+        DatabaseTemplate(String name, List<Query<?>> statements) {
+            this.name = name;
+            this.statements = Collections.unmodifiableList(new ArrayList<>(statements));
+        }
+
+        /**
+         * Gets the name under which the DBMS saved the template (e.g., as part of a file name).
+         *
+         * @return the name of the template
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the statements that generated the template, which are logged for each copy of the template, so that the
+         * copies can be reproduced.
+         *
+         * @return the statements that generated the template
+         */
+        public List<Query<?>> getStatements() {
+            return statements;
+        }
+
+    }
+
+    private DatabaseTemplatePool(DatabaseProvider<?, ?, ?> provider, int size) {
+        this.provider = provider;
+        this.dbmsName = provider.getDBMSName();
+        this.size = size;
+    }
+
+    public static DatabaseTemplatePool getPool(DatabaseProvider<?, ?, ?> provider, int size) {
+        return POOLS.computeIfAbsent(provider.getDBMSName(), name -> new DatabaseTemplatePool(provider, size));
+    }
+
+    /**
+     * Reserves a place in the pool for a template that is about to be generated.
+     *
+     * @return the name of the template to be generated, or null if the pool is full
+     */
+    synchronized String reserveTemplate() {
+        if (templates.size() + nrReservedTemplates >= size) {
+            return null;
+        }
+        nrReservedTemplates++;
+        return String.format("%s-template%d", dbmsName, nextTemplateId++);
+    }
+
+    synchronized void addTemplate(String name, List<Query<?>> statements) {
+        nrReservedTemplates--;
+        DatabaseTemplate template = new DatabaseTemplate(name, statements);
+        int index = Collections.binarySearch(templates, template, TEMPLATE_ORDER);
+        templates.add(-index - 1, template);
+    }
+
+    synchronized void cancelReservation() {
+        nrReservedTemplates--;
+    }
+
+    /**
+     * Selects one of the templates that have been generated so far. The templates are ordered by their number, so that
+     * the selection only depends on the given randomness and on which templates exist, but not on the order in which
+     * the threads generated them.
+     *
+     * @param r
+     *            the randomness of the state whose database is copied
+     *
+     * @return the selected template, or null if all templates are still being generated
+     */
+    synchronized DatabaseTemplate getTemplate(Randomly r) {
+        if (templates.isEmpty()) {
+            return null;
+        }
+        return templates.get(r.getInteger(0, templates.size()));
+    }
+
+    /**
+     * Deletes the templates of all DBMSs, once all threads have finished.
+     */
+    public static void deleteAll() {
+        for (DatabaseTemplatePool pool : POOLS.values()) {
+            pool.deleteTemplates();
+        }
+        POOLS.clear();
+    }
+
+    private synchronized void deleteTemplates() {
+        for (DatabaseTemplate template : templates) {
+            try {
+                provider.deleteDatabaseTemplate(template.getName());
+            } catch (Exception e) {
+                // the template is left behind
+                e.printStackTrace();
+            }
+        }
+        templates.clear();
+    }
+
+}
@@ -1,5 +1,7 @@
 package sqlancer;
 
+import java.util.List;
+
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.common.schema.AbstractSchema;
@@ -16,6 +18,8 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
     private StateToReproduce state;
     private Main.QueryManager<C> manager;
     private String databaseName;
+    private String databasePoolName;
+    private OracleConnectionPool<C> oracleConnectionPool;
 
     public void setConnection(C con) {
         this.databaseConnection = con;
@@ -74,6 +78,14 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         this.manager = manager;
     }
 
+    public OracleConnectionPool<C> getOracleConnectionPool() {
+        return oracleConnectionPool;
+    }
+
+    public void setOracleConnectionPool(OracleConnectionPool<C> oracleConnectionPool) {
+        this.oracleConnectionPool = oracleConnectionPool;
+    }
+
     public String getDatabaseName() {
         return databaseName;
     }
@@ -82,6 +94,21 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         this.databaseName = databaseName;
     }
 
+    public String getDatabasePoolName() {
+        return databasePoolName;
+    }
+
+    /**
+     * Sets the pool from which the database of the state is taken (see {@link DatabasePool}). The name stays the same
+     * when the database name is changed to that of the taken database.
+     *
+     * @param databasePoolName
+     *            the name of the pool, or null (the default) to create the database directly
+     */
+    public void setDatabasePoolName(String databasePoolName) {
+        this.databasePoolName = databasePoolName;
+    }
+
     private ExecutionTimer executePrologue(Query<?> q) throws Exception {
         boolean logExecutionTime = getOptions().logExecutionTime();
         ExecutionTimer timer = null;
@@ -148,6 +175,71 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         }
     }
 
+    /**
+     * Updates the schema after executing a query that could affect it. If the query succeeded and reports the schema
+     * objects that it affected, and the DBMS supports it, only these objects are re-read. Otherwise, the whole schema
+     * is re-read, since a failing statement might have rolled back the current transaction (e.g., an INSERT OR ROLLBACK
+     * in SQLite).
+     *
+     * @param q
+     *            the executed query
+     * @param success
+     *            whether the query was executed successfully
+     *
+     * @throws Exception
+     *             if reading the schema fails
+     */
+    public void updateSchema(Query<?> q, boolean success) throws Exception {
+        List<String> affectedObjects = q.getAffectedSchemaObjects();
+        S updatedSchema = null;
+        if (success && schema != null && !affectedObjects.isEmpty() && getOptions().useIncrementalSchemaRefresh()) {
+            updatedSchema = readSchemaIncrementally(schema, affectedObjects);
+        }
+        if (updatedSchema == null) {
+            updateSchema();
+            return;
+        }
+        if (getOptions().validateIncrementalSchema()) {
+            S fullSchema = readSchema();
+            if (!updatedSchema.toString().equals(fullSchema.toString())) {
+                throw new AssertionError(String.format(
+                        "the incrementally updated schema after %s differs from the schema read from the database:%n%s%nvs%n%s",
+                        q.getQueryString(), updatedSchema, fullSchema));
+            }
+        }
+        setSchema(updatedSchema);
+        // the affected tables were re-read and thus do not have a row count yet
+        AbstractSchema<?, ?> schemaWithTables = updatedSchema;
+        discardIndirectlyChangedRowCounts(schemaWithTables);
+    }
+
+    private static <A extends AbstractTable<?, ?, ?>> void discardIndirectlyChangedRowCounts(
+            AbstractSchema<?, A> schema) {
+        for (A table : schema.getDatabaseTables()) {
+            if (schema.rowsCouldChangeIndirectly(table)) {
+                table.recomputeCount();
+            }
+        }
+    }
+
     protected abstract S readSchema() throws Exception;
 
+    /**
+     * Derives the schema after executing a query from the schema before executing it, by only re-reading the given
+     * schema objects.
+     *
+     * @param currentSchema
+     *            the schema before executing the query
+     * @param affectedObjects
+     *            the names of the schema objects that the query could have created, altered, or dropped
+     *
+     * @return the updated schema, or null if the schema must be re-read completely
+     *
+     * @throws Exception
+     *             if reading the schema objects fails
+     */
+    protected S readSchemaIncrementally(S currentSchema, List<String> affectedObjects) throws Exception {
+        return null;
+    }
+
 }
@@ -0,0 +1,135 @@
+package sqlancer;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds with log-linear buckets, as in HdrHistogram: each power of two is divided into
+ * {@value #SUB_BUCKETS} equally wide buckets, so that each recorded value is known up to 1/{@value #SUB_BUCKETS} of its
+ * magnitude. Like the counters of {@link MetricsRegistry}, each bucket is a {@link LongAdder}, so that the threads
+ * record into their own cells, which are only merged when a {@link Snapshot} is taken.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = 3;
+    // the values below SUB_BUCKETS have a bucket each; then, each power of two from 2^SUB_BUCKET_BITS to 2^62 (the
+    // largest of a positive long) has SUB_BUCKETS buckets
+    static final int NR_BUCKETS = SUB_BUCKETS * (Long.SIZE - SUB_BUCKET_BITS);
+
+    private final LongAdder[] buckets = new LongAdder[NR_BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(value, 0);
+        }
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // the smallest value that is counted in the bucket
+    static long getBucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS);
+    }
+
+    // the largest value that is counted in the bucket
+    static long getBucketUpperBound(int index) {
+        if (index == NR_BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return getBucketLowerBound(index + 1) - 1;
+    }
+
+    public void record(long nanos) {
+        buckets[getBucketIndex(nanos)].increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    public Snapshot getSnapshot() {
+        long[] counts = new long[NR_BUCKETS];
+        for (int i = 0; i < NR_BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, sum.sum(), max.get());
+    }
+
+    /**
+     * The counts of a histogram at some point in time. As the threads keep recording while the snapshot is taken, the
+     * sum and maximum might include a few values that are not counted in the buckets, and vice versa.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long sum, long max) {
+            this.counts = counts;
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            this.count = total;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Returns an upper bound of the given percentile of the recorded values, which is at most
+         * 1/{@value LatencyHistogram#SUB_BUCKETS} larger than the actual percentile.
+         *
+         * @param percentile
+         *            the percentile, between 0 and 100
+         *
+         * @return the largest value of the bucket that contains the percentile, or 0 if no values were recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(getBucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        public long getBucketCount(int index) {
+            return counts[index];
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@ import java.util.ServiceLoader;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -23,11 +24,16 @@ import java.util.concurrent.atomic.AtomicLong;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.JCommander.Builder;
 
+import sqlancer.MainOptions.ExecutorType;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.citus.CitusProvider;
 import sqlancer.clickhouse.ClickHouseProvider;
 import sqlancer.cnosdb.CnosDBProvider;
 import sqlancer.cockroachdb.CockroachDBProvider;
+import sqlancer.common.log.AsyncLogWriter;
 import sqlancer.common.log.Loggable;
+import sqlancer.common.oracle.CompositeTestOracle;
+import sqlancer.common.oracle.TestOracle;
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.databend.DatabendProvider;
@@ -50,12 +56,11 @@ import sqlancer.yugabyte.ysql.YSQLProvider;
 public final class Main {
 
     public static final File LOG_DIRECTORY = new File("logs");
-    public static volatile AtomicLong nrQueries = new AtomicLong();
-    public static volatile AtomicLong nrDatabases = new AtomicLong();
-    public static volatile AtomicLong nrSuccessfulActions = new AtomicLong();
-    public static volatile AtomicLong nrUnsuccessfulActions = new AtomicLong();
+    // the files are saved every minute, i.e., every 12 ticks of the progress monitor
+    private static final int CACHE_FILES_SAVE_TICKS = 12;
     public static volatile AtomicLong threadsShutdown = new AtomicLong();
     static boolean progressMonitorStarted;
+    static boolean cacheFilesShutdownHookAdded;
 
     static {
         System.setProperty(org.slf4j.simple.SimpleLogger.DEFAULT_LOG_LEVEL_KEY, "ERROR");
@@ -73,13 +78,16 @@ public final class Main {
         private File curFile;
         private File queryPlanFile;
         private File reduceFile;
+        private final File slowQueryFile;
         private FileWriter logFileWriter;
-        public FileWriter currentFileWriter;
+        public Writer currentFileWriter;
         private FileWriter queryPlanFileWriter;
         private FileWriter reduceFileWriter;
+        private FileWriter slowQueryFileWriter;
 
         private static final List<String> INITIALIZED_PROVIDER_NAMES = new ArrayList<>();
         private final boolean logEachSelect;
+        private final long logFlushInterval;
         private final boolean logQueryPlan;
 
         private final boolean useReducer;
@@ -111,7 +119,9 @@ public final class Main {
             }
             ensureExistsAndIsEmpty(dir, provider);
             loggerFile = new File(dir, databaseName + ".log");
+            slowQueryFile = new File(dir, databaseName + "-slow.log");
             logEachSelect = options.logEachSelect();
+            logFlushInterval = options.getLogFlushInterval();
             if (logEachSelect) {
                 curFile = new File(dir, databaseName + "-cur.log");
             }
@@ -165,13 +175,17 @@ public final class Main {
             return logFileWriter;
         }
 
-        public FileWriter getCurrentFileWriter() {
+        public Writer getCurrentFileWriter() {
             if (!logEachSelect) {
                 throw new UnsupportedOperationException();
             }
             if (currentFileWriter == null) {
                 try {
-                    currentFileWriter = new FileWriter(curFile, false);
+                    if (logFlushInterval > 0) {
+                        currentFileWriter = new AsyncLogWriter(new FileWriter(curFile, false), logFlushInterval);
+                    } else {
+                        currentFileWriter = new FileWriter(curFile, false);
+                    }
                 } catch (IOException e) {
                     throw new AssertionError(e);
                 }
@@ -234,8 +248,9 @@ public final class Main {
             }
             try {
                 getCurrentFileWriter().write(loggable.getLogString());
-
-                currentFileWriter.flush();
+                if (logFlushInterval <= 0) {
+                    currentFileWriter.flush();
+                }
             } catch (IOException e) {
                 throw new AssertionError();
             }
@@ -296,7 +311,45 @@ public final class Main {
 
         }
 
+        /**
+         * Appends a statement that took at least --slow-query-threshold milliseconds to the slow query log. The
+         * statement might have been executed on a read-only connection of the {@link OracleConnectionPool}, so this
+         * method is synchronized.
+         *
+         * @param query
+         *            the SQL string of the statement
+         * @param nanos
+         *            the latency of the statement
+         */
+        public synchronized void writeSlowQuery(String query, long nanos) {
+            try {
+                if (slowQueryFileWriter == null) {
+                    // appended, as each database of the thread has its own logger
+                    slowQueryFileWriter = new FileWriter(slowQueryFile, true);
+                }
+                slowQueryFileWriter.write(String.format("-- %.3f ms%n%s%n", nanos / 1_000_000d, query));
+                slowQueryFileWriter.flush();
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        public synchronized void closeSlowQueryFileWriter() throws IOException {
+            if (slowQueryFileWriter != null) {
+                slowQueryFileWriter.close();
+                slowQueryFileWriter = null;
+            }
+        }
+
         public void logException(Throwable reduce, StateToReproduce state) {
+            if (currentFileWriter != null) {
+                // the statements that led to the exception must be on disk, even if they are written asynchronously
+                try {
+                    currentFileWriter.flush();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
             Loggable stackTrace = getStackTrace(reduce);
             FileWriter logFileWriter2 = getLogFileWriter();
             try {
@@ -317,7 +370,7 @@ public final class Main {
             return databaseProvider.getLoggableFactory().convertStacktraceToLoggable(e1);
         }
 
-        private void printState(FileWriter writer, StateToReproduce state) {
+        private void printState(Writer writer, StateToReproduce state) {
             StringBuilder sb = new StringBuilder();
 
             sb.append(databaseProvider.getLoggableFactory()
@@ -334,26 +387,24 @@ public final class Main {
         }
 
         private String removeNamesFromQueryPlans(String queryPlan) {
-            String result = queryPlan;
-            result = result.replaceAll("t[0-9]+", "t0"); // Avoid duplicate tables
-            result = result.replaceAll("v[0-9]+", "v0"); // Avoid duplicate views
-            result = result.replaceAll("i[0-9]+", "i0"); // Avoid duplicate indexes
-            return result + "\n";
+            return QueryPlanCoverage.removeNames(queryPlan) + "\n";
         }
     }
 
     public static class QueryManager<C extends SQLancerDBConnection> {
 
         private final GlobalState<?, ?, C> globalState;
+        private final MetricsRegistry.Counters counters;
 
-        QueryManager(GlobalState<?, ?, C> globalState) {
+        QueryManager(GlobalState<?, ?, C> globalState, String dbmsName) {
             this.globalState = globalState;
+            this.counters = MetricsRegistry.getProviderCounters(dbmsName);
         }
 
+        // the statement counters are updated by the Query implementations themselves
         public boolean execute(Query<C> q, String... fills) throws Exception {
             boolean success;
             success = q.execute(globalState, fills);
-            Main.nrSuccessfulActions.addAndGet(1);
             if (globalState.getOptions().loggerPrintFailed() || success) {
                 globalState.getState().logStatement(q);
             }
@@ -364,20 +415,32 @@ public final class Main {
             globalState.getState().logStatement(q);
             SQLancerResultSet result;
             result = q.executeAndGet(globalState, fills);
-            Main.nrSuccessfulActions.addAndGet(1);
             return result;
         }
 
         public void incrementSelectQueryCount() {
-            Main.nrQueries.addAndGet(1);
+            counters.increment(Counter.QUERIES);
+        }
+
+        public void incrementSelectQueryCount(TestOracle<?> oracle, long latency) {
+            incrementSelectQueryCount();
+            TestOracle<?> executedOracle = oracle;
+            if (oracle instanceof CompositeTestOracle) {
+                executedOracle = ((CompositeTestOracle<?>) oracle).getLastOracle();
+            }
+            MetricsRegistry.recordOracleQuery(executedOracle.getClass().getSimpleName(), latency);
         }
 
         public Long getSelectQueryCount() {
-            return Main.nrQueries.get();
+            return MetricsRegistry.getTotal(Counter.QUERIES);
         }
 
         public void incrementCreateDatabase() {
-            Main.nrDatabases.addAndGet(1);
+            counters.increment(Counter.DATABASES);
+        }
+
+        MetricsRegistry.Counters getCounters() {
+            return counters;
         }
 
     }
@@ -432,69 +495,82 @@ public final class Main {
             logger = new StateLogger(databaseName, provider, options);
             state.setRandomly(r);
             state.setDatabaseName(databaseName);
+            state.setDatabasePoolName(databaseName);
             state.setMainOptions(options);
             state.setDbmsSpecificOptions(command);
             try (C con = provider.createDatabase(state)) {
-                QueryManager<C> manager = new QueryManager<>(state);
                 try {
-                    stateToRepro.databaseVersion = con.getDatabaseVersion();
-                } catch (Exception e) {
-                    // ignore
+                    testDatabase(state, con);
+                } catch (IgnoreMeException e) {
+                    throw e;
+                } catch (Throwable t) {
+                    // keep the database on which the run failed, instead of dropping it in the background
+                    DatabasePool.keep(state);
+                    throw t;
                 }
-                state.setConnection(con);
-                state.setStateLogger(logger);
-                state.setManager(manager);
-                if (options.logEachSelect()) {
-                    logger.writeCurrent(state.getState());
+            }
+        }
+
+        private void testDatabase(G state, C con) throws Exception {
+            QueryManager<C> manager = new QueryManager<>(state, provider.getDBMSName());
+            try {
+                stateToRepro.databaseVersion = con.getDatabaseVersion();
+            } catch (Exception e) {
+                // ignore
+            }
+            state.setConnection(con);
+            state.setStateLogger(logger);
+            state.setManager(manager);
+            if (options.logEachSelect()) {
+                logger.writeCurrent(state.getState());
+            }
+            Reproducer<G> reproducer = null;
+            if (options.enableQPG()) {
+                provider.generateAndTestDatabaseWithQueryPlanGuidance(state);
+            } else {
+                reproducer = provider.generateAndTestDatabase(state);
+            }
+            try {
+                logger.getCurrentFileWriter().close();
+                logger.currentFileWriter = null;
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+
+            if (options.reduceAST() && !options.useReducer()) {
+                throw new AssertionError("To reduce AST, use-reducer option must be enabled first");
+            }
+            if (options.useReducer()) {
+                if (reproducer == null) {
+                    logger.getReduceFileWriter().write("current oracle does not support experimental reducer.");
+                    throw new IgnoreMeException();
                 }
-                Reproducer<G> reproducer = null;
-                if (options.enableQPG()) {
-                    provider.generateAndTestDatabaseWithQueryPlanGuidance(state);
-                } else {
-                    reproducer = provider.generateAndTestDatabase(state);
+                G newGlobalState = createGlobalState();
+                newGlobalState.setState(stateToRepro);
+                newGlobalState.setRandomly(r);
+                newGlobalState.setDatabaseName(databaseName);
+                newGlobalState.setMainOptions(options);
+                newGlobalState.setDbmsSpecificOptions(command);
+                QueryManager<C> newManager = new QueryManager<>(newGlobalState, provider.getDBMSName());
+                newGlobalState.setStateLogger(new StateLogger(databaseName, provider, options));
+                newGlobalState.setManager(newManager);
+
+                Reducer<G> reducer = new StatementReducer<>(provider);
+                reducer.reduce(state, reproducer, newGlobalState);
+
+                if (options.reduceAST()) {
+                    Reducer<G> astBasedReducer = new ASTBasedReducer<>(provider);
+                    astBasedReducer.reduce(state, reproducer, newGlobalState);
                 }
+
                 try {
-                    logger.getCurrentFileWriter().close();
-                    logger.currentFileWriter = null;
+                    logger.getReduceFileWriter().close();
+                    logger.reduceFileWriter = null;
                 } catch (IOException e) {
                     throw new AssertionError(e);
                 }
 
-                if (options.reduceAST() && !options.useReducer()) {
-                    throw new AssertionError("To reduce AST, use-reducer option must be enabled first");
-                }
-                if (options.useReducer()) {
-                    if (reproducer == null) {
-                        logger.getReduceFileWriter().write("current oracle does not support experimental reducer.");
-                        throw new IgnoreMeException();
-                    }
-                    G newGlobalState = createGlobalState();
-                    newGlobalState.setState(stateToRepro);
-                    newGlobalState.setRandomly(r);
-                    newGlobalState.setDatabaseName(databaseName);
-                    newGlobalState.setMainOptions(options);
-                    newGlobalState.setDbmsSpecificOptions(command);
-                    QueryManager<C> newManager = new QueryManager<>(newGlobalState);
-                    newGlobalState.setStateLogger(new StateLogger(databaseName, provider, options));
-                    newGlobalState.setManager(newManager);
-
-                    Reducer<G> reducer = new StatementReducer<>(provider);
-                    reducer.reduce(state, reproducer, newGlobalState);
-
-                    if (options.reduceAST()) {
-                        Reducer<G> astBasedReducer = new ASTBasedReducer<>(provider);
-                        astBasedReducer.reduce(state, reproducer, newGlobalState);
-                    }
-
-                    try {
-                        logger.getReduceFileWriter().close();
-                        logger.reduceFileWriter = null;
-                    } catch (IOException e) {
-                        throw new AssertionError(e);
-                    }
-
-                    throw new AssertionError("Found a potential bug, please check reducer log for detail.");
-                }
+                throw new AssertionError("Found a potential bug, please check reducer log for detail.");
             }
         }
 
@@ -579,8 +655,22 @@ public final class Main {
             jc.usage();
             return options.getErrorExitCode();
         }
+        // a semaphore without permits would block all threads
+        if (options.getMaxActiveSessions() < 1) {
+            System.err.println("--max-active-sessions must be -1 or a positive number, but is "
+                    + options.getMaxActiveSessions());
+            return options.getErrorExitCode();
+        }
+        String checkpointsError = ReplayCheckpoints.validateOptions(options,
+                nameToProvider.get(jc.getParsedCommand()).getProvider());
+        if (checkpointsError != null) {
+            System.err.println(checkpointsError);
+            return options.getErrorExitCode();
+        }
 
         Randomly.initialize(options);
+        loadCacheFiles(options);
+        addCacheFilesShutdownHook();
         if (options.printProgressInformation()) {
             startProgressMonitor();
             if (options.printProgressSummary()) {
@@ -590,12 +680,26 @@ public final class Main {
                     public void run() {
                         System.out.println("Overall execution statistics");
                         System.out.println("============================");
-                        System.out.println(formatInteger(nrQueries.get()) + " queries");
-                        System.out.println(formatInteger(nrDatabases.get()) + " databases");
-                        System.out.println(
-                                formatInteger(nrSuccessfulActions.get()) + " successfully-executed statements");
-                        System.out.println(
-                                formatInteger(nrUnsuccessfulActions.get()) + " unsuccessfuly-executed statements");
+                        System.out.println(formatInteger(MetricsRegistry.getTotal(Counter.QUERIES)) + " queries");
+                        System.out.println(formatInteger(MetricsRegistry.getTotal(Counter.DATABASES)) + " databases");
+                        System.out.println(formatInteger(MetricsRegistry.getTotal(Counter.SUCCESSFUL_STATEMENTS))
+                                + " successfully-executed statements");
+                        System.out.println(formatInteger(MetricsRegistry.getTotal(Counter.UNSUCCESSFUL_STATEMENTS))
+                                + " unsuccessfuly-executed statements");
+                        for (Map.Entry<String, MetricsRegistry.Counters> entry : MetricsRegistry
+                                .getCountersPerProvider().entrySet()) {
+                            MetricsRegistry.Counters counters = entry.getValue();
+                            System.out.println(String.format("%s: %s queries, %s databases, %s/%s statements succeeded",
+                                    entry.getKey(), formatInteger(counters.get(Counter.QUERIES)).trim(),
+                                    formatInteger(counters.get(Counter.DATABASES)).trim(),
+                                    formatInteger(counters.get(Counter.SUCCESSFUL_STATEMENTS)).trim(),
+                                    formatInteger(counters.get(Counter.SUCCESSFUL_STATEMENTS)
+                                            + counters.get(Counter.UNSUCCESSFUL_STATEMENTS)).trim()));
+                        }
+                        for (Map.Entry<String, Long> entry : MetricsRegistry.getQueriesPerOracle().entrySet()) {
+                            System.out.println(String.format("%s: %s queries", entry.getKey(),
+                                    formatInteger(entry.getValue()).trim()));
+                        }
                     }
 
                     private String formatInteger(long intValue) {
@@ -609,7 +713,9 @@ public final class Main {
             }
         }
 
-        ExecutorService execService = Executors.newFixedThreadPool(options.getNumberConcurrentThreads());
+        ExecutorService execService = createExecutorService(options);
+        // bounds the number of sessions that are in flight when each session is executed on its own virtual thread
+        final Semaphore activeSessions = new Semaphore(options.getMaxActiveSessions());
         DBMSExecutorFactory<?, ?, ?> executorFactory = nameToProvider.get(jc.getParsedCommand());
 
         if (options.performConnectionTest()) {
@@ -625,20 +731,27 @@ public final class Main {
         }
         final AtomicBoolean someOneFails = new AtomicBoolean(false);
 
+        long[] seeds = Randomly.getWorkerSeeds(
+                options.getRandomSeed() == -1 ? System.currentTimeMillis() : options.getRandomSeed(),
+                options.getTotalNumberTries());
         for (int i = 0; i < options.getTotalNumberTries(); i++) {
             final String databaseName = options.getDatabasePrefix() + i;
-            final long seed;
-            if (options.getRandomSeed() == -1) {
-                seed = System.currentTimeMillis() + i;
-            } else {
-                seed = options.getRandomSeed() + i;
-            }
+            final long seed = seeds[i];
             execService.execute(new Runnable() {
 
                 @Override
                 public void run() {
                     Thread.currentThread().setName(databaseName);
-                    runThread(databaseName);
+                    if (options.getExecutorType() == ExecutorType.VIRTUAL) {
+                        activeSessions.acquireUninterruptibly();
+                        try {
+                            runThread(databaseName);
+                        } finally {
+                            activeSessions.release();
+                        }
+                    } else {
+                        runThread(databaseName);
+                    }
                 }
 
                 private void runThread(final String databaseName) {
@@ -654,6 +767,8 @@ public final class Main {
                             }
                         }
                     } finally {
+                        DatabasePool.closeAll();
+                        ServerConnections.closeAll();
                         threadsShutdown.addAndGet(1);
                         if (threadsShutdown.get() == options.getTotalNumberTries()) {
                             execService.shutdown();
@@ -683,6 +798,7 @@ public final class Main {
                                 }
                                 executor.getLogger().currentFileWriter = null;
                             }
+                            executor.getLogger().closeSlowQueryFileWriter();
                         } catch (IOException e) {
                             e.printStackTrace();
                         }
@@ -699,10 +815,73 @@ public final class Main {
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
+        try {
+            MetricsRegistry.writeLatencies(new File(LOG_DIRECTORY, "latencies.json"));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        saveCacheFiles();
+        DatabaseTemplatePool.deleteAll();
 
         return someOneFails.get() ? options.getErrorExitCode() : 0;
     }
 
+    // loads the files before the threads start, and reports them with the progress information
+    private static void loadCacheFiles(MainOptions options) {
+        String coverageFile = options.getQPGCoverageFile();
+        if (coverageFile != null && new File(coverageFile).exists()) {
+            int nrQueryPlans = QueryPlanCoverage.open(coverageFile).size();
+            if (options.printProgressInformation()) {
+                System.out.println(String.format("Loaded %d query plans from %s", nrQueryPlans, coverageFile));
+            }
+        }
+        String catalogCacheFile = options.getCatalogCacheFile();
+        if (catalogCacheFile != null && new File(catalogCacheFile).exists()) {
+            int nrCatalogQueries = CatalogCache.open(catalogCacheFile).size();
+            if (options.printProgressInformation()) {
+                System.out.println(
+                        String.format("Loaded %d catalog queries from %s", nrCatalogQueries, catalogCacheFile));
+            }
+        }
+    }
+
+    // saves the files also if the run is interrupted (e.g., with Ctrl+C), so that its query plans and catalog query
+    // results are not lost
+    private static synchronized void addCacheFilesShutdownHook() {
+        if (cacheFilesShutdownHookAdded) {
+            return;
+        }
+        cacheFilesShutdownHookAdded = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(Main::saveCacheFiles));
+    }
+
+    static void saveCacheFiles() {
+        try {
+            QueryPlanCoverage.saveAll();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        try {
+            CatalogCache.saveAll();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static ExecutorService createExecutorService(MainOptions options) {
+        if (options.getExecutorType() == ExecutorType.VIRTUAL) {
+            try {
+                // looked up reflectively, since SQLancer still targets Java versions without virtual threads
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.err.println(
+                        "Virtual threads are not supported by this Java runtime (Java 21 or later is required). Falling back to platform threads.");
+                return Executors.newFixedThreadPool(options.getMaxActiveSessions());
+            }
+        }
+        return Executors.newFixedThreadPool(options.getNumberConcurrentThreads());
+    }
+
     /**
      * To register a new provider, it is necessary to implement the DatabaseProvider interface and add an additional
      * configuration file, see https://docs.oracle.com/javase/9/docs/api/java/util/ServiceLoader.html. Currently, we use
@@ -766,6 +945,7 @@ public final class Main {
             private long timeMillis = System.currentTimeMillis();
             private long lastNrQueries;
             private long lastNrDbs;
+            private int nrTicks;
 
             {
                 timeMillis = System.currentTimeMillis();
@@ -774,23 +954,33 @@ public final class Main {
             @Override
             public void run() {
                 long elapsedTimeMillis = System.currentTimeMillis() - timeMillis;
-                long currentNrQueries = nrQueries.get();
+                long currentNrQueries = MetricsRegistry.getTotal(Counter.QUERIES);
                 long nrCurrentQueries = currentNrQueries - lastNrQueries;
                 double throughput = nrCurrentQueries / (elapsedTimeMillis / 1000d);
-                long currentNrDbs = nrDatabases.get();
+                long currentNrDbs = MetricsRegistry.getTotal(Counter.DATABASES);
                 long nrCurrentDbs = currentNrDbs - lastNrDbs;
                 double throughputDbs = nrCurrentDbs / (elapsedTimeMillis / 1000d);
-                long successfulStatementsRatio = (long) (100.0 * nrSuccessfulActions.get()
-                        / (nrSuccessfulActions.get() + nrUnsuccessfulActions.get()));
+                long nrSuccessfulStatements = MetricsRegistry.getTotal(Counter.SUCCESSFUL_STATEMENTS);
+                long nrUnsuccessfulStatements = MetricsRegistry.getTotal(Counter.UNSUCCESSFUL_STATEMENTS);
+                long successfulStatementsRatio = (long) (100.0 * nrSuccessfulStatements
+                        / (nrSuccessfulStatements + nrUnsuccessfulStatements));
                 DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
                 Date date = new Date();
                 System.out.println(String.format(
                         "[%s] Executed %d queries (%d queries/s; %.2f/s dbs, successful statements: %2d%%). Threads shut down: %d.",
                         dateFormat.format(date), currentNrQueries, (int) throughput, throughputDbs,
                         successfulStatementsRatio, threadsShutdown.get()));
+                Map<String, LatencyHistogram.Snapshot> latencies = MetricsRegistry.getLatencies();
+                if (!latencies.isEmpty()) {
+                    System.out.println(MetricsRegistry.formatLatencies(latencies));
+                }
                 timeMillis = System.currentTimeMillis();
                 lastNrQueries = currentNrQueries;
                 lastNrDbs = currentNrDbs;
+                // also saves the files periodically, as the run might be killed (e.g., with SIGKILL)
+                if (++nrTicks % CACHE_FILES_SAVE_TICKS == 0) {
+                    saveCacheFiles();
+                }
             }
         }, 5, 5, TimeUnit.SECONDS);
     }
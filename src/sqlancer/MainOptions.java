@@ -5,10 +5,16 @@ import java.util.Objects;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 
+import sqlancer.Randomly.RandomGenerator;
 import sqlancer.Randomly.StringGenerationStrategy;
 
 @Parameters(separators = "=", commandDescription = "Options applicable to all DBMS")
 public class MainOptions {
+
+    public enum ExecutorType {
+        PLATFORM, VIRTUAL
+    }
+
     public static final int NO_SET_PORT = -1;
     public static final int NO_REDUCE_LIMIT = -1;
     public static final MainOptions DEFAULT_OPTIONS = new MainOptions();
@@ -20,10 +26,21 @@ public class MainOptions {
             "--num-threads" }, description = "How many threads should run concurrently to test separate databases")
     private int nrConcurrentThreads = 16; // NOPMD
 
+    @Parameter(names = {
+            "--executor" }, description = "Whether the testing sessions are executed on platform threads or on virtual threads (requires Java 21 or later)")
+    private ExecutorType executorType = ExecutorType.PLATFORM; // NOPMD
+
+    @Parameter(names = {
+            "--max-active-sessions" }, description = "The maximum number of testing sessions that are executed at the same time when using --executor=virtual (defaults to --num-threads)")
+    private int maxActiveSessions = -1; // NOPMD
+
     @Parameter(names = {
             "--random-seed" }, description = "A seed value != -1 that can be set to make the query and database generation deterministic")
     private long randomSeed = -1; // NOPMD
 
+    @Parameter(names = "--random-generator", description = "Select the pseudo-random number generator (RANDOM is java.util.Random, SPLITTABLE is the faster, non-thread-safe java.util.SplittableRandom)")
+    private RandomGenerator randomGenerator = RandomGenerator.RANDOM; // NOPMD
+
     @Parameter(names = { "--num-tries" }, description = "Specifies after how many found errors to stop testing")
     private int totalNumberTries = 100; // NOPMD
 
@@ -38,6 +55,10 @@ public class MainOptions {
             "--num-queries" }, description = "Specifies the number of queries to be issued to a database before creating a new database")
     private int nrQueries = 100000; // NOPMD
 
+    @Parameter(names = {
+            "--template-pool-size" }, description = "If > 0, the given number of databases are generated and saved as templates, and all further databases are copies of these templates (if the DBMS supports it)")
+    private int templatePoolSize; // NOPMD
+
     @Parameter(names = {
             "--num-statement-kind-retries" }, description = "Specifies the number of times a specific statement kind (e.g., INSERT) should be retried when the DBMS indicates that it failed")
     private int nrStatementRetryCount = 1000; // NOPMD
@@ -45,6 +66,15 @@ public class MainOptions {
     @Parameter(names = "--log-each-select", description = "Logs every statement issued", arity = 1)
     private boolean logEachSelect = true; // NOPMD
 
+    @Parameter(names = "--log-flush-interval", description = "The interval (in milliseconds) in which the statements logged by --log-each-select are written to the log file by a background thread. With the default value 0, the log file is flushed after every statement")
+    private long logFlushInterval; // NOPMD
+
+    @Parameter(names = "--incremental-schema-refresh", description = "Re-reads only the tables, views, and indexes that a statement affected, rather than the whole schema (if the DBMS supports it)", arity = 1)
+    private boolean incrementalSchemaRefresh = true; // NOPMD
+
+    @Parameter(names = "--validate-incremental-schema", description = "Checks each incrementally refreshed schema against the schema read from scratch", arity = 1)
+    private boolean validateIncrementalSchema; // NOPMD
+
     @Parameter(names = "--log-execution-time", description = "Logs the execution time of each statement (requires --log-each-select to be enabled)", arity = 1)
     private boolean logExecutionTime = true; // NOPMD
 
@@ -66,6 +96,18 @@ public class MainOptions {
     @Parameter(names = "--qpg-selection-probability", description = "The probability (0-1) of the random selection of mutators. A higher value (>0.5) favors exploration over exploitation. (requires --qpg-enable)")
     private static double qpgProbability = 0.7;
 
+    @Parameter(names = "--qpg-max-pool-size", description = "The maximum number of query plans that are kept for all threads; if it is exceeded, the least recently observed plans are evicted (requires --qpg-enable)")
+    private int qpgMaxPoolSize = 10000; // NOPMD
+
+    @Parameter(names = "--qpg-recheck-sample-size", description = "The maximum number of queries in the query plan pool whose plans are checked again after mutating the tables (requires --qpg-enable)")
+    private int qpgRecheckSampleSize = 200; // NOPMD
+
+    @Parameter(names = "--qpg-coverage-file", description = "The file in which the fingerprints of the observed query plans are kept across runs, so that only the plans that no previous run has observed count as new (requires --qpg-enable)")
+    private String qpgCoverageFile; // NOPMD
+
+    @Parameter(names = "--catalog-cache-file", description = "The file in which the results of the queries on the system catalogs are kept across runs, so that later runs against the same server and version do not query the catalogs again")
+    private String catalogCacheFile; // NOPMD
+
     @Parameter(names = "--username", description = "The user name used to log into the DBMS")
     private String userName = "sqlancer"; // NOPMD
 
@@ -90,6 +132,12 @@ public class MainOptions {
     @Parameter(names = "--max-generated-databases", description = "The maximum number of databases that are generated by each thread")
     private int maxGeneratedDatabases = -1; // NOPMD
 
+    @Parameter(names = "--database-pool-depth", description = "The number of databases that each thread creates in the background before it needs them, and that are dropped in the background after they were used, unless the run on them failed (0 to create and drop each database when it is needed). Supported by PostgreSQL, MySQL, TiDB, CockroachDB, Doris, OceanBase, and Databend")
+    private int databasePoolDepth; // NOPMD
+
+    @Parameter(names = "--reuse-connections", description = "Keep the connections to the server open across the databases that a thread generates, instead of opening new connections for each database. Supported by MySQL, TiDB, and CockroachDB. For PostgreSQL, only the connection on which the databases are created is reused, as a PostgreSQL session cannot switch to another database", arity = 1)
+    private boolean reuseConnections; // NOPMD
+
     @Parameter(names = "--exit-code-error", description = "The exit code that should be returned when an error is encountered (or a bug is found)")
     private int errorExitCode = -1; // NOPMD
 
@@ -132,6 +180,21 @@ public class MainOptions {
     @Parameter(names = "--statement-reducer-max-steps", description = "EXPERIMENTAL Maximum steps the statement reducer will do")
     private long maxStatementReduceSteps = NO_REDUCE_LIMIT; // NOPMD
 
+    @Parameter(names = "--reducer-threads", description = "EXPERIMENTAL Number of threads with which the statement reducer and the AST-based reducer test their candidates, each on a separate database")
+    private int nrReducerThreads = 1; // NOPMD
+
+    @Parameter(names = "--reducer-checkpoints", description = "The maximum number of database copies per reducer thread from which the reducers replay the candidates that start with the same statements (requires a DBMS that supports --template-pool-size, defaults to 16 for these DBMSs and to 0 for all others, 0 to disable)")
+    private int maxReducerCheckpoints = -1; // NOPMD
+
+    @Parameter(names = "--oracle-connections", description = "The number of additional read-only connections per database on which the test oracles execute the independent queries of a check concurrently (only for DBMSs that support it, 0 to execute all queries on the primary connection)")
+    private int nrOracleConnections; // NOPMD
+
+    @Parameter(names = "--statement-cache-size", description = "The maximum number of prepared statements per connection that are kept for reuse (0 to create and close a new statement for each query)")
+    private int statementCacheSize = 32; // NOPMD
+
+    @Parameter(names = "--slow-query-threshold", description = "Write the statements that take at least the given number of milliseconds to a separate log file (-1 to disable)")
+    private long slowQueryThreshold = -1; // NOPMD
+
     @Parameter(names = "--statement-reducer-max-time", description = "EXPERIMENTAL Maximum time duration (secs) the AST-based reducer will do")
     private long maxASTReduceTime = NO_REDUCE_LIMIT; // NOPMD
 
@@ -147,6 +210,9 @@ public class MainOptions {
     @Parameter(names = "--canonicalize-sql-strings", description = "Should canonicalize query string (add ';' at the end", arity = 1)
     private boolean canonicalizeSqlString = true; // NOPMD
 
+    @Parameter(names = "--streaming-result-comparison", description = "Compare the result sets of the TLP WHERE oracle by digests computed while reading them, and only keep their values in memory when the digests differ", arity = 1)
+    private boolean streamingResultComparison = false; // NOPMD
+
     public int getMaxExpressionDepth() {
         return maxExpressionDepth;
     }
@@ -159,10 +225,33 @@ public class MainOptions {
         return nrConcurrentThreads;
     }
 
+    public ExecutorType getExecutorType() {
+        return executorType;
+    }
+
+    public int getMaxActiveSessions() {
+        if (maxActiveSessions == -1) {
+            return nrConcurrentThreads;
+        }
+        return maxActiveSessions;
+    }
+
     public boolean logEachSelect() {
         return logEachSelect;
     }
 
+    public long getLogFlushInterval() {
+        return logFlushInterval;
+    }
+
+    public boolean useIncrementalSchemaRefresh() {
+        return incrementalSchemaRefresh;
+    }
+
+    public boolean validateIncrementalSchema() {
+        return validateIncrementalSchema;
+    }
+
     public boolean printAllStatements() {
         if (printSucceedingStatements && printStatements) {
             throw new AssertionError();
@@ -208,10 +297,30 @@ public class MainOptions {
         return qpgProbability;
     }
 
+    public int getQPGMaxPoolSize() {
+        return qpgMaxPoolSize;
+    }
+
+    public int getQPGRecheckSampleSize() {
+        return qpgRecheckSampleSize;
+    }
+
+    public String getQPGCoverageFile() {
+        return qpgCoverageFile;
+    }
+
+    public String getCatalogCacheFile() {
+        return catalogCacheFile;
+    }
+
     public int getNrQueries() {
         return nrQueries;
     }
 
+    public int getTemplatePoolSize() {
+        return templatePoolSize;
+    }
+
     public int getMaxNumberInserts() {
         return maxNumberInserts;
     }
@@ -252,6 +361,14 @@ public class MainOptions {
         return maxGeneratedDatabases;
     }
 
+    public int getDatabasePoolDepth() {
+        return databasePoolDepth;
+    }
+
+    public boolean reuseConnections() {
+        return reuseConnections;
+    }
+
     public int getErrorExitCode() {
         return errorExitCode;
     }
@@ -272,6 +389,10 @@ public class MainOptions {
         return randomStringGenerationStrategy;
     }
 
+    public RandomGenerator getRandomGenerator() {
+        return randomGenerator;
+    }
+
     public int getMaxStringConstantLength() {
         return maxStringConstantLength;
     }
@@ -312,6 +433,32 @@ public class MainOptions {
         return reduceAST;
     }
 
+    public int getNrReducerThreads() {
+        return nrReducerThreads;
+    }
+
+    /**
+     * Returns the value of --reducer-checkpoints, which is -1 if the option was not given (see
+     * {@link ReplayCheckpoints#getMaxCheckpoints}).
+     *
+     * @return the maximum number of checkpoints per reducer thread, or -1 for the default of the DBMS
+     */
+    public int getMaxReducerCheckpoints() {
+        return maxReducerCheckpoints;
+    }
+
+    public int getNrOracleConnections() {
+        return nrOracleConnections;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public long getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
     public long getMaxStatementReduceSteps() {
         return maxStatementReduceSteps;
     }
@@ -332,6 +479,10 @@ public class MainOptions {
         return validateResultSizeOnly;
     }
 
+    public boolean useStreamingResultComparison() {
+        return streamingResultComparison;
+    }
+
     public boolean canonicalizeSqlString() {
         return canonicalizeSqlString;
     }
@@ -0,0 +1,234 @@
+package sqlancer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import sqlancer.common.query.Query;
+
+/**
+ * Collects the progress counters (e.g., the number of executed queries) and the latency histograms of all threads. The
+ * counters are updated for every statement, so each of them is a {@link LongAdder}, which spreads concurrent updates
+ * over per-thread cells. The cells are only summed up when the progress is reported.
+ */
+public final class MetricsRegistry {
+
+    /**
+     * Statements that are executed outside of a testing session (i.e., without a {@link Main.QueryManager}) are
+     * accounted to this pseudo provider.
+     */
+    static final String UNKNOWN_PROVIDER = "unknown";
+
+    private static final ConcurrentMap<String, Counters> PROVIDER_COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LongAdder> ORACLE_QUERIES = new ConcurrentHashMap<>();
+
+    public enum Counter {
+        QUERIES, DATABASES, SUCCESSFUL_STATEMENTS, UNSUCCESSFUL_STATEMENTS
+    }
+
+    /**
+     * The kinds of statements whose latencies are recorded separately.
+     */
+    public enum StatementKind {
+        // statements that could affect the schema
+        DDL,
+        // other statements whose result is not read, e.g., INSERT or SET
+        DML,
+        // statements whose result is read, mostly the queries of the test oracles
+        QUERY
+    }
+
+    private static final LatencyHistogram[] STATEMENT_LATENCIES = new LatencyHistogram[StatementKind.values().length];
+    // the latency of a check of each test oracle, which includes generating and comparing the queries
+    private static final ConcurrentMap<String, LatencyHistogram> ORACLE_LATENCIES = new ConcurrentHashMap<>();
+    // the time that the threads spent waiting, e.g., for a DBMS-specific lock, by the reason for waiting
+    private static final ConcurrentMap<String, LatencyHistogram> WAIT_TIMES = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < STATEMENT_LATENCIES.length; i++) {
+            STATEMENT_LATENCIES[i] = new LatencyHistogram();
+        }
+    }
+
+    public static final class Counters {
+
+        private final LongAdder[] adders = new LongAdder[Counter.values().length];
+
+        Counters() {
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+        }
+
+        public void increment(Counter counter) {
+            adders[counter.ordinal()].increment();
+        }
+
+        public long get(Counter counter) {
+            return adders[counter.ordinal()].sum();
+        }
+
+    }
+
+    private MetricsRegistry() {
+    }
+
+    public static Counters getProviderCounters(String dbmsName) {
+        return PROVIDER_COUNTERS.computeIfAbsent(dbmsName, name -> new Counters());
+    }
+
+    /**
+     * Records the outcome and latency of a statement that was sent to the DBMS. Each statement must be recorded exactly
+     * once, which is why this method is called by the {@link sqlancer.common.query.Query} implementations rather than by
+     * their callers. Statements that take at least --slow-query-threshold milliseconds are also written to the slow
+     * query log of the database.
+     *
+     * @param globalState
+     *            the state of the session in which the statement was executed
+     * @param query
+     *            the statement
+     * @param kind
+     *            the kind of the statement
+     * @param startNanos
+     *            the value of {@link System#nanoTime()} before the statement was sent to the DBMS
+     * @param success
+     *            whether the DBMS executed the statement successfully
+     */
+    public static void recordStatement(GlobalState<?, ?, ?> globalState, Query<?> query, StatementKind kind,
+            long startNanos, boolean success) {
+        long latency = System.nanoTime() - startNanos;
+        STATEMENT_LATENCIES[kind.ordinal()].record(latency);
+        Counter counter = success ? Counter.SUCCESSFUL_STATEMENTS : Counter.UNSUCCESSFUL_STATEMENTS;
+        Main.QueryManager<?> manager = globalState.getManager();
+        if (manager == null) {
+            getProviderCounters(UNKNOWN_PROVIDER).increment(counter);
+        } else {
+            manager.getCounters().increment(counter);
+        }
+        MainOptions options = globalState.getOptions();
+        if (options != null && options.getSlowQueryThreshold() >= 0
+                && latency >= TimeUnit.MILLISECONDS.toNanos(options.getSlowQueryThreshold())
+                && globalState.getLogger() != null) {
+            globalState.getLogger().writeSlowQuery(query.getLogString(), latency);
+        }
+    }
+
+    static void recordOracleQuery(String oracleName, long latency) {
+        ORACLE_QUERIES.computeIfAbsent(oracleName, name -> new LongAdder()).increment();
+        ORACLE_LATENCIES.computeIfAbsent(oracleName, name -> new LatencyHistogram()).record(latency);
+    }
+
+    /**
+     * Records the time that a thread waited instead of executing statements.
+     *
+     * @param reason
+     *            the reason for waiting, under which the wait times are reported
+     * @param waitNanos
+     *            the time waited
+     */
+    public static void recordWait(String reason, long waitNanos) {
+        WAIT_TIMES.computeIfAbsent(reason, name -> new LatencyHistogram()).record(waitNanos);
+    }
+
+    public static long getTotal(Counter counter) {
+        long total = 0;
+        for (Counters counters : PROVIDER_COUNTERS.values()) {
+            total += counters.get(counter);
+        }
+        return total;
+    }
+
+    public static Map<String, Counters> getCountersPerProvider() {
+        return new TreeMap<>(PROVIDER_COUNTERS);
+    }
+
+    public static Map<String, Long> getQueriesPerOracle() {
+        Map<String, Long> queries = new TreeMap<>();
+        ORACLE_QUERIES.forEach((name, adder) -> queries.put(name, adder.sum()));
+        return queries;
+    }
+
+    /**
+     * Takes a snapshot of the latency histogram of each statement kind, each test oracle, and each reason for waiting
+     * for which a latency was recorded.
+     *
+     * @return the snapshots of the statement kinds, followed by those of the oracles and then those of the wait
+     *         times in alphabetical order
+     */
+    public static Map<String, LatencyHistogram.Snapshot> getLatencies() {
+        Map<String, LatencyHistogram.Snapshot> latencies = new LinkedHashMap<>();
+        for (StatementKind kind : StatementKind.values()) {
+            LatencyHistogram.Snapshot snapshot = STATEMENT_LATENCIES[kind.ordinal()].getSnapshot();
+            if (snapshot.getCount() != 0) {
+                latencies.put(kind.name(), snapshot);
+            }
+        }
+        new TreeMap<>(ORACLE_LATENCIES).forEach((name, histogram) -> latencies.put(name, histogram.getSnapshot()));
+        new TreeMap<>(WAIT_TIMES).forEach((name, histogram) -> latencies.put(name, histogram.getSnapshot()));
+        return latencies;
+    }
+
+    public static String formatLatencies(Map<String, LatencyHistogram.Snapshot> latencies) {
+        StringBuilder sb = new StringBuilder("latency p50/p99/max (ms):");
+        String separator = " ";
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : latencies.entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue();
+            sb.append(separator);
+            sb.append(String.format("%s %.2f/%.2f/%.2f", entry.getKey(), toMillis(snapshot.getValueAtPercentile(50)),
+                    toMillis(snapshot.getValueAtPercentile(99)), toMillis(snapshot.getMax())));
+            separator = ", ";
+        }
+        return sb.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    /**
+     * Writes the latency histograms as JSON, with the non-empty buckets given by their bounds in nanoseconds.
+     *
+     * @param file
+     *            the file to which the histograms are written
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public static void writeLatencies(File file) throws IOException {
+        try (Writer writer = new FileWriter(file, false)) {
+            writer.write("{\n");
+            String separator = "";
+            for (Map.Entry<String, LatencyHistogram.Snapshot> entry : getLatencies().entrySet()) {
+                LatencyHistogram.Snapshot snapshot = entry.getValue();
+                writer.write(separator);
+                writer.write(String.format(
+                        "  \"%s\": {\"count\": %d, \"mean_ns\": %d, \"p50_ns\": %d, \"p90_ns\": %d, \"p99_ns\": %d, \"p999_ns\": %d, \"max_ns\": %d, \"buckets\": [",
+                        entry.getKey(), snapshot.getCount(), (long) snapshot.getMean(),
+                        snapshot.getValueAtPercentile(50), snapshot.getValueAtPercentile(90),
+                        snapshot.getValueAtPercentile(99), snapshot.getValueAtPercentile(99.9), snapshot.getMax()));
+                String bucketSeparator = "";
+                for (int i = 0; i < LatencyHistogram.NR_BUCKETS; i++) {
+                    long count = snapshot.getBucketCount(i);
+                    if (count != 0) {
+                        writer.write(String.format("%s[%d, %d, %d]", bucketSeparator,
+                                LatencyHistogram.getBucketLowerBound(i), LatencyHistogram.getBucketUpperBound(i),
+                                count));
+                        bucketSeparator = ", ";
+                    }
+                }
+                writer.write("]}");
+                separator = ",\n";
+            }
+            writer.write("\n}\n");
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package sqlancer;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Additional read-only connections to the database of a {@link GlobalState}, on which the test oracles execute the
+ * independent queries of a check concurrently (see --oracle-connections). The statements that change the database are
+ * still executed on the primary connection, which is idle while the queries of a check are executed, so that all
+ * connections see the same database state.
+ *
+ * @param <C>
+ *            the connection type
+ */
+public final class OracleConnectionPool<C extends SQLancerDBConnection> implements AutoCloseable {
+
+    private final List<C> allConnections;
+    private final BlockingQueue<C> idleConnections;
+    private final ExecutorService executor;
+
+    /**
+     * A query that is executed on a connection, and whose result is read completely before it returns.
+     *
+     * @param <C>
+     *            the connection type
+     * @param <T>
+     *            the result type
+     */
+    @FunctionalInterface
+    public interface ConnectionTask<C, T> {
+        T execute(C connection) throws SQLException;
+    }
+
+    OracleConnectionPool(List<C> connections) {
+        this.allConnections = connections;
+        this.idleConnections = new ArrayBlockingQueue<>(connections.size(), false, connections);
+        this.executor = Executors.newFixedThreadPool(connections.size(), r -> {
+            Thread thread = new Thread(r, Thread.currentThread().getName() + "_oracle");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the read-only connections for the given state, if the DBMS supports it.
+     *
+     * @param <G>
+     *            the global state type
+     * @param <C>
+     *            the connection type
+     * @param provider
+     *            the provider that created the database of the state
+     * @param globalState
+     *            the state whose database has been generated
+     *
+     * @return the pool, or null if --oracle-connections is 0 or the DBMS does not support read-only connections
+     *
+     * @throws Exception
+     *             if a connection cannot be opened
+     */
+    public static <G extends GlobalState<?, ?, C>, C extends SQLancerDBConnection> OracleConnectionPool<C> open(
+            DatabaseProvider<G, ?, C> provider, G globalState) throws Exception {
+        int nrConnections = globalState.getOptions().getNrOracleConnections();
+        if (nrConnections <= 0 || !provider.supportsReadOnlyConnections()) {
+            return null;
+        }
+        List<C> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < nrConnections; i++) {
+                connections.add(provider.createReadOnlyConnection(globalState));
+            }
+        } catch (Exception e) {
+            for (C con : connections) {
+                con.close();
+            }
+            throw e;
+        }
+        return new OracleConnectionPool<>(connections);
+    }
+
+    /**
+     * Executes the tasks concurrently on the read-only connections of the state, and otherwise one after another on
+     * its primary connection. If a task fails with an unexpected error on a read-only connection (e.g., since it refers
+     * to a temporary table, which only the primary connection can see), all tasks are executed again on the primary
+     * connection, so that their results are consistent.
+     *
+     * @param <C>
+     *            the connection type
+     * @param <T>
+     *            the result type
+     * @param globalState
+     *            the state
+     * @param tasks
+     *            the tasks, which must not change the database
+     *
+     * @return the results of the tasks, in the order of the tasks
+     *
+     * @throws SQLException
+     *             if a task fails on the primary connection
+     */
+    public static <C extends SQLancerDBConnection, T> List<T> execute(GlobalState<?, ?, C> globalState,
+            List<ConnectionTask<C, T>> tasks) throws SQLException {
+        OracleConnectionPool<C> pool = globalState.getOracleConnectionPool();
+        if (pool != null && tasks.size() > 1) {
+            List<T> results = pool.executeConcurrently(tasks);
+            if (results != null) {
+                return results;
+            }
+        }
+        List<T> results = new ArrayList<>();
+        for (ConnectionTask<C, T> task : tasks) {
+            results.add(task.execute(globalState.getConnection()));
+        }
+        return results;
+    }
+
+    // returns null if a task failed with an unexpected error
+    private <T> List<T> executeConcurrently(List<ConnectionTask<C, T>> tasks) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (ConnectionTask<C, T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                C con = idleConnections.take();
+                try {
+                    return task.execute(con);
+                } finally {
+                    idleConnections.add(con);
+                }
+            }));
+        }
+        // wait for all tasks, so that none of them still uses a connection when the next check starts
+        List<T> results = new ArrayList<>();
+        boolean failed = false;
+        IgnoreMeException ignored = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IgnoreMeException) {
+                    ignored = (IgnoreMeException) e.getCause();
+                } else {
+                    failed = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IgnoreMeException();
+            }
+        }
+        if (failed) {
+            return null;
+        }
+        if (ignored != null) {
+            throw ignored;
+        }
+        return results;
+    }
+
+    @Override
+    public void close() throws Exception {
+        executor.shutdownNow();
+        for (C con : allConnections) {
+            con.close();
+        }
+    }
+
+}
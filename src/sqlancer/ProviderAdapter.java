@@ -1,16 +1,15 @@
 package sqlancer;
 
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
+import sqlancer.DatabaseTemplatePool.DatabaseTemplate;
 import sqlancer.StateToReproduce.OracleRunReproductionState;
-import sqlancer.common.DBMSCommon;
 import sqlancer.common.oracle.CompositeTestOracle;
 import sqlancer.common.oracle.TestOracle;
+import sqlancer.common.query.Query;
 import sqlancer.common.schema.AbstractSchema;
 
 public abstract class ProviderAdapter<G extends GlobalState<O, ? extends AbstractSchema<G, ?>, C>, O extends DBMSSpecificOptions<? extends OracleFactory<G>>, C extends SQLancerDBConnection>
@@ -19,12 +18,15 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
     private final Class<G> globalClass;
     private final Class<O> optionClass;
 
-    // Variables for QPG
-    Map<String, String> queryPlanPool = new HashMap<>();
-    static double[] weightedAverageReward; // static variable for sharing across all threads
-    int currentSelectRewards;
-    int currentSelectCounts;
-    int currentMutationOperator = -1;
+    // QPG: the query plans of the database of this provider, which are checked again after a mutation
+    private QueryPlanPool queryPlanPool;
+
+    // QPG: the rewards of the last mutation of a thread, which are based on the queries that it generated afterwards
+    private static final class MutationRewards {
+        private int currentSelectRewards;
+        private int currentSelectCounts;
+        private int currentMutationOperator = -1;
+    }
 
     protected ProviderAdapter(Class<G> globalClass, Class<O> optionClass) {
         this.globalClass = globalClass;
@@ -49,17 +51,18 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
     @Override
     public Reproducer<G> generateAndTestDatabase(G globalState) throws Exception {
         try {
-            generateDatabase(globalState);
-            checkViewsAreValid(globalState);
+            generateOrCopyDatabase(globalState);
             globalState.getManager().incrementCreateDatabase();
+            globalState.setOracleConnectionPool(OracleConnectionPool.open(this, globalState));
 
             TestOracle<G> oracle = getTestOracle(globalState);
             for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
                 try (OracleRunReproductionState localState = globalState.getState().createLocalState()) {
                     assert localState != null;
                     try {
+                        long start = System.nanoTime();
                         oracle.check();
-                        globalState.getManager().incrementSelectQueryCount();
+                        globalState.getManager().incrementSelectQueryCount(oracle, System.nanoTime() - start);
                     } catch (IgnoreMeException ignored) {
                     } catch (AssertionError e) {
                         Reproducer<G> reproducer = oracle.getLastReproducer();
@@ -72,13 +75,66 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
                 }
             }
         } finally {
-            globalState.getConnection().close();
+            OracleConnectionPool<C> pool = globalState.getOracleConnectionPool();
+            globalState.setOracleConnectionPool(null);
+            try {
+                if (pool != null) {
+                    pool.close();
+                }
+            } finally {
+                globalState.getConnection().close();
+            }
         }
         return null;
     }
 
     protected abstract void checkViewsAreValid(G globalState) throws SQLException;
 
+    private void generateOrCopyDatabase(G globalState) throws Exception {
+        int templatePoolSize = globalState.getOptions().getTemplatePoolSize();
+        if (templatePoolSize <= 0 || !supportsDatabaseTemplates()) {
+            generateDatabase(globalState);
+            checkViewsAreValid(globalState);
+            return;
+        }
+        DatabaseTemplatePool pool = DatabaseTemplatePool.getPool(this, templatePoolSize);
+        String templateName = pool.reserveTemplate();
+        if (templateName == null) {
+            DatabaseTemplate template = pool.getTemplate(globalState.getRandomly());
+            if (template == null) {
+                // the templates are still being generated by other threads
+                generateDatabase(globalState);
+                checkViewsAreValid(globalState);
+            } else {
+                copyDatabase(globalState, template);
+            }
+            return;
+        }
+        boolean saved = false;
+        try {
+            generateDatabase(globalState);
+            checkViewsAreValid(globalState);
+            if (saveDatabaseTemplate(globalState, templateName)) {
+                pool.addTemplate(templateName, globalState.getState().getStatements());
+                saved = true;
+            }
+        } finally {
+            if (!saved) {
+                pool.cancelReservation();
+            }
+        }
+    }
+
+    private void copyDatabase(G globalState, DatabaseTemplate template) throws Exception {
+        restoreDatabaseTemplate(globalState, template);
+        globalState.getState().setStatements(new ArrayList<>(template.getStatements()));
+        if (globalState.getOptions().logEachSelect()) {
+            for (Query<?> statement : template.getStatements()) {
+                globalState.getLogger().writeCurrent(statement.getLogString());
+            }
+        }
+    }
+
     protected TestOracle<G> getTestOracle(G globalState) throws Exception {
         List<? extends OracleFactory<G>> testOracleFactory = globalState.getDbmsSpecificOptions()
                 .getTestOracleFactory();
@@ -102,18 +158,25 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
                 } catch (Exception e1) {
                     throw new AssertionError(e1);
                 }
-            }).collect(Collectors.toList()), globalState);
+            }).collect(Collectors.toList()));
         }
     }
 
     public abstract void generateDatabase(G globalState) throws Exception;
 
+    // QPG: the rewards and coverage are shared by all providers of the DBMS, as a provider is created per database
+    QueryPlanGuidance getQueryPlanGuidance(MainOptions options) {
+        // Same length as the list of mutators
+        return QueryPlanGuidance.get(getDBMSName(), this::initializeWeightedAverageReward,
+                QueryPlanCoverage.open(options.getQPGCoverageFile()));
+    }
+
     // QPG: entry function
     @Override
     public void generateAndTestDatabaseWithQueryPlanGuidance(G globalState) throws Exception {
-        if (weightedAverageReward == null) {
-            weightedAverageReward = initializeWeightedAverageReward(); // Same length as the list of mutators
-        }
+        QueryPlanGuidance qpg = getQueryPlanGuidance(globalState.getOptions());
+        queryPlanPool = qpg.createPool(globalState.getOptions().getQPGMaxPoolSize());
+        MutationRewards rewards = new MutationRewards();
         try {
             generateDatabase(globalState);
             checkViewsAreValid(globalState);
@@ -127,15 +190,17 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
                     try (OracleRunReproductionState localState = globalState.getState().createLocalState()) {
                         assert localState != null;
                         try {
+                            long start = System.nanoTime();
                             oracle.check();
+                            long latency = System.nanoTime() - start;
                             String query = oracle.getLastQueryString();
                             executedQueryCount += 1;
-                            if (addQueryPlan(query, globalState)) {
+                            if (addQueryPlan(rewards, query, globalState)) {
                                 numOfNoNewQueryPlans = 0;
                             } else {
                                 numOfNoNewQueryPlans++;
                             }
-                            globalState.getManager().incrementSelectQueryCount();
+                            globalState.getManager().incrementSelectQueryCount(oracle, latency);
                         } catch (IgnoreMeException e) {
 
                         }
@@ -143,7 +208,7 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
                     }
                     // exit loop to mutate tables if no new query plans have been found after a while
                     if (numOfNoNewQueryPlans > globalState.getOptions().getQPGMaxMutationInterval()) {
-                        mutateTables(globalState);
+                        mutateTables(qpg, rewards, globalState);
                         break;
                     }
                 }
@@ -154,22 +219,22 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
     }
 
     // QPG: mutate tables for a new database state
-    private synchronized boolean mutateTables(G globalState) throws Exception {
+    private boolean mutateTables(QueryPlanGuidance qpg, MutationRewards rewards, G globalState) throws Exception {
         // Update rewards based on a set of newly generated queries in last iteration
-        if (currentMutationOperator != -1) {
-            weightedAverageReward[currentMutationOperator] += ((double) currentSelectRewards
-                    / (double) currentSelectCounts) * globalState.getOptions().getQPGk();
+        if (rewards.currentMutationOperator != -1 && rewards.currentSelectCounts != 0) {
+            qpg.addReward(rewards.currentMutationOperator, ((double) rewards.currentSelectRewards
+                    / (double) rewards.currentSelectCounts) * globalState.getOptions().getQPGk());
         }
-        currentMutationOperator = -1;
+        rewards.currentMutationOperator = -1;
 
         // Choose mutator based on the rewards
         int selectedActionIndex = 0;
         if (Randomly.getPercentage() < globalState.getOptions().getQPGProbability()) {
-            selectedActionIndex = globalState.getRandomly().getInteger(0, weightedAverageReward.length);
+            selectedActionIndex = globalState.getRandomly().getInteger(0, qpg.getNrMutators());
         } else {
-            selectedActionIndex = DBMSCommon.getMaxIndexInDoubleArray(weightedAverageReward);
+            selectedActionIndex = qpg.getBestMutator();
         }
-        int reward = 0;
+        double reward = 0;
 
         try {
             executeMutator(selectedActionIndex, globalState);
@@ -178,61 +243,36 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
         } catch (IgnoreMeException | AssertionError e) {
         } finally {
             // Update rewards based on existing queries associated with the query plan pool
-            updateReward(selectedActionIndex, (double) reward / (double) queryPlanPool.size(), globalState);
-            currentMutationOperator = selectedActionIndex;
+            qpg.updateReward(selectedActionIndex, reward, globalState.getOptions().getQPGk());
+            rewards.currentMutationOperator = selectedActionIndex;
         }
 
         // Clear the variables for storing the rewards of the action on a set of newly generated queries
-        currentSelectRewards = 0;
-        currentSelectCounts = 0;
+        rewards.currentSelectRewards = 0;
+        rewards.currentSelectCounts = 0;
         return true;
     }
 
     // QPG: add a query plan to the query plan pool and return true if the query plan is new
-    private boolean addQueryPlan(String selectStr, G globalState) throws Exception {
+    private boolean addQueryPlan(MutationRewards rewards, String selectStr, G globalState) throws Exception {
         String queryPlan = getQueryPlan(selectStr, globalState);
 
         if (globalState.getOptions().logQueryPlan()) {
             globalState.getLogger().writeQueryPlan(queryPlan);
         }
 
-        currentSelectCounts += 1;
-        if (queryPlanPool.containsKey(queryPlan)) {
-            return false;
-        } else {
-            queryPlanPool.put(queryPlan, selectStr);
-            currentSelectRewards += 1;
+        rewards.currentSelectCounts += 1;
+        if (queryPlanPool.addQueryPlan(selectStr, queryPlan)) {
+            rewards.currentSelectRewards += 1;
             return true;
         }
+        return false;
     }
 
-    // Obtain the reward of the current action based on the queries associated with the query plan pool
-    private int checkQueryPlan(G globalState) throws Exception {
-        int newQueryPlanFound = 0;
-        HashMap<String, String> modifiedQueryPlan = new HashMap<>();
-        for (Iterator<Map.Entry<String, String>> it = queryPlanPool.entrySet().iterator(); it.hasNext();) {
-            Map.Entry<String, String> item = it.next();
-            String queryPlan = item.getKey();
-            String selectStr = item.getValue();
-            String newQueryPlan = getQueryPlan(selectStr, globalState);
-            if (newQueryPlan.isEmpty()) { // Invalid query
-                it.remove();
-            } else if (!queryPlan.equals(newQueryPlan)) { // A query plan has been changed
-                it.remove();
-                modifiedQueryPlan.put(newQueryPlan, selectStr);
-                if (!queryPlanPool.containsKey(newQueryPlan)) { // A new query plan is found
-                    newQueryPlanFound++;
-                }
-            }
-        }
-        queryPlanPool.putAll(modifiedQueryPlan);
-        return newQueryPlanFound;
-    }
-
-    // QPG: update the reward of current action
-    private void updateReward(int actionIndex, double reward, G globalState) {
-        weightedAverageReward[actionIndex] += (reward - weightedAverageReward[actionIndex])
-                * globalState.getOptions().getQPGk();
+    // Obtain the reward of the current action based on a sample of the queries associated with the query plan pool
+    private double checkQueryPlan(G globalState) throws Exception {
+        return queryPlanPool.recheckQueryPlans(globalState.getOptions().getQPGRecheckSampleSize(),
+                globalState.getRandomly(), query -> getQueryPlan(query, globalState));
     }
 
     // QPG: initialize the weighted average reward of all mutation operators (required implementation in specific DBMS)
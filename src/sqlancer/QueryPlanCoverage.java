@@ -0,0 +1,161 @@
+package sqlancer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * The fingerprints of all query plans that Query Plan Guidance (QPG) has observed, shared by all threads, so that a plan
+ * only counts as new if no thread has observed it before. The names of tables, views, and indexes are removed from the
+ * plans before they are hashed, so that the same plan on differently named objects is only counted once.
+ *
+ * If --qpg-coverage-file is given, the fingerprints are loaded from the file at startup and saved to it at the end of
+ * the run, so that a campaign can be resumed without rediscovering the plans that it has already observed. The file
+ * consists of a header followed by the sorted 64-bit fingerprints.
+ */
+public final class QueryPlanCoverage {
+
+    private static final int MAGIC = 0x51504743; // "QPGC"
+    private static final int VERSION = 1;
+
+    private static final Pattern TABLE_NAMES = Pattern.compile("t[0-9]+");
+    private static final Pattern VIEW_NAMES = Pattern.compile("v[0-9]+");
+    private static final Pattern INDEX_NAMES = Pattern.compile("i[0-9]+");
+
+    private static final QueryPlanCoverage IN_MEMORY = new QueryPlanCoverage(null);
+
+    // the coverages with a file, by the path of the file
+    private static final ConcurrentMap<String, QueryPlanCoverage> COVERAGE_FILES = new ConcurrentHashMap<>();
+
+    private final File file;
+    private final Set<Long> fingerprints = ConcurrentHashMap.newKeySet();
+
+    private QueryPlanCoverage(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the coverage that is stored in the given file, which is loaded when it is first requested.
+     *
+     * @param path
+     *            the path of the file, or null for the coverage that is not saved
+     *
+     * @return the coverage
+     */
+    public static QueryPlanCoverage open(String path) {
+        if (path == null) {
+            return IN_MEMORY;
+        }
+        return COVERAGE_FILES.computeIfAbsent(path, p -> {
+            try {
+                return load(p);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+    }
+
+    // a coverage that is not shared with the other users of open(null)
+    static QueryPlanCoverage createInMemory() {
+        return new QueryPlanCoverage(null);
+    }
+
+    static QueryPlanCoverage load(String path) throws IOException {
+        QueryPlanCoverage coverage = new QueryPlanCoverage(new File(path));
+        coverage.load();
+        return coverage;
+    }
+
+    public static String removeNames(String queryPlan) {
+        String result = TABLE_NAMES.matcher(queryPlan).replaceAll("t0"); // Avoid duplicate tables
+        result = VIEW_NAMES.matcher(result).replaceAll("v0"); // Avoid duplicate views
+        return INDEX_NAMES.matcher(result).replaceAll("i0"); // Avoid duplicate indexes
+    }
+
+    static long getFingerprint(String queryPlan) {
+        String normalizedQueryPlan = removeNames(queryPlan);
+        // 64-bit FNV-1a
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < normalizedQueryPlan.length(); i++) {
+            hash ^= normalizedQueryPlan.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Records a query plan fingerprint.
+     *
+     * @param fingerprint
+     *            the fingerprint of the plan (see {@link #getFingerprint(String)})
+     *
+     * @return true if no thread (and no previous run with the same file) has observed the plan before
+     */
+    public boolean add(long fingerprint) {
+        return fingerprints.add(fingerprint);
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    private void load() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not a query plan coverage file");
+            }
+            int nrFingerprints = in.readInt();
+            for (int i = 0; i < nrFingerprints; i++) {
+                fingerprints.add(in.readLong());
+            }
+        }
+    }
+
+    /**
+     * Saves the fingerprints to the file. The fingerprints are first written to a temporary file, which then replaces
+     * the file, so that the file is complete even if SQLancer is killed while saving it. The file is saved periodically
+     * and on shutdown, so the saves are serialized, as they share the temporary file.
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        if (file == null) {
+            return;
+        }
+        long[] sortedFingerprints = fingerprints.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sortedFingerprints);
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sortedFingerprints.length);
+            for (long fingerprint : sortedFingerprints) {
+                out.writeLong(fingerprint);
+            }
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static void saveAll() throws IOException {
+        for (QueryPlanCoverage coverage : COVERAGE_FILES.values()) {
+            coverage.save();
+        }
+    }
+
+}
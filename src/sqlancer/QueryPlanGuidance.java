@@ -0,0 +1,91 @@
+package sqlancer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import sqlancer.common.DBMSCommon;
+
+/**
+ * The state of Query Plan Guidance (QPG) that is shared by all threads and all databases that test a DBMS: the weighted
+ * average reward of each mutator, and the {@link QueryPlanCoverage} that decides whether a plan is new. As a provider
+ * is created for each database, the states are kept by the name of the DBMS (see {@link #get}). The query plans that
+ * are checked again after a mutation are kept per database (see {@link #createPool(int)}). The rewards are updated
+ * atomically, as the threads mutate their databases concurrently.
+ */
+public final class QueryPlanGuidance {
+
+    private static final ConcurrentMap<String, QueryPlanGuidance> STATES = new ConcurrentHashMap<>();
+
+    private final QueryPlanCoverage coverage;
+
+    // the bits of the double reward of each mutator
+    private final AtomicLongArray rewards;
+
+    public QueryPlanGuidance(double[] initialRewards, QueryPlanCoverage coverage) {
+        this.coverage = coverage;
+        this.rewards = new AtomicLongArray(initialRewards.length);
+        for (int i = 0; i < initialRewards.length; i++) {
+            rewards.set(i, Double.doubleToLongBits(initialRewards[i]));
+        }
+    }
+
+    /**
+     * Returns the QPG state of a DBMS, which is created when it is first requested.
+     *
+     * @param dbmsName
+     *            the name of the DBMS
+     * @param initialRewards
+     *            returns the initial rewards of the mutators of the DBMS
+     * @param coverage
+     *            the coverage of the query plans
+     *
+     * @return the state
+     */
+    public static QueryPlanGuidance get(String dbmsName, Supplier<double[]> initialRewards,
+            QueryPlanCoverage coverage) {
+        return STATES.computeIfAbsent(dbmsName, name -> new QueryPlanGuidance(initialRewards.get(), coverage));
+    }
+
+    /**
+     * Creates the pool of the query plans of a database.
+     *
+     * @param maxPoolSize
+     *            the maximum number of plans in the pool
+     *
+     * @return the pool, whose plans count as new if they have not been observed on any database
+     */
+    public QueryPlanPool createPool(int maxPoolSize) {
+        return new QueryPlanPool(coverage, maxPoolSize);
+    }
+
+    public int getNrMutators() {
+        return rewards.length();
+    }
+
+    public double getReward(int mutator) {
+        return Double.longBitsToDouble(rewards.get(mutator));
+    }
+
+    public void addReward(int mutator, double reward) {
+        rewards.getAndUpdate(mutator, bits -> Double.doubleToLongBits(Double.longBitsToDouble(bits) + reward));
+    }
+
+    // moves the weighted average reward of the mutator towards the given reward by the given weight
+    public void updateReward(int mutator, double reward, double weight) {
+        rewards.getAndUpdate(mutator, bits -> {
+            double current = Double.longBitsToDouble(bits);
+            return Double.doubleToLongBits(current + (reward - current) * weight);
+        });
+    }
+
+    public int getBestMutator() {
+        double[] currentRewards = new double[rewards.length()];
+        for (int i = 0; i < currentRewards.length; i++) {
+            currentRewards[i] = getReward(i);
+        }
+        return DBMSCommon.getMaxIndexInDoubleArray(currentRewards);
+    }
+
+}
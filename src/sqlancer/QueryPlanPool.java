@@ -0,0 +1,144 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The query plans that Query Plan Guidance (QPG) has observed on one database, with one query per plan, so that the
+ * plans can be checked again after the tables of the database were mutated. The pool is keyed by a 64-bit fingerprint
+ * of each plan (see {@link QueryPlanCoverage#getFingerprint(String)}). It holds at most --qpg-max-pool-size plans; if it
+ * is full, the plans that were least recently observed are evicted. Whether a plan is new is decided by the
+ * {@link QueryPlanCoverage} of the {@link QueryPlanGuidance} that is shared by all databases, which also remembers the
+ * evicted plans.
+ *
+ * The pools are kept per database rather than shared, as a query can only be checked again on the database whose tables
+ * it references: the databases of the threads have tables with the same names but different columns, so the query of
+ * another database would mostly be invalid or have a different plan. As only the thread that tests the database uses its
+ * pool, the pool is not synchronized; the shared coverage is.
+ */
+public final class QueryPlanPool {
+
+    // the fraction of the maximum size to which the pool is shrunk when it is full, so that the eviction is amortized
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final QueryPlanCoverage coverage;
+    private final Map<Long, PlanEntry> plans = new HashMap<>();
+    private long clock;
+    private final int maxPoolSize;
+
+    private static final class PlanEntry {
+
+        private final String query;
+        private long lastObserved;
+
+        PlanEntry(String query, long lastObserved) {
+            this.query = query;
+            this.lastObserved = lastObserved;
+        }
+
+    }
+
+    /**
+     * Obtains the query plan of a query, e.g., by executing EXPLAIN on the database of the current thread.
+     */
+    @FunctionalInterface
+    public interface QueryPlanFunction {
+        String getQueryPlan(String query) throws Exception;
+    }
+
+    QueryPlanPool(QueryPlanCoverage coverage, int maxPoolSize) {
+        this.coverage = coverage;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * Adds a query plan to the pool.
+     *
+     * @param query
+     *            the query whose plan was observed
+     * @param queryPlan
+     *            the plan
+     *
+     * @return true if the plan has not been observed before on any database
+     */
+    public boolean addQueryPlan(String query, String queryPlan) {
+        return addQueryPlan(QueryPlanCoverage.getFingerprint(queryPlan), query);
+    }
+
+    private boolean addQueryPlan(long fingerprint, String query) {
+        long now = ++clock;
+        PlanEntry entry = plans.get(fingerprint);
+        if (entry != null) {
+            entry.lastObserved = now;
+        } else {
+            plans.put(fingerprint, new PlanEntry(query, now));
+            if (plans.size() > maxPoolSize) {
+                evictLeastRecentlyObserved();
+            }
+        }
+        return coverage.add(fingerprint);
+    }
+
+    private void evictLeastRecentlyObserved() {
+        List<Map.Entry<Long, PlanEntry>> entries = new ArrayList<>(plans.entrySet());
+        entries.sort(Comparator.comparingLong(e -> e.getValue().lastObserved));
+        int nrEvicted = entries.size() - (int) (maxPoolSize * EVICTION_TARGET);
+        for (int i = 0; i < nrEvicted; i++) {
+            plans.remove(entries.get(i).getKey());
+        }
+    }
+
+    public int getPoolSize() {
+        return plans.size();
+    }
+
+    /**
+     * Obtains the plans of a random sample of the queries in the pool again, after the tables have been mutated. The
+     * queries that became invalid are removed, and those whose plans changed are moved to their new plans.
+     *
+     * @param sampleSize
+     *            the maximum number of queries whose plans are obtained again
+     * @param r
+     *            the randomness of the current thread
+     * @param function
+     *            the function that obtains the plan of a query, which returns an empty string for invalid queries
+     *
+     * @return the fraction of the checked queries that have a plan that has not been observed before, or 0 if the pool
+     *         is empty
+     *
+     * @throws Exception
+     *             if a plan cannot be obtained
+     */
+    public double recheckQueryPlans(int sampleSize, Randomly r, QueryPlanFunction function) throws Exception {
+        List<Long> fingerprints = new ArrayList<>(plans.keySet());
+        int nrChecked = Math.min(sampleSize, fingerprints.size());
+        int nrNewPlans = 0;
+        for (int i = 0; i < nrChecked; i++) {
+            // partial Fisher-Yates shuffle
+            Collections.swap(fingerprints, i, r.getInteger(i, fingerprints.size()));
+            long fingerprint = fingerprints.get(i);
+            PlanEntry entry = plans.get(fingerprint);
+            if (entry == null) { // evicted when the changed plan of another query was added
+                continue;
+            }
+            String newQueryPlan = function.getQueryPlan(entry.query);
+            if (newQueryPlan.isEmpty()) { // Invalid query
+                plans.remove(fingerprint);
+                continue;
+            }
+            long newFingerprint = QueryPlanCoverage.getFingerprint(newQueryPlan);
+            if (newFingerprint != fingerprint) { // A query plan has been changed
+                plans.remove(fingerprint);
+                if (addQueryPlan(newFingerprint, entry.query)) { // A new query plan is found
+                    nrNewPlans++;
+                }
+            }
+        }
+        return nrChecked == 0 ? 0 : (double) nrNewPlans / nrChecked;
+    }
+
+}
@@ -4,43 +4,100 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.function.Supplier;
 
+/**
+ * Generates the random values of a thread. Each instance draws from its own generator, which the instance of a global
+ * state also shares with the static helpers (e.g., {@link #getBoolean()} and {@link #fromList(List)}) of its thread:
+ * the constructors {@link #Randomly()} and {@link #Randomly(long)} make their generator the generator of the current
+ * thread, which the static helpers look up in a thread-local. The static helpers are called from about two thousand
+ * places, most of which have no global state at hand, so they are not passed the instance; the instance methods,
+ * including the string generation, use the generator directly.
+ */
 public final class Randomly {
 
     private static StringGenerationStrategy stringGenerationStrategy = StringGenerationStrategy.SOPHISTICATED;
     private static int maxStringLength = 10;
     private static boolean useCaching = true;
     private static int cacheSize = 100;
+    private static RandomGenerator randomGenerator = RandomGenerator.RANDOM;
 
-    private final List<Long> cachedLongs = new ArrayList<>();
-    private final List<Integer> cachedIntegers = new ArrayList<>();
+    private final ValueCache cachedLongs = new ValueCache();
+    private final ValueCache cachedIntegers = new ValueCache();
+    // the bits of the doubles, which are distinct iff the doubles are not equal as by Double.equals()
+    private final ValueCache cachedDoubles = new ValueCache();
     private final List<String> cachedStrings = new ArrayList<>();
-    private final List<Double> cachedDoubles = new ArrayList<>();
     private final List<byte[]> cachedBytes = new ArrayList<>();
     private Supplier<String> provider;
 
     private static final ThreadLocal<Random> THREAD_RANDOM = new ThreadLocal<>();
+    private final Random random;
     private long seed;
 
+    /**
+     * A set of at most cacheSize distinct values, which are kept in the order in which they were added. Unlike a
+     * {@code List<Long>}, it neither boxes the values nor scans all of them to check whether a value is contained. The
+     * callers might still allocate, e.g., when they convert a cached value to a string.
+     */
+    private static final class ValueCache {
+
+        private long[] values;
+        // open addressing with linear probing, with slots at least twice as many as values
+        private long[] slots;
+        private boolean[] usedSlots;
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long getRandom(Random random) {
+            return values[(int) nextLong(random, 0, size)];
+        }
+
+        void add(long value) {
+            if (values == null) {
+                values = new long[cacheSize];
+                int nrSlots = Integer.highestOneBit(Math.max(cacheSize, 1)) << 2;
+                slots = new long[nrSlots];
+                usedSlots = new boolean[nrSlots];
+            }
+            if (size >= values.length) {
+                return;
+            }
+            int mask = slots.length - 1;
+            int i = Long.hashCode(value * 0x9E3779B97F4A7C15L) & mask;
+            while (usedSlots[i]) {
+                if (slots[i] == value) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            usedSlots[i] = true;
+            slots[i] = value;
+            values[size++] = value;
+        }
+
+    }
+
     private void addToCache(long val) {
-        if (useCaching && cachedLongs.size() < cacheSize && !cachedLongs.contains(val)) {
+        if (useCaching) {
             cachedLongs.add(val);
         }
     }
 
     private void addToCache(int val) {
-        if (useCaching && cachedIntegers.size() < cacheSize && !cachedIntegers.contains(val)) {
+        if (useCaching) {
             cachedIntegers.add(val);
         }
     }
 
     private void addToCache(double val) {
-        if (useCaching && cachedDoubles.size() < cacheSize && !cachedDoubles.contains(val)) {
-            cachedDoubles.add(val);
+        if (useCaching) {
+            cachedDoubles.add(Double.doubleToLongBits(val));
         }
     }
 
@@ -50,32 +107,25 @@ public final class Randomly {
         }
     }
 
-    private Long getFromLongCache() {
-        if (!useCaching || cachedLongs.isEmpty()) {
-            return null;
-        } else {
-            return Randomly.fromList(cachedLongs);
-        }
+    private boolean hasCachedLongs() {
+        return useCaching && !cachedLongs.isEmpty();
     }
 
-    private Integer getFromIntegerCache() {
-        if (!useCaching || cachedIntegers.isEmpty()) {
-            return null;
-        } else {
-            return Randomly.fromList(cachedIntegers);
-        }
+    private boolean hasCachedIntegers() {
+        return useCaching && !cachedIntegers.isEmpty();
     }
 
-    private Double getFromDoubleCache() {
-        if (!useCaching) {
-            return null;
-        }
-        if (Randomly.getBoolean() && !cachedLongs.isEmpty()) {
-            return (double) Randomly.fromList(cachedLongs);
-        } else if (!cachedDoubles.isEmpty()) {
-            return Randomly.fromList(cachedDoubles);
+    // whether getFromDoubleCache() returns a cached long instead of a cached double, if there is one
+    private boolean useCachedLong() {
+        return random.nextBoolean() && !cachedLongs.isEmpty();
+    }
+
+    // a cached long or double, which requires useCachedLong() to be true or a cached double to exist
+    private double getFromDoubleCache(boolean fromLongs) {
+        if (fromLongs) {
+            return cachedLongs.getRandom(random);
         } else {
-            return null;
+            return Double.longBitsToDouble(cachedDoubles.getRandom(random));
         }
     }
 
@@ -83,16 +133,16 @@ public final class Randomly {
         if (!useCaching) {
             return null;
         }
-        if (Randomly.getBoolean() && !cachedLongs.isEmpty()) {
-            return String.valueOf(Randomly.fromList(cachedLongs));
-        } else if (Randomly.getBoolean() && !cachedDoubles.isEmpty()) {
-            return String.valueOf(Randomly.fromList(cachedDoubles));
-        } else if (Randomly.getBoolean() && !cachedBytes.isEmpty()
+        if (random.nextBoolean() && !cachedLongs.isEmpty()) {
+            return String.valueOf(cachedLongs.getRandom(random));
+        } else if (random.nextBoolean() && !cachedDoubles.isEmpty()) {
+            return String.valueOf(Double.longBitsToDouble(cachedDoubles.getRandom(random)));
+        } else if (random.nextBoolean() && !cachedBytes.isEmpty()
                 && stringGenerationStrategy == StringGenerationStrategy.SOPHISTICATED) {
-            return new String(Randomly.fromList(cachedBytes));
+            return new String(cachedBytes.get((int) nextLong(random, 0, cachedBytes.size())));
         } else if (!cachedStrings.isEmpty()) {
-            String randomString = Randomly.fromList(cachedStrings);
-            if (Randomly.getBoolean()) {
+            String randomString = cachedStrings.get((int) nextLong(random, 0, cachedStrings.size()));
+            if (random.nextBoolean()) {
                 return randomString;
             } else {
                 return stringGenerationStrategy.transformCachedString(this, randomString);
@@ -102,8 +152,8 @@ public final class Randomly {
         }
     }
 
-    private static boolean cacheProbability() {
-        return useCaching && getNextLong(0, 3) == 1;
+    private static boolean cacheProbability(Random random) {
+        return useCaching && nextLong(random, 0, 3) == 1;
     }
 
     // CACHING END
@@ -114,7 +164,12 @@ public final class Randomly {
 
     @SafeVarargs
     public static <T> T fromOptions(T... options) {
-        return options[getNextInt(0, options.length)];
+        return pick(getThreadRandom(), options);
+    }
+
+    @SafeVarargs
+    private static <T> T pick(Random random, T... options) {
+        return options[(int) nextLong(random, 0, options.length)];
     }
 
     @SafeVarargs
@@ -155,58 +210,69 @@ public final class Randomly {
     }
 
     public static <T> List<T> subset(int nr, @SuppressWarnings("unchecked") T... values) {
-        List<T> list = new ArrayList<>();
-        Collections.addAll(list, values);
-        return extractNrRandomColumns(list, nr);
+        return extractNrRandomColumns(Arrays.asList(values), nr);
     }
 
     public static <T> List<T> subset(@SuppressWarnings("unchecked") T... values) {
-        List<T> list = new ArrayList<>(Arrays.asList(values));
-        return subset(list);
+        return subset(Arrays.asList(values));
     }
 
     public static <T> List<T> extractNrRandomColumns(List<T> columns, int nr) {
         assert nr >= 0;
-        List<T> selectedColumns = new ArrayList<>();
-        List<T> remainingColumns = new ArrayList<>(columns);
+        List<T> selectedColumns = new ArrayList<>(nr);
+        if (nr == 0) {
+            return selectedColumns;
+        }
+        // a partial Fisher-Yates shuffle of the indexes, rather than removing the selected elements from a copy; this
+        // still allocates the index array and the result on each call
+        int[] remainingIndexes = new int[columns.size()];
+        for (int i = 0; i < remainingIndexes.length; i++) {
+            remainingIndexes[i] = i;
+        }
         for (int i = 0; i < nr; i++) {
-            selectedColumns.add(remainingColumns.remove(getNextInt(0, remainingColumns.size())));
+            int selected = getNextInt(i, remainingIndexes.length);
+            int index = remainingIndexes[selected];
+            remainingIndexes[selected] = remainingIndexes[i];
+            selectedColumns.add(columns.get(index));
         }
         return selectedColumns;
     }
 
     public static int smallNumber() {
+        return smallNumber(getThreadRandom());
+    }
+
+    private static int smallNumber(Random random) {
         // no need to cache for small numbers
-        return (int) (Math.abs(getThreadRandom().get().nextGaussian())) * 2;
+        return (int) (Math.abs(random.nextGaussian())) * 2;
     }
 
     public static boolean getBoolean() {
-        return getThreadRandom().get().nextBoolean();
+        return getThreadRandom().nextBoolean();
     }
 
     public static double getPercentage() {
-        return getThreadRandom().get().nextDouble();
+        return getThreadRandom().nextDouble();
     }
 
-    private static ThreadLocal<Random> getThreadRandom() {
-        if (THREAD_RANDOM.get() == null) {
+    private static Random getThreadRandom() {
+        Random random = THREAD_RANDOM.get();
+        if (random == null) {
             // a static method has been called, before Randomly was instantiated
-            THREAD_RANDOM.set(new Random());
+            random = randomGenerator.create();
+            THREAD_RANDOM.set(random);
         }
-        return THREAD_RANDOM;
+        return random;
     }
 
     public long getInteger() {
-        if (smallBiasProbability()) {
-            return Randomly.fromOptions(-1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L, 0L);
+        if (smallBiasProbability(random)) {
+            return pick(random, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L, 0L);
         } else {
-            if (cacheProbability()) {
-                Long l = getFromLongCache();
-                if (l != null) {
-                    return l;
-                }
+            if (cacheProbability(random) && hasCachedLongs()) {
+                return cachedLongs.getRandom(random);
             }
-            long nextLong = getThreadRandom().get().nextInt();
+            long nextLong = random.nextInt();
             addToCache(nextLong);
             return nextLong;
         }
@@ -243,10 +309,10 @@ public final class Randomly {
 
             @Override
             public String getString(Randomly r) {
-                if (smallBiasProbability()) {
-                    return Randomly.fromOptions("TRUE", "FALSE", "0.0", "-0.0", "1e500", "-1e500");
+                if (smallBiasProbability(r.random)) {
+                    return pick(r.random, "TRUE", "FALSE", "0.0", "-0.0", "1e500", "-1e500");
                 }
-                if (cacheProbability()) {
+                if (cacheProbability(r.random)) {
                     String s = r.getFromStringCache();
                     if (s != null) {
                         return s;
@@ -259,29 +325,29 @@ public final class Randomly {
 
                 int chars = getStringLength(r);
                 for (int i = 0; i < chars; i++) {
-                    if (Randomly.getBooleanWithRatherLowProbability()) {
+                    if (r.random.nextInt(10) == 1) {
                         char val = (char) r.getInteger();
                         if (val != 0) {
                             sb.append(val);
                         }
                     } else {
-                        sb.append(ALPHABET.charAt(getNextInt(0, n)));
+                        sb.append(ALPHABET.charAt((int) nextLong(r.random, 0, n)));
                     }
                 }
-                while (Randomly.getBooleanWithSmallProbability()) {
+                while (smallBiasProbability(r.random)) {
                     String[][] pairs = { { "{", "}" }, { "[", "]" }, { "(", ")" } };
-                    int idx = (int) Randomly.getNotCachedInteger(0, pairs.length);
-                    int left = (int) Randomly.getNotCachedInteger(0, sb.length() + 1);
+                    int idx = (int) nextLong(r.random, 0, pairs.length);
+                    int left = (int) nextLong(r.random, 0, sb.length() + 1);
                     sb.insert(left, pairs[idx][0]);
-                    int right = (int) Randomly.getNotCachedInteger(left + 1, sb.length() + 1);
+                    int right = (int) nextLong(r.random, left + 1, sb.length() + 1);
                     sb.insert(right, pairs[idx][1]);
                 }
                 if (r.provider != null) {
-                    while (Randomly.getBooleanWithSmallProbability()) {
+                    while (smallBiasProbability(r.random)) {
                         if (sb.length() == 0) {
                             sb.append(r.provider.get());
                         } else {
-                            sb.insert((int) Randomly.getNotCachedInteger(0, sb.length()), r.provider.get());
+                            sb.insert((int) nextLong(r.random, 0, sb.length()), r.provider.get());
                         }
                     }
                 }
@@ -293,14 +359,14 @@ public final class Randomly {
             }
 
             public String transformCachedString(Randomly r, String randomString) {
-                if (Randomly.getBoolean()) {
+                if (r.random.nextBoolean()) {
                     return randomString.toLowerCase();
-                } else if (Randomly.getBoolean()) {
+                } else if (r.random.nextBoolean()) {
                     return randomString.toUpperCase();
                 } else {
                     char[] chars = randomString.toCharArray();
                     if (chars.length != 0) {
-                        for (int i = 0; i < Randomly.smallNumber(); i++) {
+                        for (int i = 0; i < smallNumber(r.random); i++) {
                             chars[r.getInteger(0, chars.length)] = ALPHABET.charAt(r.getInteger(0, ALPHABET.length()));
                         }
                     }
@@ -316,8 +382,8 @@ public final class Randomly {
 
         private static int getStringLength(Randomly r) {
             int chars;
-            if (Randomly.getBoolean()) {
-                chars = Randomly.smallNumber();
+            if (r.random.nextBoolean()) {
+                chars = smallNumber(r.random);
             } else {
                 chars = r.getInteger(0, maxStringLength);
             }
@@ -328,7 +394,7 @@ public final class Randomly {
             int chars = getStringLength(r);
             StringBuilder sb = new StringBuilder();
             for (int i = 0; i < chars; i++) {
-                sb.append(alphabet.charAt(getNextInt(0, alphabet.length())));
+                sb.append(alphabet.charAt((int) nextLong(r.random, 0, alphabet.length())));
             }
             return sb.toString();
         }
@@ -346,20 +412,20 @@ public final class Randomly {
     }
 
     public byte[] getBytes() {
-        int size = Randomly.smallNumber();
+        int size = smallNumber(random);
         byte[] arr = new byte[size];
-        getThreadRandom().get().nextBytes(arr);
+        random.nextBytes(arr);
         return arr;
     }
 
     public long getNonZeroInteger() {
         long value;
-        if (smallBiasProbability()) {
-            return Randomly.fromOptions(-1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L);
+        if (smallBiasProbability(random)) {
+            return pick(random, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L);
         }
-        if (cacheProbability()) {
-            Long l = getFromLongCache();
-            if (l != null && l != 0) {
+        if (cacheProbability(random) && hasCachedLongs()) {
+            long l = cachedLongs.getRandom(random);
+            if (l != 0) {
                 return l;
             }
         }
@@ -371,17 +437,17 @@ public final class Randomly {
     }
 
     public long getPositiveInteger() {
-        if (cacheProbability()) {
-            Long value = getFromLongCache();
-            if (value != null && value >= 0) {
+        if (cacheProbability(random) && hasCachedLongs()) {
+            long value = cachedLongs.getRandom(random);
+            if (value >= 0) {
                 return value;
             }
         }
         long value;
-        if (smallBiasProbability()) {
-            value = Randomly.fromOptions(0L, Long.MAX_VALUE, 1L);
+        if (smallBiasProbability(random)) {
+            value = pick(random, 0L, Long.MAX_VALUE, 1L);
         } else {
-            value = getNextLong(0, Long.MAX_VALUE);
+            value = nextLong(random, 0, Long.MAX_VALUE);
         }
         addToCache(value);
         assert value >= 0;
@@ -389,17 +455,17 @@ public final class Randomly {
     }
 
     public int getPositiveIntegerInt() {
-        if (cacheProbability()) {
-            Integer value = getFromIntegerCache();
-            if (value != null && value >= 0) {
+        if (cacheProbability(random) && hasCachedIntegers()) {
+            int value = (int) cachedIntegers.getRandom(random);
+            if (value >= 0) {
                 return value;
             }
         }
         int value;
-        if (smallBiasProbability()) {
-            value = Randomly.fromOptions(0, Integer.MAX_VALUE, 1);
+        if (smallBiasProbability(random)) {
+            value = pick(random, 0, Integer.MAX_VALUE, 1);
         } else {
-            value = getNextInt(0, Integer.MAX_VALUE);
+            value = (int) nextLong(random, 0, Integer.MAX_VALUE);
         }
         addToCache(value);
         assert value >= 0;
@@ -416,30 +482,30 @@ public final class Randomly {
     }
 
     public double getDouble() {
-        if (smallBiasProbability()) {
-            return Randomly.fromOptions(0.0, -0.0, Double.MAX_VALUE, -Double.MAX_VALUE, Double.POSITIVE_INFINITY,
+        if (smallBiasProbability(random)) {
+            return pick(random, 0.0, -0.0, Double.MAX_VALUE, -Double.MAX_VALUE, Double.POSITIVE_INFINITY,
                     Double.NEGATIVE_INFINITY);
-        } else if (cacheProbability()) {
-            Double d = getFromDoubleCache();
-            if (d != null) {
-                return d;
+        } else if (cacheProbability(random) && useCaching) {
+            boolean fromLongs = useCachedLong();
+            if (fromLongs || !cachedDoubles.isEmpty()) {
+                return getFromDoubleCache(fromLongs);
             }
         }
-        double value = getThreadRandom().get().nextDouble();
+        double value = random.nextDouble();
         addToCache(value);
         return value;
     }
 
-    private static boolean smallBiasProbability() {
-        return getThreadRandom().get().nextInt(100) == 1;
+    private static boolean smallBiasProbability(Random random) {
+        return random.nextInt(100) == 1;
     }
 
     public static boolean getBooleanWithRatherLowProbability() {
-        return getThreadRandom().get().nextInt(10) == 1;
+        return getThreadRandom().nextInt(10) == 1;
     }
 
     public static boolean getBooleanWithSmallProbability() {
-        return smallBiasProbability();
+        return smallBiasProbability(getThreadRandom());
     }
 
     public int getInteger(int left, int right) {
@@ -454,7 +520,7 @@ public final class Randomly {
         if (left == right) {
             return left;
         }
-        return getNextLong(left, right);
+        return nextLong(random, left, right);
     }
 
     public BigInteger getBigInteger(BigInteger left, BigInteger right) {
@@ -469,7 +535,7 @@ public final class Randomly {
     }
 
     public BigDecimal getRandomBigDecimal() {
-        return BigDecimal.valueOf(getThreadRandom().get().nextDouble());
+        return BigDecimal.valueOf(random.nextDouble());
     }
 
     public long getPositiveIntegerNotNull() {
@@ -482,7 +548,7 @@ public final class Randomly {
     }
 
     public static long getNonCachedInteger() {
-        return getThreadRandom().get().nextLong();
+        return getThreadRandom().nextLong();
     }
 
     public static long getPositiveOrZeroNonCachedInteger() {
@@ -493,21 +559,43 @@ public final class Randomly {
         return getNextLong(lower, upper);
     }
 
+    // shares the generator of the current thread
     public Randomly(Supplier<String> provider) {
+        this.random = getThreadRandom();
         this.provider = provider;
     }
 
     public Randomly() {
-        THREAD_RANDOM.set(new Random());
+        this.random = randomGenerator.create();
+        THREAD_RANDOM.set(random);
     }
 
     public Randomly(long seed) {
         this.seed = seed;
-        THREAD_RANDOM.set(new Random(seed));
+        this.random = randomGenerator.create(seed);
+        THREAD_RANDOM.set(random);
+    }
+
+    private Randomly(Random random, long seed) {
+        this.seed = seed;
+        this.random = random;
+    }
+
+    /**
+     * Creates a generator with the given seed for a state that is used by other threads (e.g., by the reducer threads),
+     * without replacing the generator of the current thread that the static methods use.
+     *
+     * @param seed
+     *            the seed of the generator
+     *
+     * @return the generator
+     */
+    public static Randomly createDetached(long seed) {
+        return new Randomly(randomGenerator.create(seed), seed);
     }
 
     public static double getUncachedDouble() {
-        return getThreadRandom().get().nextDouble();
+        return getThreadRandom().nextDouble();
     }
 
     public String getChar() {
@@ -532,13 +620,39 @@ public final class Randomly {
     // uniformity does not seem to be important for us
     // SQLancer previously used ThreadLocalRandom.current().nextLong(lower, upper)
     private static long getNextLong(long lower, long upper) {
+        return nextLong(getThreadRandom(), lower, upper);
+    }
+
+    private static long nextLong(Random random, long lower, long upper) {
         if (lower > upper) {
             throw new IllegalArgumentException(lower + " " + upper);
         }
         if (lower == upper) {
             return lower;
         }
-        return getThreadRandom().get().longs(lower, upper).findFirst().getAsLong();
+        // the same algorithm as random.longs(lower, upper).findFirst(), without creating a stream
+        long r = random.nextLong();
+        long n = upper - lower;
+        long m = n - 1;
+        if ((n & m) == 0L) {
+            // a power of two
+            return (r & m) + lower;
+        } else if (n > 0L) {
+            long u = r >>> 1;
+            long value = u % n;
+            // reject values that would make the distribution non-uniform
+            while (u + m - value < 0L) {
+                u = random.nextLong() >>> 1;
+                value = u % n;
+            }
+            return value + lower;
+        } else {
+            // the range does not fit into a long
+            while (r < lower || r >= upper) {
+                r = random.nextLong();
+            }
+            return r;
+        }
     }
 
     private static int getNextInt(int lower, int upper) {
@@ -554,6 +668,152 @@ public final class Randomly {
         maxStringLength = options.getMaxStringConstantLength();
         useCaching = options.useConstantCaching();
         cacheSize = options.getConstantCacheSize();
+        randomGenerator = options.getRandomGenerator();
+    }
+
+    /**
+     * Derives the seeds of the worker threads from the seed given by --random-seed. The first worker uses the seed
+     * itself, so that each logged seed reproduces its worker's run as the first worker of a new run.
+     *
+     * @param seed
+     *            the seed of the first worker
+     * @param nrWorkers
+     *            the number of workers
+     *
+     * @return a seed for each worker
+     */
+    public static long[] getWorkerSeeds(long seed, int nrWorkers) {
+        long[] seeds = new long[nrWorkers];
+        SplittableRandom splitSource = new SplittableRandom(seed);
+        for (int i = 0; i < nrWorkers; i++) {
+            seeds[i] = i == 0 ? seed : randomGenerator.getWorkerSeed(seed, i, splitSource);
+        }
+        return seeds;
+    }
+
+    public enum RandomGenerator {
+
+        /**
+         * {@link java.util.Random}, which updates its state with a compare-and-set per value; the workers use
+         * consecutive seeds.
+         */
+        RANDOM {
+            @Override
+            Random create(long seed) {
+                return new Random(seed);
+            }
+
+            @Override
+            Random create() {
+                return new Random();
+            }
+
+            @Override
+            long getWorkerSeed(long seed, int workerIndex, SplittableRandom splitSource) {
+                return seed + workerIndex;
+            }
+        },
+        /**
+         * {@link SplittableRandom}, which is not thread-safe and thus faster; the workers use the seeds of split-off
+         * generators, whose streams are statistically independent.
+         */
+        SPLITTABLE {
+            @Override
+            Random create(long seed) {
+                return new SplittableRandomAdapter(new SplittableRandom(seed));
+            }
+
+            @Override
+            Random create() {
+                return new SplittableRandomAdapter(new SplittableRandom());
+            }
+
+            @Override
+            long getWorkerSeed(long seed, int workerIndex, SplittableRandom splitSource) {
+                return splitSource.split().nextLong();
+            }
+        };
+
+        abstract Random create(long seed);
+
+        abstract Random create();
+
+        abstract long getWorkerSeed(long seed, int workerIndex, SplittableRandom splitSource);
+
+    }
+
+    /**
+     * Exposes a {@link SplittableRandom} as a {@link Random}, which the rest of the class is written against. Each
+     * instance is only used by the thread that created it.
+     */
+    private static final class SplittableRandomAdapter extends Random {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient SplittableRandom random;
+        private transient double nextGaussian;
+        private transient boolean haveNextGaussian;
+
+        SplittableRandomAdapter(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        protected int next(int bits) {
+            return random.nextInt() >>> (32 - bits);
+        }
+
+        @Override
+        public int nextInt() {
+            return random.nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return random.nextLong();
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return random.nextBoolean();
+        }
+
+        @Override
+        public double nextDouble() {
+            return random.nextDouble();
+        }
+
+        @Override
+        public void nextBytes(byte[] bytes) {
+            random.nextBytes(bytes);
+        }
+
+        // the polar method of Random.nextGaussian(), which is synchronized
+        @Override
+        public double nextGaussian() {
+            if (haveNextGaussian) {
+                haveNextGaussian = false;
+                return nextGaussian;
+            }
+            double v1;
+            double v2;
+            double s;
+            do {
+                v1 = 2 * random.nextDouble() - 1;
+                v2 = 2 * random.nextDouble() - 1;
+                s = v1 * v1 + v2 * v2;
+            } while (s >= 1 || s == 0);
+            double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+            nextGaussian = v2 * multiplier;
+            haveNextGaussian = true;
+            return v1 * multiplier;
+        }
+
     }
 
 }
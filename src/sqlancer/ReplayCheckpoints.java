@@ -0,0 +1,264 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import sqlancer.DatabaseTemplatePool.DatabaseTemplate;
+import sqlancer.common.query.Query;
+
+/**
+ * Replays the statements of the reducer candidates, starting from a copy of the database after the longest prefix of
+ * the candidate that was replayed before (see --reducer-checkpoints). The copies (i.e., checkpoints) are saved as
+ * database templates (see {@link DatabaseProvider#supportsDatabaseTemplates()}), so that the reducers do not depend on
+ * how a DBMS copies its databases. For DBMSs that do not support them, checkpoints are disabled by default, and
+ * --reducer-checkpoints is rejected (see {@link #validateOptions}).
+ *
+ * @param <G>
+ *            the global state
+ * @param <C>
+ *            the connection
+ */
+public class ReplayCheckpoints<G extends GlobalState<?, ?, C>, C extends SQLancerDBConnection> {
+
+    private static final int DEFAULT_MAX_CHECKPOINTS = 16;
+
+    private final DatabaseProvider<G, ?, C> provider;
+    private final String checkpointNamePrefix;
+    private final int maxCheckpoints;
+
+    // the checkpoints by the hash of their prefix, in the order of their last use
+    private final Map<Long, Checkpoint> checkpoints = new LinkedHashMap<>(16, 0.75f, true);
+    private int nextCheckpointId;
+
+    private long nrHits;
+    private long nrMisses;
+    private long nrSkippedStatements;
+    private long nrReplayedStatements;
+
+    private static final class Checkpoint {
+
+        private final String name;
+        private final List<String> prefix;
+
+        Checkpoint(String name, List<String> prefix) {
+            this.name = name;
+            this.prefix = prefix;
+        }
+
+    }
+
+    public ReplayCheckpoints(DatabaseProvider<G, ?, C> provider, String databaseName, int maxCheckpoints) {
+        this.provider = provider;
+        this.checkpointNamePrefix = databaseName + "-checkpoint";
+        if (maxCheckpoints > 0 && !provider.supportsDatabaseTemplates()) {
+            throw new AssertionError(getUnsupportedMessage(provider));
+        }
+        this.maxCheckpoints = maxCheckpoints;
+    }
+
+    /**
+     * Checks --reducer-checkpoints before the run starts.
+     *
+     * @param options
+     *            the parsed options
+     * @param provider
+     *            the provider of the DBMS under test
+     *
+     * @return the error message, or null if the option is valid
+     */
+    public static String validateOptions(MainOptions options, DatabaseProvider<?, ?, ?> provider) {
+        int maxCheckpoints = options.getMaxReducerCheckpoints();
+        if (maxCheckpoints < -1) {
+            return "--reducer-checkpoints must be a non-negative number, but is " + maxCheckpoints;
+        }
+        if (maxCheckpoints > 0 && !provider.supportsDatabaseTemplates()) {
+            return getUnsupportedMessage(provider);
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the default of --reducer-checkpoints, which depends on whether the DBMS supports database templates.
+     *
+     * @param options
+     *            the validated options
+     * @param provider
+     *            the provider of the DBMS under test
+     *
+     * @return the maximum number of checkpoints per reducer thread
+     */
+    public static int getMaxCheckpoints(MainOptions options, DatabaseProvider<?, ?, ?> provider) {
+        int maxCheckpoints = options.getMaxReducerCheckpoints();
+        if (maxCheckpoints == -1) {
+            return provider.supportsDatabaseTemplates() ? DEFAULT_MAX_CHECKPOINTS : 0;
+        }
+        return maxCheckpoints;
+    }
+
+    private static String getUnsupportedMessage(DatabaseProvider<?, ?, ?> provider) {
+        return "--reducer-checkpoints requires a DBMS that supports database templates, which " + provider.getDBMSName()
+                + " does not; pass --reducer-checkpoints 0 or omit the option";
+    }
+
+    /**
+     * Creates a database for the given state and executes the statements on it. Failing statements are ignored.
+     *
+     * @param globalState
+     *            the state whose connection is set to the new database
+     * @param statements
+     *            the statements to be replayed
+     * @param checkpointPosition
+     *            the number of statements after which a checkpoint should be saved, typically the position at which the
+     *            candidate differs from the candidates that are tested next
+     *
+     * @return the connection to the new database, which is to be closed by the caller
+     *
+     * @throws Exception
+     *             if the database cannot be created
+     */
+    public C replay(G globalState, List<? extends Query<C>> statements, int checkpointPosition) throws Exception {
+        C con = provider.createDatabase(globalState);
+        globalState.setConnection(con);
+        int start = 0;
+        if (maxCheckpoints > 0) {
+            Checkpoint checkpoint = findLongestPrefix(statements);
+            if (checkpoint == null) {
+                nrMisses++;
+            } else {
+                try {
+                    List<Query<?>> prefix = new ArrayList<>(statements.subList(0, checkpoint.prefix.size()));
+                    provider.restoreDatabaseTemplate(globalState, new DatabaseTemplate(checkpoint.name, prefix));
+                    start = checkpoint.prefix.size();
+                    nrHits++;
+                } catch (Exception e) {
+                    // start from scratch
+                    con.close();
+                    con = provider.createDatabase(globalState);
+                    globalState.setConnection(con);
+                    nrMisses++;
+                }
+            }
+        }
+        nrSkippedStatements += start;
+        for (int i = start; i < statements.size(); i++) {
+            if (i == checkpointPosition && i != start) {
+                saveCheckpoint(globalState, statements.subList(0, i));
+            }
+            try {
+                statements.get(i).execute(globalState);
+            } catch (Throwable ignoredException) {
+                // ignore
+            }
+            nrReplayedStatements++;
+        }
+        return con;
+    }
+
+    private Checkpoint findLongestPrefix(List<? extends Query<C>> statements) {
+        Checkpoint longest = null;
+        long hash = 0;
+        for (int i = 0; i < statements.size(); i++) {
+            hash = getPrefixHash(hash, statements.get(i));
+            Checkpoint checkpoint = checkpoints.get(hash);
+            if (checkpoint != null && isPrefix(checkpoint.prefix, statements)) {
+                longest = checkpoint;
+            }
+        }
+        return longest;
+    }
+
+    private static long getPrefixHash(long prefixHash, Query<?> statement) {
+        return prefixHash * 0x9E3779B97F4A7C15L + statement.getQueryString().hashCode() + 1;
+    }
+
+    private static boolean isPrefix(List<String> prefix, List<? extends Query<?>> statements) {
+        if (prefix.size() > statements.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            if (!prefix.get(i).equals(statements.get(i).getQueryString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void saveCheckpoint(G globalState, List<? extends Query<C>> prefix) {
+        long hash = 0;
+        List<String> prefixStrings = new ArrayList<>(prefix.size());
+        for (Query<C> statement : prefix) {
+            hash = getPrefixHash(hash, statement);
+            prefixStrings.add(statement.getQueryString());
+        }
+        if (checkpoints.containsKey(hash)) {
+            return;
+        }
+        String name;
+        if (checkpoints.size() < maxCheckpoints) {
+            name = checkpointNamePrefix + nextCheckpointId++;
+        } else {
+            // overwrite the least recently used checkpoint
+            Iterator<Checkpoint> it = checkpoints.values().iterator();
+            name = it.next().name;
+            it.remove();
+        }
+        try {
+            if (provider.saveDatabaseTemplate(globalState, name)) {
+                checkpoints.put(hash, new Checkpoint(name, prefixStrings));
+            }
+        } catch (Exception e) {
+            // replay the prefix next time
+        }
+    }
+
+    /**
+     * Deletes the checkpoints of the given replayers, once the reduction has ended.
+     *
+     * @param replayers
+     *            the replayers of all threads of a reducer
+     */
+    public static void deleteCheckpoints(Iterable<? extends ReplayCheckpoints<?, ?>> replayers) {
+        for (ReplayCheckpoints<?, ?> r : replayers) {
+            r.deleteCheckpoints();
+        }
+    }
+
+    private void deleteCheckpoints() {
+        for (Checkpoint checkpoint : checkpoints.values()) {
+            try {
+                provider.deleteDatabaseTemplate(checkpoint.name);
+            } catch (Exception e) {
+                // the checkpoint is left behind
+                e.printStackTrace();
+            }
+        }
+        checkpoints.clear();
+    }
+
+    /**
+     * Summarizes how many statements did not have to be replayed thanks to the checkpoints.
+     *
+     * @param replayers
+     *            the replayers of all threads of a reducer
+     *
+     * @return a line for the reducer log
+     */
+    public static String getStatistics(Iterable<? extends ReplayCheckpoints<?, ?>> replayers) {
+        long hits = 0;
+        long misses = 0;
+        long skipped = 0;
+        long replayed = 0;
+        for (ReplayCheckpoints<?, ?> r : replayers) {
+            hits += r.nrHits;
+            misses += r.nrMisses;
+            skipped += r.nrSkippedStatements;
+            replayed += r.nrReplayedStatements;
+        }
+        return String.format("checkpoints: %d hits, %d misses, %d statements skipped, %d statements replayed%n", hits,
+                misses, skipped, replayed);
+    }
+
+}
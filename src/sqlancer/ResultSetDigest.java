@@ -0,0 +1,76 @@
+package sqlancer;
+
+/**
+ * An order-insensitive digest of the values of a result set (i.e., of a multiset of strings). Each value is hashed to
+ * 128 bits, and the hashes are summed up, so that the digest of a result set can be computed while iterating over it,
+ * and the digests of several result sets can be combined as for a UNION ALL. Two result sets with equal digests
+ * contain the same values the same number of times, unless their hashes collide.
+ */
+public final class ResultSetDigest {
+
+    private static final long NULL_HASH1 = 0x6A09E667F3BCC908L;
+    private static final long NULL_HASH2 = 0xBB67AE8584CAA73BL;
+
+    private long nrRows;
+    private long hashSum1;
+    private long hashSum2;
+
+    public void add(String value) {
+        nrRows++;
+        if (value == null) {
+            hashSum1 += NULL_HASH1;
+            hashSum2 += NULL_HASH2;
+            return;
+        }
+        long h1 = 0xCBF29CE484222325L;
+        long h2 = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            h1 = (h1 ^ c) * 0x100000001B3L;
+            h2 = (h2 + c) * 0xC2B2AE3D27D4EB4FL;
+        }
+        hashSum1 += mix(h1 ^ value.length());
+        hashSum2 += mix(h2 + value.length());
+    }
+
+    public void addAll(ResultSetDigest other) {
+        nrRows += other.nrRows;
+        hashSum1 += other.hashSum1;
+        hashSum2 += other.hashSum2;
+    }
+
+    // the finalizer of MurmurHash3, so that similar values have unrelated hashes before they are summed up
+    private static long mix(long h) {
+        long k = h;
+        k ^= k >>> 33;
+        k *= 0xFF51AFD7ED558CCDL;
+        k ^= k >>> 33;
+        k *= 0xC4CEB9FE1A85EC53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    public long getNrRows() {
+        return nrRows;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ResultSetDigest)) {
+            return false;
+        }
+        ResultSetDigest other = (ResultSetDigest) obj;
+        return nrRows == other.nrRows && hashSum1 == other.hashSum1 && hashSum2 == other.hashSum2;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hashSum1 ^ hashSum2);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows (%016x%016x)", nrRows, hashSum1, hashSum2);
+    }
+
+}
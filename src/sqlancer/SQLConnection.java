@@ -2,15 +2,30 @@ package sqlancer;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class SQLConnection implements SQLancerDBConnection {
 
     private final Connection connection;
+    // executed after the connection was closed, e.g., to drop a database of the DatabasePool
+    private final Runnable onClose;
+
+    // the statements that are not in use, see getCachedStatement() and getCachedPreparedStatement()
+    private Statement idleStatement;
+    private final Map<String, PreparedStatement> idlePreparedStatements = new LinkedHashMap<>();
 
     public SQLConnection(Connection connection) {
+        this(connection, null);
+    }
+
+    public SQLConnection(Connection connection, Runnable onClose) {
         this.connection = connection;
+        this.onClose = onClose;
     }
 
     @Override
@@ -19,9 +34,29 @@ public class SQLConnection implements SQLancerDBConnection {
         return meta.getDatabaseProductVersion();
     }
 
+    public String getURL() throws SQLException {
+        return connection.getMetaData().getURL();
+    }
+
     @Override
     public void close() throws SQLException {
-        connection.close();
+        // the cached statements are closed, as the connection might be kept open for another database (see
+        // ServerConnections)
+        try {
+            if (idleStatement != null) {
+                idleStatement.close();
+                idleStatement = null;
+            }
+            for (PreparedStatement s : idlePreparedStatements.values()) {
+                s.close();
+            }
+            idlePreparedStatements.clear();
+        } finally {
+            connection.close();
+        }
+        if (onClose != null) {
+            onClose.run();
+        }
     }
 
     public Statement prepareStatement(String arg) throws SQLException {
@@ -31,4 +66,92 @@ public class SQLConnection implements SQLancerDBConnection {
     public Statement createStatement() throws SQLException {
         return connection.createStatement();
     }
+
+    /**
+     * Returns a statement for a query, which is reused for later queries once it is passed to
+     * {@link #releaseStatement(Statement)}. If the statement of the previous query is still in use (e.g., since its
+     * result set is still being read), a new statement is created.
+     *
+     * @return the statement
+     *
+     * @throws SQLException
+     *             if the statement cannot be created
+     */
+    public Statement getCachedStatement() throws SQLException {
+        Statement s = idleStatement;
+        if (s == null) {
+            return connection.createStatement();
+        }
+        idleStatement = null;
+        return s;
+    }
+
+    /**
+     * Makes a statement obtained from {@link #getCachedStatement()} available for reuse, after the query has been
+     * executed and its result set has been closed.
+     *
+     * @param s
+     *            the statement
+     *
+     * @throws SQLException
+     *             if the statement cannot be closed
+     */
+    public void releaseStatement(Statement s) throws SQLException {
+        if (idleStatement == null) {
+            idleStatement = s;
+        } else {
+            s.close();
+        }
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL string, which is reused for later queries with the same string
+     * once it is passed to {@link #releasePreparedStatement(String, PreparedStatement, int)}.
+     *
+     * @param sql
+     *            the SQL string
+     *
+     * @return the prepared statement
+     *
+     * @throws SQLException
+     *             if the statement cannot be prepared
+     */
+    public PreparedStatement getCachedPreparedStatement(String sql) throws SQLException {
+        PreparedStatement s = idlePreparedStatements.remove(sql);
+        if (s == null) {
+            return connection.prepareStatement(sql);
+        }
+        return s;
+    }
+
+    /**
+     * Makes a prepared statement obtained from {@link #getCachedPreparedStatement(String)} available for reuse, after
+     * the query has been executed and its result set has been closed. The least recently used prepared statements are
+     * closed if more than the given number of them are kept.
+     *
+     * @param sql
+     *            the SQL string of the statement
+     * @param s
+     *            the prepared statement
+     * @param maxCachedStatements
+     *            the maximum number of prepared statements that are kept
+     *
+     * @throws SQLException
+     *             if a statement cannot be closed
+     */
+    public void releasePreparedStatement(String sql, PreparedStatement s, int maxCachedStatements)
+            throws SQLException {
+        s.clearParameters();
+        PreparedStatement previous = idlePreparedStatements.put(sql, s);
+        if (previous != null) {
+            previous.close();
+        }
+        Iterator<PreparedStatement> leastRecentlyUsed = idlePreparedStatements.values().iterator();
+        while (idlePreparedStatements.size() > maxCachedStatements) {
+            Statement evicted = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            evicted.close();
+        }
+    }
+
 }
@@ -1,5 +1,8 @@
 package sqlancer;
 
+import java.sql.SQLException;
+import java.util.List;
+
 import sqlancer.common.query.Query;
 import sqlancer.common.schema.AbstractSchema;
 
@@ -24,7 +27,41 @@ public abstract class SQLGlobalState<O extends DBMSSpecificOptions<?>, S extends
             getLogger().writeCurrent(" -- " + timer.end().asString());
         }
         if (q.couldAffectSchema()) {
-            updateSchema();
+            updateSchema(q, success);
         }
     }
+
+    /**
+     * Returns the rows of a query on the system catalogs, which is executed only once for each server, DBMS, and the
+     * options that change the catalogs (see {@link CatalogCache}).
+     *
+     * @param query
+     *            the query
+     *
+     * @return the unmodifiable rows
+     *
+     * @throws SQLException
+     *             if the query cannot be executed
+     */
+    public List<List<String>> getCatalogRows(String query) throws SQLException {
+        return getCatalogCache().getRows(getConnection(), getClass().getName(), getCatalogOptions(), query);
+    }
+
+    public List<String> getCatalogColumn(String query) throws SQLException {
+        return getCatalogCache().getColumn(getConnection(), getClass().getName(), getCatalogOptions(), query);
+    }
+
+    /**
+     * Returns the options that change the system catalogs of the test databases (e.g., the extensions that are created
+     * in each database), so that runs with different options do not share the results of their catalog queries.
+     *
+     * @return the options, or an empty string if no option changes the catalogs
+     */
+    protected String getCatalogOptions() {
+        return "";
+    }
+
+    private CatalogCache getCatalogCache() {
+        return CatalogCache.open(getOptions().getCatalogCacheFile());
+    }
 }
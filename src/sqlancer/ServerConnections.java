@@ -0,0 +1,178 @@
+package sqlancer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The connections to the DBMS server that a thread keeps open across the databases that it generates (see
+ * --reuse-connections), as opening a connection to a remote server, with its TLS handshake and authentication, can take
+ * longer than testing a short-lived database.
+ *
+ * An admin connection is used to drop and create the databases, and is never closed by the providers. A session
+ * connection is the connection on which the statements of a database are executed. When it is closed, it is kept open
+ * instead, and the next database of the thread reuses it once its session has been reset and switched to the new
+ * database, for the DBMSs that support both.
+ */
+public final class ServerConnections {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private static final ThreadLocal<ServerConnections> CONNECTIONS = ThreadLocal.withInitial(ServerConnections::new);
+
+    // by URL
+    private final Map<String, Connection> adminConnections = new ConcurrentHashMap<>();
+    private final Map<String, Connection> idleSessionConnections = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface ConnectionOpener {
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * Resets the session of a connection that is reused for another database, e.g., its session variables and
+     * temporary tables, so that the statements of the new database are executed as on a new connection.
+     */
+    @FunctionalInterface
+    public interface SessionReset {
+        void reset(Connection con) throws SQLException;
+    }
+
+    private ServerConnections() {
+    }
+
+    public static boolean isEnabled(GlobalState<?, ?, ?> globalState) {
+        return globalState.getOptions().reuseConnections();
+    }
+
+    /**
+     * Returns the admin connection of the current thread to the given URL, which is opened if it does not exist or is
+     * no longer valid. The caller must not close the connection.
+     *
+     * @param url
+     *            the URL, which identifies the connection
+     * @param opener
+     *            opens a new connection to the URL
+     *
+     * @return the connection
+     *
+     * @throws SQLException
+     *             if a new connection cannot be opened
+     */
+    public static Connection getAdminConnection(String url, ConnectionOpener opener) throws SQLException {
+        Map<String, Connection> connections = CONNECTIONS.get().adminConnections;
+        Connection con = connections.get(url);
+        if (con == null || !isValid(con)) {
+            closeQuietly(con);
+            con = opener.open();
+            connections.put(url, con);
+        }
+        return con;
+    }
+
+    /**
+     * Returns a session connection to the given URL, which is either the idle session connection of the current thread,
+     * whose session is reset, or a new connection. Closing the returned connection keeps it open for the next database
+     * of the thread.
+     *
+     * @param url
+     *            the URL, which identifies the connection
+     * @param opener
+     *            opens a new connection to the URL
+     * @param sessionReset
+     *            resets the session of the idle connection
+     *
+     * @return the connection
+     *
+     * @throws SQLException
+     *             if a new connection cannot be opened
+     */
+    public static Connection getSessionConnection(String url, ConnectionOpener opener, SessionReset sessionReset)
+            throws SQLException {
+        ServerConnections serverConnections = CONNECTIONS.get();
+        Connection con = serverConnections.idleSessionConnections.remove(url);
+        if (con != null && isValid(con)) {
+            try {
+                sessionReset.reset(con);
+            } catch (SQLException e) {
+                closeQuietly(con);
+                con = null;
+            }
+        } else {
+            closeQuietly(con);
+            con = null;
+        }
+        if (con == null) {
+            con = opener.open();
+        }
+        return serverConnections.keepOpenOnClose(url, con);
+    }
+
+    private Connection keepOpenOnClose(String url, Connection con) {
+        boolean[] closed = new boolean[1];
+        Object proxy = Proxy.newProxyInstance(ServerConnections.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (p, method, args) -> {
+                    switch (method.getName()) {
+                    case "close":
+                        if (!closed[0]) {
+                            closed[0] = true;
+                            Connection previous = idleSessionConnections.put(url, con);
+                            closeQuietly(previous);
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed[0] || con.isClosed();
+                    case "hashCode":
+                        return System.identityHashCode(p);
+                    case "equals":
+                        return p == args[0];
+                    default:
+                        if (closed[0]) {
+                            // the connection might already be used for the next database of the thread
+                            throw new SQLException("The connection has been closed");
+                        }
+                        try {
+                            return method.invoke(con, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+        return (Connection) proxy;
+    }
+
+    /**
+     * Closes the admin and idle session connections of the current thread, once it generates no more databases.
+     */
+    public static void closeAll() {
+        ServerConnections serverConnections = CONNECTIONS.get();
+        serverConnections.adminConnections.values().forEach(ServerConnections::closeQuietly);
+        serverConnections.adminConnections.clear();
+        serverConnections.idleSessionConnections.values().forEach(ServerConnections::closeQuietly);
+        serverConnections.idleSessionConnections.clear();
+        CONNECTIONS.remove();
+    }
+
+    private static boolean isValid(Connection con) {
+        try {
+            return con.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection con) {
+        if (con == null) {
+            return;
+        }
+        try {
+            con.close();
+        } catch (SQLException e) {
+            // the connection is discarded anyway
+        }
+    }
+
+}
@@ -62,6 +62,7 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
             nrRemaining[i]--;
             @SuppressWarnings("rawtypes")
             Query query = null;
+            boolean schemaUpdated = false;
             try {
                 boolean success;
                 int nrTries = 0;
@@ -70,11 +71,15 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
                     success = globalState.executeStatement(query);
                 } while (nextAction.canBeRetried() && !success
                         && nrTries++ < globalState.getOptions().getNrStatementRetryCount());
+                schemaUpdated = true;
             } catch (IgnoreMeException ignored) {
 
             }
             if (query != null && query.couldAffectSchema()) {
-                globalState.updateSchema();
+                if (!schemaUpdated) {
+                    // otherwise, the epilogue of executeStatement() has already updated the schema
+                    globalState.updateSchema();
+                }
                 queryConsumer.notify(query);
             }
             total--;
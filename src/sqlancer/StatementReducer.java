@@ -3,7 +3,17 @@ package sqlancer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import sqlancer.common.query.Query;
 
@@ -21,6 +31,13 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
 
     Instant timeOfReductionBegins;
 
+    // used if --reducer-threads > 1, see tryReductionInParallel()
+    private ExecutorService reducerExecutor;
+    private BlockingQueue<G> workerStates;
+
+    // the checkpoints of newGlobalState and of each worker state
+    private Map<G, ReplayCheckpoints<G, C>> replayers;
+
     public StatementReducer(DatabaseProvider<G, O, C> provider) {
         this.provider = provider;
     }
@@ -57,20 +74,56 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         currentReduceSteps = 0;
         currentReduceTime = 0;
         partitionNum = 2;
+        int nrInitialStatements = knownToReproduceBugStatements.size();
+        int nrThreads = state.getOptions().getNrReducerThreads();
+        int maxCheckpoints = ReplayCheckpoints.getMaxCheckpoints(state.getOptions(), provider);
+        replayers = new HashMap<>();
+        replayers.put(newGlobalState,
+                new ReplayCheckpoints<>(provider, newGlobalState.getDatabaseName(), maxCheckpoints));
+        if (nrThreads > 1) {
+            reducerExecutor = Executors.newFixedThreadPool(nrThreads);
+            workerStates = new ArrayBlockingQueue<>(nrThreads);
+            for (int i = 0; i < nrThreads; i++) {
+                G workerState = createWorkerState(provider, newGlobalState,
+                        newGlobalState.getDatabaseName() + "_reducer" + i);
+                replayers.put(workerState,
+                        new ReplayCheckpoints<>(provider, workerState.getDatabaseName(), maxCheckpoints));
+                workerStates.add(workerState);
+            }
+        }
 
-        while (knownToReproduceBugStatements.size() >= 2 && hasNotReachedLimit(currentReduceSteps, maxReduceSteps)
-                && hasNotReachedLimit(currentReduceTime, maxReduceTime)) {
-            observedChange = false;
+        try {
+            while (knownToReproduceBugStatements.size() >= 2 && hasNotReachedLimit(currentReduceSteps, maxReduceSteps)
+                    && hasNotReachedLimit(currentReduceTime, maxReduceTime)) {
+                observedChange = false;
 
-            knownToReproduceBugStatements = tryReduction(state, reproducer, newGlobalState,
-                    knownToReproduceBugStatements);
+                if (reducerExecutor == null) {
+                    knownToReproduceBugStatements = tryReduction(state, reproducer, newGlobalState,
+                            knownToReproduceBugStatements);
+                } else {
+                    knownToReproduceBugStatements = tryReductionInParallel(reproducer, newGlobalState,
+                            knownToReproduceBugStatements);
+                }
 
-            if (!observedChange) {
-                if (partitionNum == knownToReproduceBugStatements.size()) {
-                    break;
+                if (!observedChange) {
+                    if (partitionNum == knownToReproduceBugStatements.size()) {
+                        break;
+                    }
+                    // increase the search granularity
+                    partitionNum = Math.min(partitionNum * 2, knownToReproduceBugStatements.size());
                 }
-                // increase the search granularity
-                partitionNum = Math.min(partitionNum * 2, knownToReproduceBugStatements.size());
+            }
+        } finally {
+            if (reducerExecutor != null) {
+                reducerExecutor.shutdownNow();
+                // the workers might still be saving checkpoints, which are deleted below
+                reducerExecutor.awaitTermination(1, TimeUnit.MINUTES);
+                reducerExecutor = null;
+            }
+            ReplayCheckpoints.deleteCheckpoints(replayers.values());
+            if (workerStates != null) {
+                dropWorkerDatabases(provider, workerStates);
+                workerStates = null;
             }
         }
 
@@ -78,7 +131,120 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         // printQueries(knownToReproduceBugStatements);
         newGlobalState.getState().setStatements(new ArrayList<>(knownToReproduceBugStatements));
         newGlobalState.getLogger().logReduced(newGlobalState.getState());
+        newGlobalState.getLogger()
+                .logReducer(String.format(
+                        "reduced %d statements to %d statements in %d steps and %d ms using %d thread(s)%n",
+                        nrInitialStatements, knownToReproduceBugStatements.size(), currentReduceSteps,
+                        Duration.between(timeOfReductionBegins, Instant.now()).toMillis(), Math.max(nrThreads, 1)));
+        newGlobalState.getLogger().logReducer(ReplayCheckpoints.getStatistics(replayers.values()));
+
+    }
 
+    // creates a state with its own database and logger, on which a reducer thread tests its candidates
+    static <G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection> G
+            createWorkerState(DatabaseProvider<G, O, C> provider, G newGlobalState, String databaseName) {
+        G workerState;
+        try {
+            workerState = provider.getGlobalStateClass().getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        workerState.setDatabaseName(databaseName);
+        workerState.setState(provider.getStateToReproduce(databaseName));
+        workerState.setMainOptions(newGlobalState.getOptions());
+        workerState.setDbmsSpecificOptions(newGlobalState.getDbmsSpecificOptions());
+        if (newGlobalState.getRandomly() != null) {
+            workerState.setRandomly(Randomly.createDetached(newGlobalState.getRandomly().getSeed()));
+        }
+        workerState.setStateLogger(new Main.StateLogger(databaseName, provider, newGlobalState.getOptions()));
+        workerState.setManager(new Main.QueryManager<>(workerState, provider.getDBMSName()));
+        return workerState;
+    }
+
+    // drops the databases of the worker states, once the reduction has ended
+    static <G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection> void
+            dropWorkerDatabases(DatabaseProvider<G, O, C> provider, Iterable<G> workerStates) {
+        for (G workerState : workerStates) {
+            try {
+                provider.dropDatabase(workerState);
+            } catch (Exception e) {
+                // the database is left behind
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // like tryReduction(), but tests the candidates of the current round concurrently, each on its own database; among
+    // the candidates that still trigger the bug, the first one (in the order of the sequential reduction) is selected,
+    // so that the result does not depend on the thread scheduling
+    private List<Query<C>> tryReductionInParallel(Reproducer<G> reproducer, G newGlobalState, List<Query<C>> statements)
+            throws Exception {
+        int subLength = statements.size() / partitionNum;
+        AtomicInteger firstSuccessfulCandidate = new AtomicInteger(Integer.MAX_VALUE);
+        List<Future<List<Query<C>>>> results = new ArrayList<>();
+        for (int start = 0; start < statements.size(); start += subLength) {
+            int candidateStart = start;
+            int candidateIndex = results.size();
+            results.add(reducerExecutor.submit(() -> {
+                if (candidateIndex > firstSuccessfulCandidate.get() || !countReductionStep()) {
+                    return null;
+                }
+                // remove [start, start+subLength) from the statements
+                List<Query<C>> candidateStatements = new ArrayList<>(statements);
+                candidateStatements.subList(candidateStart, Math.min(candidateStart + subLength, statements.size()))
+                        .clear();
+                if (bugStillTriggers(reproducer, candidateStatements, candidateStart)) {
+                    firstSuccessfulCandidate.accumulateAndGet(candidateIndex, Math::min);
+                    return candidateStatements;
+                }
+                return null;
+            }));
+        }
+        for (Future<List<Query<C>>> result : results) {
+            List<Query<C>> candidateStatements;
+            try {
+                candidateStatements = result.get();
+            } catch (ExecutionException e) {
+                throw new AssertionError(e);
+            }
+            if (candidateStatements != null) {
+                results.forEach(f -> f.cancel(false));
+                observedChange = true;
+                partitionNum = Math.max(partitionNum - 1, 2);
+                newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
+                newGlobalState.getLogger().logReduced(newGlobalState.getState());
+                return candidateStatements;
+            }
+        }
+        return statements;
+    }
+
+    private synchronized boolean countReductionStep() {
+        currentReduceTime = Duration.between(timeOfReductionBegins, Instant.now()).getSeconds();
+        if (!hasNotReachedLimit(currentReduceSteps, maxReduceSteps)
+                || !hasNotReachedLimit(currentReduceTime, maxReduceTime)) {
+            return false;
+        }
+        currentReduceSteps++;
+        return true;
+    }
+
+    private boolean bugStillTriggers(Reproducer<G> reproducer, List<Query<C>> candidateStatements,
+            int checkpointPosition) throws InterruptedException {
+        G workerState = workerStates.take();
+        workerState.getState().setStatements(new ArrayList<>(candidateStatements));
+        try (C con = replayers.get(workerState).replay(workerState, candidateStatements, checkpointPosition)) {
+            try {
+                return reproducer.bugStillTriggers(workerState);
+            } catch (Throwable ignoredException) {
+                return false;
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            workerStates.add(workerState);
+        }
     }
 
     private List<Query<C>> tryReduction(G state, // NOPMD
@@ -91,20 +257,12 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         while (start < statements.size()) {
             // newStatements = candidate[:start] + candidate[start+subLength:]
             // in other word, remove [start, start+subLength) from candidates
-            try (C con2 = provider.createDatabase(newGlobalState)) {
-                newGlobalState.setConnection(con2);
-                List<Query<C>> candidateStatements = new ArrayList<>(statements);
-                int endPoint = Math.min(start + subLength, candidateStatements.size());
-                candidateStatements.subList(start, endPoint).clear();
-                newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
-
-                for (Query<C> s : candidateStatements) {
-                    try {
-                        s.execute(newGlobalState);
-                    } catch (Throwable ignoredException) {
-                        // ignore
-                    }
-                }
+            List<Query<C>> candidateStatements = new ArrayList<>(statements);
+            int endPoint = Math.min(start + subLength, candidateStatements.size());
+            candidateStatements.subList(start, endPoint).clear();
+            newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
+            // the candidates that are tested next share the first start statements with this one
+            try (C con2 = replayers.get(newGlobalState).replay(newGlobalState, candidateStatements, start)) {
                 try {
                     if (reproducer.bugStillTriggers(newGlobalState)) {
                         observedChange = true;
@@ -63,7 +63,7 @@ public enum CitusOracleFactory implements OracleFactory<PostgresGlobalState> {
             oracles.add(WHERE.create(citusGlobalState));
             oracles.add(HAVING.create(citusGlobalState));
             oracles.add(new CitusTLPAggregateOracle(citusGlobalState));
-            return new CompositeTestOracle<PostgresGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<PostgresGlobalState>(oracles);
         }
     };
 
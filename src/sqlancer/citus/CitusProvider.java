@@ -328,7 +328,7 @@ public class CitusProvider extends PostgresProvider {
                         throw new AssertionError(e1);
                     }
                 }).collect(Collectors.toList());
-        return new CompositeTestOracle<PostgresGlobalState>(oracles, globalState);
+        return new CompositeTestOracle<PostgresGlobalState>(oracles);
     }
 
     private List<CitusWorkerNode> readCitusWorkerNodes(PostgresGlobalState globalState, SQLConnection con)
@@ -407,6 +407,12 @@ public class CitusProvider extends PostgresProvider {
         }
     }
 
+    // the test database is also created on each worker node, and the citus extension is added to it
+    @Override
+    protected boolean supportsDatabasePool() {
+        return false;
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public SQLConnection createDatabase(PostgresGlobalState globalState) throws SQLException {
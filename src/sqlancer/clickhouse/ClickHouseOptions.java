@@ -23,6 +23,14 @@ public class ClickHouseOptions implements DBMSSpecificOptions<ClickHouseOracleFa
     @Parameter(names = { "--analyzer" }, description = "Enable analyzer in ClickHouse", arity = 1)
     public boolean enableAnalyzer = true;
 
+    @Parameter(names = {
+            "--database-ready-timeout" }, description = "The maximum time in milliseconds to wait until a dropped or created database is visible in system.databases")
+    public long databaseReadyTimeout = 10000;
+
+    @Parameter(names = {
+            "--reuse-databases" }, description = "Drop the tables of an existing database instead of dropping and creating the database again", arity = 1)
+    public boolean reuseDatabases;
+
     @Override
     public List<ClickHouseOracleFactory> getTestOracleFactory() {
         return oracle;
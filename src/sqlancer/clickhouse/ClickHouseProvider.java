@@ -2,8 +2,11 @@ package sqlancer.clickhouse;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import com.google.auto.service.AutoService;
@@ -123,25 +126,30 @@ public class ClickHouseProvider extends SQLProviderAdapter<ClickHouseGlobalState
         String databaseName = globalState.getDatabaseName();
         Connection con = DriverManager.getConnection(url, globalState.getOptions().getUserName(),
                 globalState.getOptions().getPassword());
-        String dropDatabaseCommand = "DROP DATABASE IF EXISTS " + databaseName;
-        globalState.getState().logStatement(dropDatabaseCommand);
-        String createDatabaseCommand = "CREATE DATABASE IF NOT EXISTS " + databaseName;
-        globalState.getState().logStatement(createDatabaseCommand);
+        long readyTimeout = clickHouseOptions.databaseReadyTimeout;
+        try {
+            if (!clickHouseOptions.reuseDatabases) {
+                String dropDatabaseCommand = "DROP DATABASE IF EXISTS " + databaseName + " SYNC";
+                globalState.getState().logStatement(dropDatabaseCommand);
+                try (Statement s = con.createStatement()) {
+                    s.execute(dropDatabaseCommand);
+                }
+                waitForDatabase(con, databaseName, false, readyTimeout);
+            }
+            String createDatabaseCommand = "CREATE DATABASE IF NOT EXISTS " + databaseName;
+            globalState.getState().logStatement(createDatabaseCommand);
+            try (Statement s = con.createStatement()) {
+                s.execute(createDatabaseCommand);
+            }
+            waitForDatabase(con, databaseName, true, readyTimeout);
+            if (clickHouseOptions.reuseDatabases) {
+                dropTables(globalState, con, databaseName);
+            }
+        } finally {
+            con.close();
+        }
         String useDatabaseCommand = "USE " + databaseName; // Noop. To reproduce easier.
         globalState.getState().logStatement(useDatabaseCommand);
-        try (Statement s = con.createStatement()) {
-            s.execute(dropDatabaseCommand);
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        try (Statement s = con.createStatement()) {
-            s.execute(createDatabaseCommand);
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        con.close();
         con = DriverManager.getConnection(
                 String.format("jdbc:clickhouse://%s:%d/%s?socket_timeout=300000%s", host, port, databaseName,
                         clickHouseOptions.enableAnalyzer ? "&allow_experimental_analyzer=1" : ""),
@@ -149,6 +157,58 @@ public class ClickHouseProvider extends SQLProviderAdapter<ClickHouseGlobalState
         return new SQLConnection(con);
     }
 
+    /*
+     * Empties the existing database of the thread by dropping its tables and views, which avoids dropping and creating
+     * the database for each generated database.
+     */
+    private static void dropTables(ClickHouseGlobalState globalState, Connection con, String databaseName)
+            throws SQLException {
+        List<String> tableNames = new ArrayList<>();
+        try (Statement s = con.createStatement(); ResultSet rs = s.executeQuery(
+                "SELECT name FROM system.tables WHERE database = '" + databaseName + "' ORDER BY name")) {
+            while (rs.next()) {
+                tableNames.add(rs.getString(1));
+            }
+        }
+        for (String tableName : tableNames) {
+            String dropTableCommand = "DROP TABLE IF EXISTS " + databaseName + "." + tableName + " SYNC";
+            globalState.getState().logStatement(dropTableCommand);
+            try (Statement s = con.createStatement()) {
+                s.execute(dropTableCommand);
+            }
+        }
+    }
+
+    /*
+     * Polls system.databases with an exponential backoff until the database exists or no longer exists, as the server
+     * might complete DROP DATABASE and CREATE DATABASE asynchronously.
+     */
+    private static void waitForDatabase(Connection con, String databaseName, boolean exists, long timeoutMillis)
+            throws SQLException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long backoffMillis = 10;
+        while (true) {
+            try (Statement s = con.createStatement(); ResultSet rs = s.executeQuery(
+                    "SELECT count() FROM system.databases WHERE name = '" + databaseName + "'")) {
+                if (rs.next() && (rs.getLong(1) > 0) == exists) {
+                    return;
+                }
+            }
+            long remainingMillis = deadline - System.currentTimeMillis();
+            if (remainingMillis <= 0) {
+                throw new SQLException(String.format("database %s was not %s within %d ms", databaseName,
+                        exists ? "created" : "dropped", timeoutMillis));
+            }
+            try {
+                Thread.sleep(Math.min(backoffMillis, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException(e);
+            }
+            backoffMillis = Math.min(backoffMillis * 2, 1000);
+        }
+    }
+
     @Override
     public String getDBMSName() {
         return "clickhouse";
@@ -1,6 +1,5 @@
 package sqlancer.cnosdb;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -21,14 +20,7 @@ public final class CnosDBComparatorHelper {
     public static List<String> getResultSetFirstColumnAsString(String queryString, ExpectedErrors errors,
             CnosDBGlobalState state) throws Exception {
         if (state.getOptions().logEachSelect()) {
-            // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
-            try {
-                state.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
         }
         CnosDBSelectQuery q = new CnosDBSelectQuery(queryString, errors);
         List<String> result = new ArrayList<>();
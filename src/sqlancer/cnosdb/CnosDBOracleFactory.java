@@ -32,7 +32,7 @@ public enum CnosDBOracleFactory implements OracleFactory<CnosDBGlobalState> {
             oracles.add(new CnosDBTLPWhereOracle(globalState));
             oracles.add(new CnosDBTLPHavingOracle(globalState));
             oracles.add(new CnosDBTLPAggregateOracle(globalState));
-            return new CompositeTestOracle<>(oracles, globalState);
+            return new CompositeTestOracle<>(oracles);
         }
     }
 
@@ -1,6 +1,5 @@
 package sqlancer.cnosdb.oracle.tlp;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -99,14 +98,7 @@ public class CnosDBTLPAggregateOracle extends CnosDBTLPBase implements TestOracl
     private String getAggregateResult(String queryString) {
         // log TLP Aggregate SELECT queries on the current log file
         if (state.getOptions().logEachSelect()) {
-            // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
-            try {
-                state.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
         }
         String resultString = null;
 
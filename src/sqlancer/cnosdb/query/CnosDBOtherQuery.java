@@ -2,6 +2,8 @@ package sqlancer.cnosdb.query;
 
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
+import sqlancer.MetricsRegistry;
+import sqlancer.MetricsRegistry.StatementKind;
 import sqlancer.cnosdb.client.CnosDBConnection;
 import sqlancer.common.query.ExpectedErrors;
 
@@ -18,9 +20,12 @@ public class CnosDBOtherQuery extends CnosDBQueryAdapter {
     @Override
     public <G extends GlobalState<?, ?, CnosDBConnection>> boolean execute(G globalState, String... fills)
             throws Exception {
+        long start = System.nanoTime();
         try {
             globalState.getConnection().getClient().execute(query);
+            MetricsRegistry.recordStatement(globalState, this, StatementKind.DDL, start, true);
         } catch (Exception e) {
+            MetricsRegistry.recordStatement(globalState, this, StatementKind.DDL, start, false);
             if (this.errors.errorIsExpected(e.getMessage())) {
                 throw new IgnoreMeException();
             }
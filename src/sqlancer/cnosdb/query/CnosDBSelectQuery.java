@@ -1,6 +1,8 @@
 package sqlancer.cnosdb.query;
 
 import sqlancer.GlobalState;
+import sqlancer.MetricsRegistry;
+import sqlancer.MetricsRegistry.StatementKind;
 import sqlancer.cnosdb.client.CnosDBConnection;
 import sqlancer.cnosdb.client.CnosDBResultSet;
 import sqlancer.common.query.ExpectedErrors;
@@ -21,14 +23,18 @@ public class CnosDBSelectQuery extends CnosDBQueryAdapter {
     @Override
     public <G extends GlobalState<?, ?, CnosDBConnection>> boolean execute(G globalState, String... fills)
             throws Exception {
+        long start = System.nanoTime();
         globalState.getConnection().getClient().execute(query);
+        MetricsRegistry.recordStatement(globalState, this, StatementKind.QUERY, start, true);
         return false;
     }
 
     @Override
     public <G extends GlobalState<?, ?, CnosDBConnection>> SQLancerResultSet executeAndGet(G globalState,
             String... fills) throws Exception {
+        long start = System.nanoTime();
         resultSet = globalState.getConnection().getClient().executeQuery(query);
+        MetricsRegistry.recordStatement(globalState, this, StatementKind.QUERY, start, true);
         return null;
     }
 
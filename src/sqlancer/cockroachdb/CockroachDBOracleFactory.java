@@ -93,7 +93,7 @@ public enum CockroachDBOracleFactory implements OracleFactory<CockroachDBProvide
             oracles.add(GROUP_BY.create(globalState));
             oracles.add(EXTENDED_WHERE.create(globalState));
             oracles.add(DISTINCT.create(globalState));
-            return new CompositeTestOracle<CockroachDBProvider.CockroachDBGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<CockroachDBProvider.CockroachDBGlobalState>(oracles);
         }
     },
     CERT {
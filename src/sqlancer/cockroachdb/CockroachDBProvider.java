@@ -1,6 +1,5 @@
 package sqlancer.cockroachdb;
 
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -11,6 +10,7 @@ import java.util.stream.Collectors;
 
 import com.google.auto.service.AutoService;
 
+import sqlancer.DatabasePool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
@@ -19,6 +19,7 @@ import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
 import sqlancer.SQLProviderAdapter;
+import sqlancer.ServerConnections;
 import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBTable;
 import sqlancer.cockroachdb.gen.CockroachDBCommentOnGenerator;
@@ -272,25 +273,63 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
         if (port == MainOptions.NO_SET_PORT) {
             port = CockroachDBOptions.DEFAULT_PORT;
         }
-        String databaseName = globalState.getDatabaseName();
         String url = String.format("jdbc:postgresql://%s:%d/test", host, port);
-        Connection con = DriverManager.getConnection(url, globalState.getOptions().getUserName(),
-                globalState.getOptions().getPassword());
+        String username = globalState.getOptions().getUserName();
+        String password = globalState.getOptions().getPassword();
+        boolean reuseConnections = ServerConnections.isEnabled(globalState);
         globalState.getState().logStatement("USE test");
-        globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName + " CASCADE");
-        String createDatabaseCommand = "CREATE DATABASE " + databaseName;
-        globalState.getState().logStatement(createDatabaseCommand);
+        Runnable dropPooledDatabase = null;
+        if (DatabasePool.isEnabled(globalState)) {
+            dropPooledDatabase = DatabasePool.take(globalState,
+                    () -> DriverManager.getConnection(url, username, password),
+                    name -> "DROP DATABASE IF EXISTS " + name + " CASCADE", name -> "CREATE DATABASE " + name);
+        } else {
+            String databaseName = globalState.getDatabaseName();
+            Connection con;
+            if (reuseConnections) {
+                con = ServerConnections.getAdminConnection(url,
+                        () -> DriverManager.getConnection(url, username, password));
+            } else {
+                con = DriverManager.getConnection(url, username, password);
+            }
+            globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName + " CASCADE");
+            String createDatabaseCommand = "CREATE DATABASE " + databaseName;
+            globalState.getState().logStatement(createDatabaseCommand);
+            try (Statement s = con.createStatement()) {
+                s.execute("DROP DATABASE IF EXISTS " + databaseName);
+            }
+            try (Statement s = con.createStatement()) {
+                s.execute(createDatabaseCommand);
+            }
+            if (!reuseConnections) {
+                con.close();
+            }
+        }
+        String databaseName = globalState.getDatabaseName();
         globalState.getState().logStatement("USE " + databaseName);
-        try (Statement s = con.createStatement()) {
-            s.execute("DROP DATABASE IF EXISTS " + databaseName);
+        Connection con;
+        if (reuseConnections) {
+            con = ServerConnections.getSessionConnection(url,
+                    () -> DriverManager.getConnection(url, username, password), CockroachDBProvider::resetSession);
+            try (Statement s = con.createStatement()) {
+                s.execute("SET DATABASE = " + databaseName);
+            } catch (SQLException | RuntimeException e) {
+                // the connection is kept open for the next database
+                con.close();
+                throw e;
+            }
+        } else {
+            con = DriverManager.getConnection(String.format("jdbc:postgresql://%s:%d/%s", host, port, databaseName),
+                    username, password);
         }
+        return new SQLConnection(con, dropPooledDatabase);
+    }
+
+    // resets the session variables and the current database of a reused connection to those of a new connection
+    private static void resetSession(Connection con) throws SQLException {
         try (Statement s = con.createStatement()) {
-            s.execute(createDatabaseCommand);
+            s.execute("DISCARD ALL");
         }
-        con.close();
-        con = DriverManager.getConnection(String.format("jdbc:postgresql://%s:%d/%s", host, port, databaseName),
-                globalState.getOptions().getUserName(), globalState.getOptions().getPassword());
-        return new SQLConnection(con);
     }
 
     @Override
@@ -304,11 +343,6 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
         String explainQuery = "EXPLAIN (OPT) " + selectStr;
         if (globalState.getOptions().logEachSelect()) {
             globalState.getLogger().writeCurrent(explainQuery);
-            try {
-                globalState.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
         SQLQueryAdapter q = new SQLQueryAdapter(explainQuery);
         boolean afterProjection = false; // Remove the concrete expression after each Projection operator
@@ -354,7 +388,7 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
     @Override
     public boolean addRowsToAllTables(CockroachDBGlobalState globalState) throws Exception {
         List<CockroachDBTable> tablesNoRow = globalState.getSchema().getDatabaseTables().stream()
-                .filter(t -> t.getNrRows(globalState) == 0).collect(Collectors.toList());
+                .filter(t -> t.isEmpty(globalState)).collect(Collectors.toList());
         for (CockroachDBTable table : tablesNoRow) {
             SQLQueryAdapter queryAddRows = CockroachDBInsertGenerator.insert(globalState, table);
             globalState.executeStatement(queryAddRows);
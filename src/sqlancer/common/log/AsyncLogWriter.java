@@ -0,0 +1,141 @@
+package sqlancer.common.log;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A writer that buffers the written text in memory and hands it to the underlying writer in batches. The buffer is
+ * drained by a background thread after the given flush interval, by the writing thread itself when the buffer is full,
+ * and synchronously by {@link #flush()} and {@link #close()}. This way, logging every statement does not result in one
+ * write system call per statement.
+ */
+public class AsyncLogWriter extends Writer {
+
+    private static final int MAX_BUFFERED_CHARS = 1 << 16;
+
+    private static final ScheduledExecutorService DRAINER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sqlancer-log-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // writers that still hold buffered text, which is written when the JVM exits (e.g., after --timeout-seconds)
+    private static final Set<AsyncLogWriter> OPEN_WRITERS = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (AsyncLogWriter writer : OPEN_WRITERS) {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }));
+    }
+
+    private final Writer out;
+    private final ScheduledFuture<?> drainTask;
+    private StringBuilder buffer = new StringBuilder();
+    private boolean closed;
+
+    public AsyncLogWriter(Writer out, long flushIntervalMillis) {
+        if (flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException(String.valueOf(flushIntervalMillis));
+        }
+        this.out = out;
+        OPEN_WRITERS.add(this);
+        this.drainTask = DRAINER.scheduleWithFixedDelay(() -> {
+            try {
+                drain();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        boolean isFull;
+        synchronized (this) {
+            ensureOpen();
+            buffer.append(cbuf, off, len);
+            isFull = buffer.length() >= MAX_BUFFERED_CHARS;
+        }
+        if (isFull) {
+            drain();
+        }
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        boolean isFull;
+        synchronized (this) {
+            ensureOpen();
+            buffer.append(str);
+            isFull = buffer.length() >= MAX_BUFFERED_CHARS;
+        }
+        if (isFull) {
+            drain();
+        }
+    }
+
+    /**
+     * Synchronously writes all buffered text to the underlying writer and flushes it.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (out) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            drainTask.cancel(false);
+            OPEN_WRITERS.remove(this);
+            writeBuffered();
+            out.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        // the lock on out orders the batches of concurrent drains; the lock on this is only held to swap the buffer
+        synchronized (out) {
+            if (writeBuffered()) {
+                out.flush();
+            }
+        }
+    }
+
+    private boolean writeBuffered() throws IOException {
+        StringBuilder batch;
+        synchronized (this) {
+            if (buffer.length() == 0) {
+                return false;
+            }
+            batch = buffer;
+            buffer = new StringBuilder();
+        }
+        out.write(batch.toString());
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("the log writer is closed");
+        }
+    }
+
+}
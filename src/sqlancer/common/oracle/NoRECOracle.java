@@ -1,12 +1,17 @@
 package sqlancer.common.oracle;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
 import sqlancer.IgnoreMeException;
+import sqlancer.OracleConnectionPool;
+import sqlancer.OracleConnectionPool.ConnectionTask;
 import sqlancer.Randomly;
 import sqlancer.Reproducer;
+import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
 import sqlancer.common.ast.newast.Expression;
 import sqlancer.common.ast.newast.Join;
@@ -82,9 +87,14 @@ public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>,
             state.getLogger().writeCurrent(unoptimizedQueryString);
         }
 
-        int optimizedCount = shouldUseAggregate ? extractCounts(optimizedQueryString, errors, state)
-                : countRows(optimizedQueryString, errors, state);
-        int unoptimizedCount = extractCounts(unoptimizedQueryString, errors, state);
+        // executed concurrently with --oracle-connections
+        List<ConnectionTask<SQLConnection, Integer>> countQueries = new ArrayList<>();
+        countQueries.add(con -> shouldUseAggregate ? extractCounts(optimizedQueryString, errors, state, con)
+                : countRows(optimizedQueryString, errors, state, con));
+        countQueries.add(con -> extractCounts(unoptimizedQueryString, errors, state, con));
+        List<Integer> counts = OracleConnectionPool.execute(state, countQueries);
+        int optimizedCount = counts.get(0);
+        int unoptimizedCount = counts.get(1);
 
         if (optimizedCount == -1 || unoptimizedCount == -1) {
             throw new IgnoreMeException();
@@ -121,10 +131,15 @@ public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>,
     }
 
     private int countRows(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state) {
+        return countRows(queryString, errors, state, state.getConnection());
+    }
+
+    private int countRows(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state,
+            SQLConnection connection) {
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors, false, false);
 
         int count = 0;
-        try (SQLancerResultSet rs = q.executeAndGet(state)) {
+        try (SQLancerResultSet rs = q.executeAndGet(state, connection)) {
             if (rs == null) {
                 return -1;
             } else {
@@ -146,9 +161,14 @@ public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>,
     }
 
     private int extractCounts(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state) {
+        return extractCounts(queryString, errors, state, state.getConnection());
+    }
+
+    private int extractCounts(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state,
+            SQLConnection connection) {
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors, false, false);
         int count = 0;
-        try (SQLancerResultSet rs = q.executeAndGet(state)) {
+        try (SQLancerResultSet rs = q.executeAndGet(state, connection)) {
             if (rs == null) {
                 return -1;
             } else {
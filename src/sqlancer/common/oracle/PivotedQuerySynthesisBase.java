@@ -49,8 +49,7 @@ public abstract class PivotedQuerySynthesisBase<S extends GlobalState<?, ?, C>,
         boolean pivotRowIsContained = containsRows(isContainedQuery);
         if (!pivotRowIsContained) {
             reportMissingPivotRow(pivotRowQuery);
-        }
-        else{
+        } else {
             System.out.println(isContainedQuery.getQueryString());
         }
     }
@@ -7,6 +7,7 @@ import java.util.List;
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
 import sqlancer.Reproducer;
+import sqlancer.ResultSetDigest;
 import sqlancer.SQLGlobalState;
 import sqlancer.common.ast.newast.Expression;
 import sqlancer.common.ast.newast.Join;
@@ -35,15 +36,19 @@ public class TLPWhereOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C
         final String thirdQueryString;
         final String originalQueryString;
         final List<String> resultSet;
+        // instead of the result set with --streaming-result-comparison
+        final ResultSetDigest resultSetDigest;
         final boolean orderBy;
 
         TLPWhereReproducer(String firstQueryString, String secondQueryString, String thirdQueryString,
-                String originalQueryString, List<String> resultSet, boolean orderBy) {
+                String originalQueryString, List<String> resultSet, ResultSetDigest resultSetDigest,
+                boolean orderBy) {
             this.firstQueryString = firstQueryString;
             this.secondQueryString = secondQueryString;
             this.thirdQueryString = thirdQueryString;
             this.originalQueryString = originalQueryString;
             this.resultSet = resultSet;
+            this.resultSetDigest = resultSetDigest;
             this.orderBy = orderBy;
         }
 
@@ -51,10 +56,18 @@ public class TLPWhereOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C
         public boolean bugStillTriggers(G globalState) {
             try {
                 List<String> combinedString1 = new ArrayList<>();
-                List<String> secondResultSet1 = ComparatorHelper.getCombinedResultSet(firstQueryString,
-                        secondQueryString, thirdQueryString, combinedString1, !orderBy, globalState, errors);
-                ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet1, originalQueryString,
-                        combinedString1, globalState);
+                if (resultSetDigest == null) {
+                    List<String> secondResultSet1 = ComparatorHelper.getCombinedResultSet(firstQueryString,
+                            secondQueryString, thirdQueryString, combinedString1, !orderBy, globalState, errors);
+                    ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet1, originalQueryString,
+                            combinedString1, globalState);
+                } else {
+                    // if the digests differ, the original query is executed again on the current database
+                    ResultSetDigest secondDigest1 = ComparatorHelper.getCombinedResultSetDigest(firstQueryString,
+                            secondQueryString, thirdQueryString, combinedString1, !orderBy, globalState, errors);
+                    ComparatorHelper.assumeResultSetDigestsAreEqual(resultSetDigest, secondDigest1,
+                            originalQueryString, combinedString1, globalState, errors);
+                }
             } catch (AssertionError triggeredError) {
                 return true;
             } catch (SQLException ignored) {
@@ -89,8 +102,6 @@ public class TLPWhereOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C
 
         String originalQueryString = select.asString();
         generatedQueryString = originalQueryString;
-        List<String> firstResultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors,
-                state);
 
         boolean orderBy = Randomly.getBooleanWithSmallProbability();
         if (orderBy) {
@@ -106,15 +117,28 @@ public class TLPWhereOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C
         select.setWhereClause(predicates.isNullPredicate);
         String thirdQueryString = select.asString();
 
+        // the original query and the partitioning queries are executed together, concurrently with
+        // --oracle-connections
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !orderBy, state, errors);
-
-        ComparatorHelper.assumeResultSetsAreEqual(firstResultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> firstResultSet = null;
+        ResultSetDigest firstDigest = null;
+        if (state.getOptions().useStreamingResultComparison()) {
+            firstDigest = new ResultSetDigest();
+            ResultSetDigest secondDigest = ComparatorHelper.getCombinedResultSetDigest(originalQueryString,
+                    firstDigest, firstQueryString, secondQueryString, thirdQueryString, combinedString, !orderBy,
+                    state, errors);
+            ComparatorHelper.assumeResultSetDigestsAreEqual(firstDigest, secondDigest, originalQueryString,
+                    combinedString, state, errors);
+        } else {
+            firstResultSet = new ArrayList<>();
+            List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(originalQueryString, firstResultSet,
+                    firstQueryString, secondQueryString, thirdQueryString, combinedString, !orderBy, state, errors);
+            ComparatorHelper.assumeResultSetsAreEqual(firstResultSet, secondResultSet, originalQueryString,
+                    combinedString, state);
+        }
 
         reproducer = new TLPWhereReproducer(firstQueryString, secondQueryString, thirdQueryString, originalQueryString,
-                firstResultSet, orderBy);
+                firstResultSet, firstDigest, orderBy);
     }
 
     @Override
@@ -15,6 +15,8 @@ public class ExpectedErrors {
 
     private final Set<String> errors;
     private final Set<Pattern> regexes;
+    // created when the first error is checked, and reset when further errors are added
+    private ExpectedErrorsMatcher matcher;
 
     public ExpectedErrors() {
         this.errors = new HashSet<>();
@@ -31,6 +33,7 @@ public class ExpectedErrors {
             throw new IllegalArgumentException();
         }
         errors.add(error);
+        matcher = null;
         return this;
     }
 
@@ -39,16 +42,19 @@ public class ExpectedErrors {
             throw new IllegalArgumentException();
         }
         regexes.add(errorPattern);
+        matcher = null;
         return this;
     }
 
     public ExpectedErrors addRegexString(String errorPattern) {
         regexes.add(Pattern.compile(errorPattern));
+        matcher = null;
         return this;
     }
 
     public ExpectedErrors addAll(Collection<String> list) {
         errors.addAll(list);
+        matcher = null;
         return this;
     }
 
@@ -57,6 +63,7 @@ public class ExpectedErrors {
             throw new IllegalArgumentException();
         }
         regexes.addAll(list);
+        matcher = null;
         return this;
     }
 
@@ -64,6 +71,7 @@ public class ExpectedErrors {
         for (String error : list) {
             regexes.add(Pattern.compile(error));
         }
+        matcher = null;
         return this;
     }
 
@@ -88,17 +96,10 @@ public class ExpectedErrors {
         if (error == null) {
             throw new IllegalArgumentException();
         }
-        for (String s : this.errors) {
-            if (error.contains(s)) {
-                return true;
-            }
-        }
-        for (Pattern p : this.regexes) {
-            if (p.matcher(error).find()) {
-                return true;
-            }
+        if (matcher == null) {
+            matcher = ExpectedErrorsMatcher.get(errors, regexes);
         }
-        return false;
+        return matcher.matches(error);
     }
 
     public static class ExpectedErrorsBuilder {
@@ -0,0 +1,249 @@
+package sqlancer.common.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * An immutable matcher for a set of expected errors. The substrings are searched for in a single pass over the error
+ * message by an Aho-Corasick automaton, and the regexes are combined into a single alternation where possible. As the
+ * providers typically add the same errors to each query, the matchers are shared across threads by
+ * {@link #get(Set, Set)}.
+ */
+public final class ExpectedErrorsMatcher {
+
+    // the number of distinct error sets for which matchers are kept; the least recently used matcher is evicted
+    private static final int MAX_CACHED_MATCHERS = 1024;
+    private static final Map<CacheKey, ExpectedErrorsMatcher> CACHE = Collections
+            .synchronizedMap(new LinkedHashMap<CacheKey, ExpectedErrorsMatcher>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, ExpectedErrorsMatcher> eldest) {
+                    return size() > MAX_CACHED_MATCHERS;
+                }
+            });
+
+    // regexes that would change their meaning when they are nested into an alternation (back references and quotes)
+    private static final Pattern NOT_COMBINABLE = Pattern.compile("\\\\(\\d|k<|Q)");
+
+    private final boolean matchesAll;
+
+    // the Aho-Corasick automaton; node 0 is the root
+    private final char[][] edgeLabels;
+    private final int[][] edgeTargets;
+    private final int[] failureLinks;
+    private final boolean[] accepting;
+
+    private final Pattern combinedRegex;
+    private final Pattern[] separateRegexes;
+
+    private static final class CacheKey {
+
+        private final Set<String> substrings;
+        private final Set<String> regexes;
+
+        CacheKey(Set<String> substrings, Set<String> regexes) {
+            this.substrings = substrings;
+            this.regexes = regexes;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return substrings.equals(other.substrings) && regexes.equals(other.regexes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * substrings.hashCode() + regexes.hashCode();
+        }
+
+    }
+
+    private ExpectedErrorsMatcher(Collection<String> substrings, Collection<Pattern> regexes) {
+        this.matchesAll = substrings.contains("");
+
+        // build the trie, with the edges of each node sorted by their label
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        List<Boolean> isEnd = new ArrayList<>();
+        isEnd.add(false);
+        for (String s : substrings) {
+            int node = 0;
+            for (int i = 0; i < s.length(); i++) {
+                Integer next = trie.get(node).get(s.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    isEnd.add(false);
+                    trie.get(node).put(s.charAt(i), next);
+                }
+                node = next;
+            }
+            isEnd.set(node, true);
+        }
+        int nrNodes = trie.size();
+        edgeLabels = new char[nrNodes][];
+        edgeTargets = new int[nrNodes][];
+        failureLinks = new int[nrNodes];
+        accepting = new boolean[nrNodes];
+        for (int node = 0; node < nrNodes; node++) {
+            Map<Character, Integer> edges = trie.get(node);
+            edgeLabels[node] = new char[edges.size()];
+            edgeTargets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeLabels[node][i] = edge.getKey();
+                edgeTargets[node][i] = edge.getValue();
+                i++;
+            }
+            accepting[node] = isEnd.get(node);
+        }
+
+        // compute the failure links in breadth-first order, so that the links of shorter prefixes are known
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            for (int i = 0; i < edgeLabels[node].length; i++) {
+                char c = edgeLabels[node][i];
+                int child = edgeTargets[node][i];
+                int fallback = failureLinks[node];
+                while (fallback != 0 && getTarget(fallback, c) == -1) {
+                    fallback = failureLinks[fallback];
+                }
+                int target = getTarget(fallback, c);
+                failureLinks[child] = target == -1 ? 0 : target;
+                // a node accepts if any of its suffixes is an expected error
+                accepting[child] |= accepting[failureLinks[child]];
+                queue.add(child);
+            }
+        }
+
+        List<String> combinable = new ArrayList<>();
+        List<Pattern> separate = new ArrayList<>();
+        for (Pattern p : regexes) {
+            if (p.flags() == 0 && !NOT_COMBINABLE.matcher(p.pattern()).find()) {
+                combinable.add("(?:" + p.pattern() + ")");
+            } else {
+                separate.add(p);
+            }
+        }
+        Pattern combined = null;
+        if (combinable.size() == 1) {
+            combined = Pattern.compile(combinable.get(0));
+        } else if (combinable.size() > 1) {
+            try {
+                combined = Pattern.compile(String.join("|", combinable));
+            } catch (PatternSyntaxException e) {
+                // e.g., the same named group in two regexes
+                for (String regex : combinable) {
+                    separate.add(Pattern.compile(regex));
+                }
+            }
+        }
+        this.combinedRegex = combined;
+        this.separateRegexes = separate.toArray(new Pattern[0]);
+    }
+
+    /**
+     * Creates a matcher for the given expected errors without caching it.
+     *
+     * @param substrings
+     *            the error messages that are expected to be contained in an error
+     * @param regexes
+     *            the patterns that are expected to be found in an error
+     *
+     * @return the matcher
+     */
+    public static ExpectedErrorsMatcher of(Collection<String> substrings, Collection<Pattern> regexes) {
+        return new ExpectedErrorsMatcher(substrings, regexes);
+    }
+
+    /**
+     * Returns a shared matcher for the given expected errors, which is created if no other query has used the same
+     * errors before.
+     *
+     * @param substrings
+     *            the error messages that are expected to be contained in an error
+     * @param regexes
+     *            the patterns that are expected to be found in an error
+     *
+     * @return the matcher
+     */
+    public static ExpectedErrorsMatcher get(Set<String> substrings, Set<Pattern> regexes) {
+        Set<String> regexStrings = new HashSet<>();
+        for (Pattern p : regexes) {
+            regexStrings.add(p.flags() + "/" + p.pattern());
+        }
+        ExpectedErrorsMatcher matcher = CACHE.get(new CacheKey(substrings, regexStrings));
+        if (matcher != null) {
+            return matcher;
+        }
+        // the matcher is created outside of the lock; if another thread created one concurrently, either is fine
+        matcher = new ExpectedErrorsMatcher(substrings, regexes);
+        // the sets of the caller might still change
+        CACHE.put(new CacheKey(Set.copyOf(substrings), regexStrings), matcher);
+        return matcher;
+    }
+
+    private int getTarget(int node, char c) {
+        int i = Arrays.binarySearch(edgeLabels[node], c);
+        return i < 0 ? -1 : edgeTargets[node][i];
+    }
+
+    /**
+     * Checks whether the error message contains any of the substrings or matches any of the regexes.
+     *
+     * @param error
+     *            the error message
+     *
+     * @return whether the error is expected
+     */
+    public boolean matches(String error) {
+        if (matchesAll) {
+            return true;
+        }
+        int node = 0;
+        for (int i = 0; i < error.length(); i++) {
+            char c = error.charAt(i);
+            int target = getTarget(node, c);
+            while (target == -1 && node != 0) {
+                node = failureLinks[node];
+                target = getTarget(node, c);
+            }
+            node = target == -1 ? 0 : target;
+            if (accepting[node]) {
+                return true;
+            }
+        }
+        if (combinedRegex != null && combinedRegex.matcher(error).find()) {
+            return true;
+        }
+        for (Pattern p : separateRegexes) {
+            if (p.matcher(error).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -1,5 +1,8 @@
 package sqlancer.common.query;
 
+import java.util.Collections;
+import java.util.List;
+
 import sqlancer.GlobalState;
 import sqlancer.SQLancerDBConnection;
 import sqlancer.common.log.Loggable;
@@ -27,6 +30,17 @@ public abstract class Query<C extends SQLancerDBConnection> implements Loggable
      */
     public abstract boolean couldAffectSchema();
 
+    /**
+     * Gets the names of the schema objects (e.g., tables, views, or indexes) that the query could create, alter, or
+     * drop. This allows re-reading only these objects after executing the query. An empty list means that the affected
+     * objects are unknown, in which case the whole schema is re-read if {@link #couldAffectSchema()} is true.
+     *
+     * @return the names of the affected schema objects
+     */
+    public List<String> getAffectedSchemaObjects() {
+        return Collections.emptyList();
+    }
+
     public abstract <G extends GlobalState<?, ?, C>> boolean execute(G globalState, String... fills) throws Exception;
 
     public abstract ExpectedErrors getExpectedErrors();
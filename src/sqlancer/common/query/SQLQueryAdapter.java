@@ -4,9 +4,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry;
+import sqlancer.MetricsRegistry.StatementKind;
 import sqlancer.SQLConnection;
 
 public class SQLQueryAdapter extends Query<SQLConnection> {
@@ -14,6 +17,7 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
     private final String query;
     private final ExpectedErrors expectedErrors;
     private final boolean couldAffectSchema;
+    private final List<String> affectedSchemaObjects;
 
     public SQLQueryAdapter(String query) {
         this(query, new ExpectedErrors());
@@ -37,6 +41,27 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
 
     public SQLQueryAdapter(String query, ExpectedErrors expectedErrors, boolean couldAffectSchema,
             boolean canonicalizeString) {
+        this(query, expectedErrors, couldAffectSchema, canonicalizeString, Collections.emptyList());
+    }
+
+    /**
+     * Creates a query that could affect the schema, but only the given schema objects.
+     *
+     * @param query
+     *            the query string
+     * @param expectedErrors
+     *            the errors that the query is expected to cause
+     * @param affectedSchemaObjects
+     *            the names of the tables, views, or indexes that the query could create, alter, or drop
+     *
+     * @see Query#getAffectedSchemaObjects()
+     */
+    public SQLQueryAdapter(String query, ExpectedErrors expectedErrors, List<String> affectedSchemaObjects) {
+        this(query, expectedErrors, true, true, affectedSchemaObjects);
+    }
+
+    private SQLQueryAdapter(String query, ExpectedErrors expectedErrors, boolean couldAffectSchema,
+            boolean canonicalizeString, List<String> affectedSchemaObjects) {
         if (canonicalizeString) {
             this.query = canonicalizeString(query);
         } else {
@@ -44,6 +69,7 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
         }
         this.expectedErrors = expectedErrors;
         this.couldAffectSchema = couldAffectSchema;
+        this.affectedSchemaObjects = affectedSchemaObjects;
         checkQueryString();
     }
 
@@ -84,29 +110,58 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
     @Override
     public <G extends GlobalState<?, ?, SQLConnection>> boolean execute(G globalState, String... fills)
             throws SQLException {
-        Statement s;
-        if (fills.length > 0) {
-            s = globalState.getConnection().prepareStatement(fills[0]);
-            for (int i = 1; i < fills.length; i++) {
-                ((PreparedStatement) s).setString(i, fills[i]);
-            }
-        } else {
-            s = globalState.getConnection().createStatement();
-        }
+        SQLConnection connection = globalState.getConnection();
+        int statementCacheSize = globalState.getOptions().getStatementCacheSize();
+        Statement s = getStatement(connection, statementCacheSize, fills);
+        StatementKind kind = couldAffectSchema() ? StatementKind.DDL : StatementKind.DML;
+        long start = System.nanoTime();
+        boolean success = false;
         try {
             if (fills.length > 0) {
                 ((PreparedStatement) s).execute();
             } else {
                 s.execute(query);
             }
-            Main.nrSuccessfulActions.addAndGet(1);
+            MetricsRegistry.recordStatement(globalState, this, kind, start, true);
+            success = true;
             return true;
         } catch (Exception e) {
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            MetricsRegistry.recordStatement(globalState, this, kind, start, false);
             checkException(e);
             return false;
         } finally {
+            if (success) {
+                releaseStatement(connection, s, statementCacheSize, fills);
+            } else {
+                s.close();
+            }
+        }
+    }
+
+    // reuses the statements of the connection if --statement-cache-size > 0
+    private static Statement getStatement(SQLConnection connection, int statementCacheSize, String... fills)
+            throws SQLException {
+        if (fills.length == 0) {
+            return statementCacheSize > 0 ? connection.getCachedStatement() : connection.createStatement();
+        }
+        PreparedStatement s = statementCacheSize > 0 ? connection.getCachedPreparedStatement(fills[0])
+                : (PreparedStatement) connection.prepareStatement(fills[0]);
+        for (int i = 1; i < fills.length; i++) {
+            s.setString(i, fills[i]);
+        }
+        return s;
+    }
+
+    // only called after the statement was executed successfully, as an error might leave the statement in a state in
+    // which it cannot be reused
+    private static void releaseStatement(SQLConnection connection, Statement s, int statementCacheSize,
+            String... fills) throws SQLException {
+        if (statementCacheSize <= 0) {
             s.close();
+        } else if (fills.length > 0) {
+            connection.releasePreparedStatement(fills[0], (PreparedStatement) s, statementCacheSize);
+        } else {
+            connection.releaseStatement(s);
         }
     }
 
@@ -127,30 +182,49 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
     @Override
     public <G extends GlobalState<?, ?, SQLConnection>> SQLancerResultSet executeAndGet(G globalState, String... fills)
             throws SQLException {
-        Statement s;
-        if (fills.length > 0) {
-            s = globalState.getConnection().prepareStatement(fills[0]);
-            for (int i = 1; i < fills.length; i++) {
-                ((PreparedStatement) s).setString(i, fills[i]);
-            }
-        } else {
-            s = globalState.getConnection().createStatement();
-        }
+        return executeAndGet(globalState, globalState.getConnection(), fills);
+    }
+
+    /**
+     * Executes the query on the given connection instead of the primary connection of the state, e.g., on one of its
+     * {@link sqlancer.OracleConnectionPool} connections.
+     *
+     * @param <G>
+     *            the global state type
+     * @param globalState
+     *            the state
+     * @param connection
+     *            the connection on which the query is executed
+     * @param fills
+     *            the prepared statement and its parameters, if any
+     *
+     * @return the result set, or null if an expected error occurred
+     *
+     * @throws SQLException
+     *             if the query cannot be executed
+     */
+    public <G extends GlobalState<?, ?, SQLConnection>> SQLancerResultSet executeAndGet(G globalState,
+            SQLConnection connection, String... fills) throws SQLException {
+        int statementCacheSize = globalState.getOptions().getStatementCacheSize();
+        Statement s = getStatement(connection, statementCacheSize, fills);
         ResultSet result;
+        long start = System.nanoTime();
         try {
             if (fills.length > 0) {
                 result = ((PreparedStatement) s).executeQuery();
             } else {
                 result = s.executeQuery(query);
             }
-            Main.nrSuccessfulActions.addAndGet(1);
+            MetricsRegistry.recordStatement(globalState, this, StatementKind.QUERY, start, true);
             if (result == null) {
+                releaseStatement(connection, s, statementCacheSize, fills);
                 return null;
             }
-            return new SQLancerResultSet(result);
+            // the statement is reused once the result set has been read and closed
+            return new SQLancerResultSet(result, () -> releaseStatement(connection, s, statementCacheSize, fills));
         } catch (Exception e) {
             s.close();
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            MetricsRegistry.recordStatement(globalState, this, StatementKind.QUERY, start, false);
             checkException(e);
         }
         return null;
@@ -161,6 +235,11 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
         return couldAffectSchema;
     }
 
+    @Override
+    public List<String> getAffectedSchemaObjects() {
+        return affectedSchemaObjects;
+    }
+
     @Override
     public ExpectedErrors getExpectedErrors() {
         return expectedErrors;
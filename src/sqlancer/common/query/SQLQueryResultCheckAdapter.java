@@ -6,6 +6,8 @@ import java.sql.Statement;
 import java.util.function.Consumer;
 
 import sqlancer.GlobalState;
+import sqlancer.MetricsRegistry;
+import sqlancer.MetricsRegistry.StatementKind;
 import sqlancer.SQLConnection;
 
 public class SQLQueryResultCheckAdapter extends SQLQueryAdapter {
@@ -20,11 +22,14 @@ public class SQLQueryResultCheckAdapter extends SQLQueryAdapter {
     @Override
     public <G extends GlobalState<?, ?, SQLConnection>> boolean execute(G globalState, String... fills)
             throws SQLException {
+        long start = System.nanoTime();
         try (Statement s = globalState.getConnection().createStatement()) {
             ResultSet rs = s.executeQuery(getQueryString());
             rsChecker.accept(rs);
+            MetricsRegistry.recordStatement(globalState, this, StatementKind.QUERY, start, true);
             return true;
         } catch (Exception e) {
+            MetricsRegistry.recordStatement(globalState, this, StatementKind.QUERY, start, false);
             checkException(e);
             return false;
         }
@@ -8,9 +8,23 @@ public class SQLancerResultSet implements Closeable {
 
     ResultSet rs;
     private Runnable runnableEpilogue;
+    private final StatementCloser statementCloser;
+
+    /**
+     * Closes or releases the statement of a result set after the result set has been closed.
+     */
+    @FunctionalInterface
+    public interface StatementCloser {
+        void close() throws SQLException;
+    }
 
     public SQLancerResultSet(ResultSet rs) {
+        this(rs, null);
+    }
+
+    public SQLancerResultSet(ResultSet rs, StatementCloser statementCloser) {
         this.rs = rs;
+        this.statementCloser = statementCloser;
     }
 
     @Override
@@ -19,8 +33,13 @@ public class SQLancerResultSet implements Closeable {
             if (runnableEpilogue != null) {
                 runnableEpilogue.run();
             }
-            rs.getStatement().close();
-            rs.close();
+            if (statementCloser == null) {
+                rs.getStatement().close();
+                rs.close();
+            } else {
+                rs.close();
+                statementCloser.close();
+            }
         } catch (SQLException e) {
             throw new AssertionError(e);
         }
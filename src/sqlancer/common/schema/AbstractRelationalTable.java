@@ -10,6 +10,9 @@ import sqlancer.common.query.SQLancerResultSet;
 public class AbstractRelationalTable<C extends AbstractTableColumn<?, ?>, I extends TableIndex, G extends SQLGlobalState<?, ?>>
         extends AbstractTable<C, I, G> {
 
+    // whether isEmpty() found a row, which is cheaper to determine than the row count
+    private boolean containsRows;
+
     public AbstractRelationalTable(String name, List<C> columns, List<I> indexes, boolean isView) {
         super(name, columns, indexes, isView);
     }
@@ -34,4 +37,36 @@ public class AbstractRelationalTable<C extends AbstractTableColumn<?, ?>, I exte
         }
     }
 
+    @Override
+    public boolean isEmpty(G globalState) {
+        if (rowCount != NO_ROW_COUNT_AVAILABLE) {
+            return rowCount == 0;
+        }
+        if (containsRows) {
+            return false;
+        }
+        SQLQueryAdapter q = new SQLQueryAdapter("SELECT * FROM " + name + " LIMIT 1");
+        try (SQLancerResultSet query = q.executeAndGet(globalState)) {
+            if (query == null) {
+                throw new IgnoreMeException();
+            }
+            if (query.next()) {
+                containsRows = true;
+                return false;
+            } else {
+                rowCount = 0;
+                return true;
+            }
+        } catch (Throwable t) {
+            // an exception might be expected, for example, when invalid view is created
+            throw new IgnoreMeException();
+        }
+    }
+
+    @Override
+    public void recomputeCount() {
+        super.recomputeCount();
+        containsRows = false;
+    }
+
 }
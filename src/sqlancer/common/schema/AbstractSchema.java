@@ -144,7 +144,22 @@ public class AbstractSchema<G extends GlobalState<?, ?, ?>, A extends AbstractTa
     }
 
     public boolean containsTableWithZeroRows(G globalState) {
-        return databaseTables.stream().anyMatch(t -> t.getNrRows(globalState) == 0);
+        return databaseTables.stream().anyMatch(t -> t.isEmpty(globalState));
+    }
+
+    /**
+     * Whether the rows of the given table could be changed by a statement that modifies another table, for example,
+     * because the table is a view, or because of triggers. The cached row count of such a table is discarded after
+     * every statement that could affect the schema, while that of any other table is only discarded after statements
+     * that affect the table itself (see {@link sqlancer.common.query.Query#getAffectedSchemaObjects()}).
+     *
+     * @param table
+     *            a table of this schema
+     *
+     * @return true if the rows of the table could change indirectly
+     */
+    public boolean rowsCouldChangeIndirectly(A table) {
+        return true;
     }
 
 }
@@ -114,4 +114,17 @@ public abstract class AbstractTable<C extends AbstractTableColumn<?, ?>, I exten
     }
 
     public abstract long getNrRows(G globalState);
+
+    /**
+     * Checks whether the table contains no rows. Unlike {@link #getNrRows(GlobalState)}, this does not need to count
+     * all rows of the table.
+     *
+     * @param globalState
+     *            the current global state
+     *
+     * @return true if the table contains no rows
+     */
+    public boolean isEmpty(G globalState) {
+        return getNrRows(globalState) == 0;
+    }
 }
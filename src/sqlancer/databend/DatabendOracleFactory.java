@@ -79,7 +79,7 @@ public enum DatabendOracleFactory implements OracleFactory<DatabendProvider.Data
             oracles.add(AGGREGATE.create(globalState));
             oracles.add(DISTINCT.create(globalState));
             oracles.add(GROUP_BY.create(globalState));
-            return new CompositeTestOracle<DatabendProvider.DatabendGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<DatabendProvider.DatabendGlobalState>(oracles);
         }
     },
     PQS {
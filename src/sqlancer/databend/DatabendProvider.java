@@ -8,6 +8,7 @@ import java.sql.Statement;
 import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
+import sqlancer.DatabasePool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.MainOptions;
@@ -121,15 +122,23 @@ public class DatabendProvider extends SQLProviderAdapter<DatabendGlobalState, Da
         if (port == MainOptions.NO_SET_PORT) {
             port = DatabendOptions.DEFAULT_PORT;
         }
-        String databaseName = globalState.getDatabaseName();
         String url = String.format("jdbc:mysql://%s:%d?serverTimezone=UTC&useSSL=false&allowPublicKeyRetrieval=true",
                 host, port);
         Connection con = DriverManager.getConnection(url, username, password);
+        Runnable dropPooledDatabase = null;
+        if (DatabasePool.isEnabled(globalState)) {
+            dropPooledDatabase = DatabasePool.take(globalState,
+                    () -> DriverManager.getConnection(url, username, password),
+                    name -> "DROP DATABASE IF EXISTS " + name, name -> "CREATE DATABASE " + name);
+        }
+        String databaseName = globalState.getDatabaseName();
         try (Statement s = con.createStatement()) {
-            s.execute("DROP DATABASE IF EXISTS " + databaseName);
-            globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
-            s.execute("CREATE DATABASE " + databaseName);
-            globalState.getState().logStatement("CREATE DATABASE " + databaseName);
+            if (dropPooledDatabase == null) {
+                s.execute("DROP DATABASE IF EXISTS " + databaseName);
+                globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
+                s.execute("CREATE DATABASE " + databaseName);
+                globalState.getState().logStatement("CREATE DATABASE " + databaseName);
+            }
             s.execute("USE " + databaseName);
             globalState.getState().logStatement("USE " + databaseName);
         }
@@ -141,7 +150,7 @@ public class DatabendProvider extends SQLProviderAdapter<DatabendGlobalState, Da
             con = DriverManager.getConnection(urlWithRetry, username, password);
         }
 
-        return new SQLConnection(con);
+        return new SQLConnection(con, dropPooledDatabase);
     }
 
     @Override
@@ -79,7 +79,7 @@ public enum DorisOracleFactory implements OracleFactory<DorisProvider.DorisGloba
             oracles.add(AGGREGATE.create(globalState));
             oracles.add(DISTINCT.create(globalState));
             oracles.add(GROUP_BY.create(globalState));
-            return new CompositeTestOracle<DorisProvider.DorisGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<DorisProvider.DorisGlobalState>(oracles);
         }
     },
     PQS {
@@ -101,7 +101,7 @@ public enum DorisOracleFactory implements OracleFactory<DorisProvider.DorisGloba
             oracles.add(DISTINCT.create(globalState));
             oracles.add(GROUP_BY.create(globalState));
             oracles.add(new DorisPivotedQuerySynthesisOracle(globalState));
-            return new CompositeTestOracle<DorisProvider.DorisGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<DorisProvider.DorisGlobalState>(oracles);
         }
     }
 
@@ -8,6 +8,7 @@ import java.sql.Statement;
 import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
+import sqlancer.DatabasePool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.MainOptions;
@@ -128,23 +129,32 @@ public class DorisProvider extends SQLProviderAdapter<DorisGlobalState, DorisOpt
         if (port == MainOptions.NO_SET_PORT) {
             port = DorisOptions.DEFAULT_PORT;
         }
-        String databaseName = globalState.getDatabaseName();
-        globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
-        globalState.getState().logStatement("CREATE DATABASE " + databaseName);
-        globalState.getState().logStatement("USE " + databaseName);
         String url = String.format("jdbc:mysql://%s:%d?serverTimezone=UTC&useSSL=false&allowPublicKeyRetrieval=true",
                 host, port);
-        Connection con = DriverManager.getConnection(url, username, password);
-        try (Statement s = con.createStatement()) {
-            s.execute("DROP DATABASE IF EXISTS " + databaseName);
-        }
-        try (Statement s = con.createStatement()) {
-            s.execute("CREATE DATABASE " + databaseName);
+        String serverPassword = password;
+        Connection con = DriverManager.getConnection(url, username, serverPassword);
+        Runnable dropPooledDatabase = null;
+        if (DatabasePool.isEnabled(globalState)) {
+            dropPooledDatabase = DatabasePool.take(globalState,
+                    () -> DriverManager.getConnection(url, username, serverPassword),
+                    name -> "DROP DATABASE IF EXISTS " + name, name -> "CREATE DATABASE " + name);
+        } else {
+            String databaseName = globalState.getDatabaseName();
+            globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
+            globalState.getState().logStatement("CREATE DATABASE " + databaseName);
+            try (Statement s = con.createStatement()) {
+                s.execute("DROP DATABASE IF EXISTS " + databaseName);
+            }
+            try (Statement s = con.createStatement()) {
+                s.execute("CREATE DATABASE " + databaseName);
+            }
         }
+        String databaseName = globalState.getDatabaseName();
+        globalState.getState().logStatement("USE " + databaseName);
         try (Statement s = con.createStatement()) {
             s.execute("USE " + databaseName);
         }
-        return new SQLConnection(con);
+        return new SQLConnection(con, dropPooledDatabase);
     }
 
     @Override
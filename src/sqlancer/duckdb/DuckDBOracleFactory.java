@@ -79,7 +79,7 @@ public enum DuckDBOracleFactory implements OracleFactory<DuckDBProvider.DuckDBGl
             oracles.add(AGGREGATE.create(globalState));
             oracles.add(DISTINCT.create(globalState));
             oracles.add(GROUP_BY.create(globalState));
-            return new CompositeTestOracle<DuckDBProvider.DuckDBGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<DuckDBProvider.DuckDBGlobalState>(oracles);
         }
     };
 
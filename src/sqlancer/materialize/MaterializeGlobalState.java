@@ -1,8 +1,6 @@
 package sqlancer.materialize;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -33,25 +31,20 @@ public class MaterializeGlobalState extends SQLGlobalState<MaterializeOptions, M
         super.setConnection(con);
         try {
             this.opClasses = getOpclasses();
-            this.operators = getOperators(getConnection());
-            this.collates = getCollnames(getConnection());
-            this.tableAccessMethods = getTableAccessMethods(getConnection());
+            this.operators = getCatalogColumn("SELECT oprname FROM pg_operator;");
+            this.collates = getCatalogColumn(
+                    "SELECT collname FROM pg_collation WHERE collname LIKE '%utf8' or collname = 'C';");
+            // pg_am includes both index and table access methods so we need to filter with amtype = 't'
+            this.tableAccessMethods = getCatalogColumn("SELECT amname FROM pg_am WHERE amtype = 't';");
         } catch (SQLException e) {
             throw new AssertionError(e);
         }
     }
 
-    private List<String> getCollnames(SQLConnection con) throws SQLException {
-        List<String> collNames = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("SELECT collname FROM pg_collation WHERE collname LIKE '%utf8' or collname = 'C';")) {
-                while (rs.next()) {
-                    collNames.add(rs.getString(1));
-                }
-            }
-        }
-        return collNames;
+    @Override
+    protected String getCatalogOptions() {
+        // the extensions add functions and operators
+        return "--extensions=" + getDbmsSpecificOptions().extensions;
     }
 
     private List<String> getOpclasses() throws SQLException {
@@ -205,33 +198,6 @@ public class MaterializeGlobalState extends SQLGlobalState<MaterializeOptions, M
         return opClasses;
     }
 
-    private List<String> getOperators(SQLConnection con) throws SQLException {
-        List<String> operators = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT oprname FROM pg_operator;")) {
-                while (rs.next()) {
-                    operators.add(rs.getString(1));
-                }
-            }
-        }
-        return operators;
-    }
-
-    private List<String> getTableAccessMethods(SQLConnection con) throws SQLException {
-        List<String> tableAccessMethods = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            /*
-             * pg_am includes both index and table access methods so we need to filter with amtype = 't'
-             */
-            try (ResultSet rs = s.executeQuery("SELECT amname FROM pg_am WHERE amtype = 't';")) {
-                while (rs.next()) {
-                    tableAccessMethods.add(rs.getString(1));
-                }
-            }
-        }
-        return tableAccessMethods;
-    }
-
     public List<String> getOperators() {
         return operators;
     }
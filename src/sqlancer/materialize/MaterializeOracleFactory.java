@@ -63,7 +63,7 @@ public enum MaterializeOracleFactory implements OracleFactory<MaterializeGlobalS
             oracles.add(WHERE.create(globalState));
             oracles.add(HAVING.create(globalState));
             oracles.add(new MaterializeTLPAggregateOracle(globalState));
-            return new CompositeTestOracle<MaterializeGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<MaterializeGlobalState>(oracles);
         }
     };
 
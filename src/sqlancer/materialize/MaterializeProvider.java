@@ -1,7 +1,6 @@
 package sqlancer.materialize;
 
 import java.io.BufferedReader;
-import java.io.IOException;
 import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -10,6 +9,7 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
+import java.util.List;
 
 import com.google.auto.service.AutoService;
 
@@ -230,11 +230,9 @@ public class MaterializeProvider extends SQLProviderAdapter<MaterializeGlobalSta
 
     protected void readFunctions(MaterializeGlobalState globalState) throws SQLException {
         // ERROR: column "provolatile" does not exist
-        SQLQueryAdapter query = new SQLQueryAdapter("SELECT proname, 1 FROM pg_proc;");
-        SQLancerResultSet rs = query.executeAndGet(globalState);
-        while (rs.next()) {
-            String functionName = rs.getString(1);
-            Character functionType = rs.getString(2).charAt(0);
+        for (List<String> row : globalState.getCatalogRows("SELECT proname, 1 FROM pg_proc;")) {
+            String functionName = row.get(0);
+            Character functionType = row.get(1).charAt(0);
             globalState.addFunctionAndType(functionName, functionType);
         }
     }
@@ -288,11 +286,6 @@ public class MaterializeProvider extends SQLProviderAdapter<MaterializeGlobalSta
         String explainQuery = "EXPLAIN OPTIMIZED PLAN FOR " + selectStr;
         if (globalState.getOptions().logEachSelect()) {
             globalState.getLogger().writeCurrent(explainQuery);
-            try {
-                globalState.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
         SQLQueryAdapter q = new SQLQueryAdapter(explainQuery);
         boolean afterProjection = false; // Remove the concrete expression after each Projection operator
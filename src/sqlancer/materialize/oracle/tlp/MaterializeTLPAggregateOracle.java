@@ -1,6 +1,5 @@
 package sqlancer.materialize.oracle.tlp;
 
-import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -107,14 +106,7 @@ public class MaterializeTLPAggregateOracle extends MaterializeTLPBase implements
     private String getAggregateResult(String queryString) throws SQLException {
         // log TLP Aggregate SELECT queries on the current log file
         if (state.getOptions().logEachSelect()) {
-            // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
-            try {
-                state.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
         }
         String resultString;
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors);
@@ -8,14 +8,17 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.google.auto.service.AutoService;
+import com.mysql.cj.jdbc.JdbcConnection;
 
 import sqlancer.AbstractAction;
+import sqlancer.DatabasePool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.MainOptions;
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLProviderAdapter;
+import sqlancer.ServerConnections;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
 import sqlancer.common.query.ExpectedErrors;
@@ -173,8 +176,61 @@ public class MySQLProvider extends SQLProviderAdapter<MySQLGlobalState, MySQLOpt
 
     @Override
     public SQLConnection createDatabase(MySQLGlobalState globalState) throws SQLException {
+        Connection con;
+        if (ServerConnections.isEnabled(globalState)) {
+            con = ServerConnections.getSessionConnection(getServerURL(globalState),
+                    () -> getServerConnection(globalState), MySQLProvider::resetSession);
+        } else {
+            con = getServerConnection(globalState);
+        }
+        try {
+            Runnable dropPooledDatabase = null;
+            if (DatabasePool.isEnabled(globalState)) {
+                dropPooledDatabase = DatabasePool.take(globalState, () -> getServerConnection(globalState),
+                        name -> "DROP DATABASE IF EXISTS " + name, name -> "CREATE DATABASE " + name);
+            } else {
+                String databaseName = globalState.getDatabaseName();
+                globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
+                globalState.getState().logStatement("CREATE DATABASE " + databaseName);
+                try (Statement s = con.createStatement()) {
+                    s.execute("DROP DATABASE IF EXISTS " + databaseName);
+                }
+                try (Statement s = con.createStatement()) {
+                    s.execute("CREATE DATABASE " + databaseName);
+                }
+            }
+            String databaseName = globalState.getDatabaseName();
+            globalState.getState().logStatement("USE " + databaseName);
+            try (Statement s = con.createStatement()) {
+                s.execute("USE " + databaseName);
+            }
+            return new SQLConnection(con, dropPooledDatabase);
+        } catch (SQLException | RuntimeException e) {
+            // a reused connection is kept open for the next database
+            con.close();
+            throw e;
+        }
+    }
+
+    // resets the session variables, temporary tables, and current database of a reused connection (COM_CHANGE_USER)
+    private static void resetSession(Connection con) throws SQLException {
+        con.unwrap(JdbcConnection.class).resetServerState();
+    }
+
+    @Override
+    public void dropDatabase(MySQLGlobalState globalState) throws SQLException {
+        try (Connection con = getServerConnection(globalState); Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + globalState.getDatabaseName());
+        }
+    }
+
+    private static Connection getServerConnection(MySQLGlobalState globalState) throws SQLException {
         String username = globalState.getOptions().getUserName();
         String password = globalState.getOptions().getPassword();
+        return DriverManager.getConnection(getServerURL(globalState), username, password);
+    }
+
+    private static String getServerURL(MySQLGlobalState globalState) {
         String host = globalState.getOptions().getHost();
         int port = globalState.getOptions().getPort();
         if (host == null) {
@@ -183,21 +239,24 @@ public class MySQLProvider extends SQLProviderAdapter<MySQLGlobalState, MySQLOpt
         if (port == MainOptions.NO_SET_PORT) {
             port = MySQLOptions.DEFAULT_PORT;
         }
-        String databaseName = globalState.getDatabaseName();
-        globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
-        globalState.getState().logStatement("CREATE DATABASE " + databaseName);
-        globalState.getState().logStatement("USE " + databaseName);
-        String url = String.format("jdbc:mysql://%s:%d?serverTimezone=UTC&useSSL=false&allowPublicKeyRetrieval=true",
-                host, port);
-        Connection con = DriverManager.getConnection(url, username, password);
-        try (Statement s = con.createStatement()) {
-            s.execute("DROP DATABASE IF EXISTS " + databaseName);
-        }
-        try (Statement s = con.createStatement()) {
-            s.execute("CREATE DATABASE " + databaseName);
-        }
+        return String.format("jdbc:mysql://%s:%d?serverTimezone=UTC&useSSL=false&allowPublicKeyRetrieval=true", host,
+                port);
+    }
+
+    @Override
+    public boolean supportsReadOnlyConnections() {
+        return true;
+    }
+
+    @Override
+    public SQLConnection createReadOnlyConnection(MySQLGlobalState globalState) throws SQLException {
+        Connection con = getServerConnection(globalState);
         try (Statement s = con.createStatement()) {
-            s.execute("USE " + databaseName);
+            s.execute("USE " + globalState.getDatabaseName());
+            con.setReadOnly(true);
+        } catch (SQLException | RuntimeException e) {
+            con.close();
+            throw e;
         }
         return new SQLConnection(con);
     }
@@ -210,7 +269,7 @@ public class MySQLProvider extends SQLProviderAdapter<MySQLGlobalState, MySQLOpt
     @Override
     public boolean addRowsToAllTables(MySQLGlobalState globalState) throws Exception {
         List<MySQLTable> tablesNoRow = globalState.getSchema().getDatabaseTables().stream()
-                .filter(t -> t.getNrRows(globalState) == 0).collect(Collectors.toList());
+                .filter(t -> t.isEmpty(globalState)).collect(Collectors.toList());
         for (MySQLTable table : tablesNoRow) {
             SQLQueryAdapter queryAddRows = MySQLInsertGenerator.insertRow(globalState, table);
             globalState.executeStatement(queryAddRows);
@@ -8,6 +8,7 @@ import java.sql.Statement;
 import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
+import sqlancer.DatabasePool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.MainOptions;
@@ -133,10 +134,6 @@ public class OceanBaseProvider extends SQLProviderAdapter<OceanBaseGlobalState,
             throw new OceanBaseUserCheckException(
                     "please don't use sys tenant to test! Firstly create tenant then test");
         }
-        String databaseName = globalState.getDatabaseName();
-        globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
-        globalState.getState().logStatement("CREATE DATABASE " + databaseName);
-        globalState.getState().logStatement("USE " + databaseName);
         String url = String.format("jdbc:mysql://%s:%d?serverTimezone=UTC&useSSL=false&allowPublicKeyRetrieval=true",
                 host, port);
         Connection con = DriverManager.getConnection(url, username, password);
@@ -147,16 +144,28 @@ public class OceanBaseProvider extends SQLProviderAdapter<OceanBaseGlobalState,
         try (Statement s = con.createStatement()) {
             s.execute("set ob_trx_timeout=" + globalState.getDbmsSpecificOptions().trxTimeout);
         }
-        try (Statement s = con.createStatement()) {
-            s.execute("DROP DATABASE IF EXISTS " + databaseName);
-        }
-        try (Statement s = con.createStatement()) {
-            s.execute("CREATE DATABASE " + databaseName);
+        Runnable dropPooledDatabase = null;
+        if (DatabasePool.isEnabled(globalState)) {
+            dropPooledDatabase = DatabasePool.take(globalState,
+                    () -> DriverManager.getConnection(url, username, password),
+                    name -> "DROP DATABASE IF EXISTS " + name, name -> "CREATE DATABASE " + name);
+        } else {
+            String databaseName = globalState.getDatabaseName();
+            globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
+            globalState.getState().logStatement("CREATE DATABASE " + databaseName);
+            try (Statement s = con.createStatement()) {
+                s.execute("DROP DATABASE IF EXISTS " + databaseName);
+            }
+            try (Statement s = con.createStatement()) {
+                s.execute("CREATE DATABASE " + databaseName);
+            }
         }
+        String databaseName = globalState.getDatabaseName();
+        globalState.getState().logStatement("USE " + databaseName);
         try (Statement s = con.createStatement()) {
             s.execute("USE " + databaseName);
         }
-        return new SQLConnection(con);
+        return new SQLConnection(con, dropPooledDatabase);
     }
 
     @Override
@@ -68,7 +68,7 @@ public enum PostgresOracleFactory implements OracleFactory<PostgresGlobalState>
             oracles.add(WHERE.create(globalState));
             oracles.add(HAVING.create(globalState));
             oracles.add(new PostgresTLPAggregateOracle(globalState));
-            return new CompositeTestOracle<PostgresGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<PostgresGlobalState>(oracles);
         }
     },
     CERT {
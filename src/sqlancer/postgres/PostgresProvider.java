@@ -7,21 +7,23 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
+import java.util.List;
 
 import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
+import sqlancer.DatabasePool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.MainOptions;
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLProviderAdapter;
+import sqlancer.ServerConnections;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
-import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.postgres.gen.PostgresAlterTableGenerator;
 import sqlancer.postgres.gen.PostgresAnalyzeGenerator;
 import sqlancer.postgres.gen.PostgresClusterGenerator;
@@ -264,34 +266,90 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
         } catch (URISyntaxException e) {
             throw new AssertionError(e);
         }
-        Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
         globalState.getState().logStatement(String.format("\\c %s;", entryDatabaseName));
-        globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
-        createDatabaseCommand = getCreateDatabaseCommand(globalState);
-        globalState.getState().logStatement(createDatabaseCommand);
-        try (Statement s = con.createStatement()) {
-            s.execute("DROP DATABASE IF EXISTS " + databaseName);
-        }
-        try (Statement s = con.createStatement()) {
-            s.execute(createDatabaseCommand);
+        Runnable dropPooledDatabase = null;
+        if (supportsDatabasePool() && DatabasePool.isEnabled(globalState)) {
+            String entryConnectionURL = "jdbc:" + entryURL;
+            // the databases are created in the background, after the fields might have been set for another database
+            String entryUsername = username;
+            String entryPassword = password;
+            dropPooledDatabase = DatabasePool.take(globalState,
+                    () -> DriverManager.getConnection(entryConnectionURL, entryUsername, entryPassword),
+                    name -> "DROP DATABASE IF EXISTS " + name, name -> getCreateDatabaseCommand(globalState, name));
+            databaseName = globalState.getDatabaseName();
+        } else {
+            Connection con;
+            boolean reuseConnections = ServerConnections.isEnabled(globalState);
+            if (reuseConnections) {
+                // a PostgreSQL session cannot switch its database, so only the entry connection is reused
+                String entryConnectionURL = "jdbc:" + entryURL;
+                con = ServerConnections.getAdminConnection(entryConnectionURL,
+                        () -> DriverManager.getConnection(entryConnectionURL, username, password));
+            } else {
+                con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
+            }
+            globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
+            createDatabaseCommand = getCreateDatabaseCommand(globalState, databaseName);
+            globalState.getState().logStatement(createDatabaseCommand);
+            try (Statement s = con.createStatement()) {
+                s.execute("DROP DATABASE IF EXISTS " + databaseName);
+            }
+            try (Statement s = con.createStatement()) {
+                s.execute(createDatabaseCommand);
+            }
+            if (!reuseConnections) {
+                con.close();
+            }
         }
-        con.close();
         int databaseIndex = entryURL.indexOf(entryDatabaseName);
         String preDatabaseName = entryURL.substring(0, databaseIndex);
         String postDatabaseName = entryURL.substring(databaseIndex + entryDatabaseName.length());
         testURL = preDatabaseName + databaseName + postDatabaseName;
         globalState.getState().logStatement(String.format("\\c %s;", databaseName));
 
-        con = DriverManager.getConnection("jdbc:" + testURL, username, password);
+        Connection con = DriverManager.getConnection("jdbc:" + testURL, username, password);
+        return new SQLConnection(con, dropPooledDatabase);
+    }
+
+    @Override
+    public void dropDatabase(PostgresGlobalState globalState) throws SQLException {
+        // the entry database is the same for all databases of a run
+        try (Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
+                Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + globalState.getDatabaseName());
+        }
+    }
+
+    /**
+     * Returns whether the databases can be taken from a {@link DatabasePool} (see --database-pool-depth), which
+     * requires that a database is ready to use once CREATE DATABASE was executed on the entry database.
+     *
+     * @return whether the databases can be pooled
+     */
+    protected boolean supportsDatabasePool() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsReadOnlyConnections() {
+        return true;
+    }
+
+    @Override
+    public SQLConnection createReadOnlyConnection(PostgresGlobalState globalState) throws SQLException {
+        Connection con = DriverManager.getConnection("jdbc:" + testURL, username, password);
+        // as for the primary connection in prepareTables()
+        try (Statement s = con.createStatement()) {
+            s.execute("SET SESSION statement_timeout = 5000");
+        }
+        con.setReadOnly(true);
         return new SQLConnection(con);
     }
 
     protected void readFunctions(PostgresGlobalState globalState) throws SQLException {
-        SQLQueryAdapter query = new SQLQueryAdapter("SELECT proname, provolatile FROM pg_proc;");
-        SQLancerResultSet rs = query.executeAndGet(globalState);
-        while (rs.next()) {
-            String functionName = rs.getString(1);
-            Character functionType = rs.getString(2).charAt(0);
+        for (List<String> row : globalState.getCatalogRows("SELECT proname, provolatile FROM pg_proc;")) {
+            String functionName = row.get(0);
+            Character functionType = row.get(1).charAt(0);
             globalState.addFunctionAndType(functionName, functionType);
         }
     }
@@ -321,7 +379,7 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
         globalState.executeStatement(new SQLQueryAdapter("SET SESSION statement_timeout = 5000;\n"));
     }
 
-    private String getCreateDatabaseCommand(PostgresGlobalState state) {
+    private String getCreateDatabaseCommand(PostgresGlobalState state, String databaseName) {
         StringBuilder sb = new StringBuilder();
         sb.append("CREATE DATABASE " + databaseName + " ");
         if (((PostgresOptions) state.getDbmsSpecificOptions()).testCollations) {
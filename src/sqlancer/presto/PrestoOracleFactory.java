@@ -66,7 +66,7 @@ public enum PrestoOracleFactory implements OracleFactory<PrestoGlobalState> {
             oracles.add(AGGREGATE.create(globalState));
             oracles.add(DISTINCT.create(globalState));
             oracles.add(GROUP_BY.create(globalState));
-            return new CompositeTestOracle<>(oracles, globalState);
+            return new CompositeTestOracle<>(oracles);
         }
     }
 
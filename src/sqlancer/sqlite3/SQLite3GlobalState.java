@@ -1,6 +1,7 @@
 package sqlancer.sqlite3;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import sqlancer.SQLGlobalState;
 import sqlancer.sqlite3.schema.SQLite3Schema;
@@ -12,4 +13,9 @@ public class SQLite3GlobalState extends SQLGlobalState<SQLite3Options, SQLite3Sc
         return SQLite3Schema.fromConnection(this);
     }
 
+    @Override
+    protected SQLite3Schema readSchemaIncrementally(SQLite3Schema currentSchema, List<String> affectedObjects) {
+        return SQLite3Schema.fromConnection(this, currentSchema, affectedObjects);
+    }
+
 }
@@ -94,7 +94,7 @@ public enum SQLite3OracleFactory implements OracleFactory<SQLite3GlobalState> {
             oracles.add(GROUP_BY.create(globalState));
             oracles.add(HAVING.create(globalState));
             oracles.add(AGGREGATE.create(globalState));
-            return new CompositeTestOracle<SQLite3GlobalState>(oracles, globalState);
+            return new CompositeTestOracle<SQLite3GlobalState>(oracles);
         }
     };
 
@@ -2,8 +2,11 @@ package sqlancer.sqlite3;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -13,6 +16,7 @@ import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
 import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseTemplatePool.DatabaseTemplate;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
@@ -20,6 +24,7 @@ import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.common.query.SQLancerResultSet;
@@ -285,11 +290,7 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
 
     @Override
     public SQLConnection createDatabase(SQLite3GlobalState globalState) throws SQLException {
-        File dir = new File("." + File.separator + "databases");
-        if (!dir.exists()) {
-            dir.mkdir();
-        }
-        File dataBase = new File(dir, globalState.getDatabaseName() + ".db");
+        File dataBase = getDatabaseFile(globalState.getDatabaseName());
         if (dataBase.exists() && ((SQLite3GlobalState) globalState).getDbmsSpecificOptions().deleteIfExists) {
             dataBase.delete();
         }
@@ -297,6 +298,70 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
         return new SQLConnection(DriverManager.getConnection(url));
     }
 
+    @Override
+    public void dropDatabase(SQLite3GlobalState globalState) throws IOException {
+        Files.deleteIfExists(getDatabaseFile(globalState.getDatabaseName()).toPath());
+    }
+
+    private static File getDatabaseFile(String databaseName) {
+        File dir = new File("." + File.separator + "databases");
+        if (!dir.exists()) {
+            dir.mkdir();
+        }
+        return new File(dir, databaseName + ".db");
+    }
+
+    @Override
+    public boolean supportsDatabaseTemplates() {
+        return true;
+    }
+
+    @Override
+    public boolean saveDatabaseTemplate(SQLite3GlobalState globalState, String templateName) throws SQLException {
+        try (Statement s = globalState.getConnection().createStatement()) {
+            // the backup only contains the main database, but not the temporary tables, views, and triggers
+            try (ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM sqlite_temp_master")) {
+                if (!rs.next() || rs.getInt(1) != 0) {
+                    return false;
+                }
+            }
+            // neither does it contain the state of an open transaction (e.g., in the middle of a replayed log)
+            try {
+                s.execute("BEGIN");
+            } catch (SQLException e) {
+                return false;
+            }
+            s.execute("ROLLBACK");
+            s.executeUpdate(String.format("backup to \"%s\"", getDatabaseFile(templateName).getAbsolutePath()));
+        }
+        return true;
+    }
+
+    @Override
+    public void restoreDatabaseTemplate(SQLite3GlobalState globalState, DatabaseTemplate template) throws SQLException {
+        // as in generateDatabase(); the seed of the thread is recorded in the state to reproduce
+        globalState.setRandomly(new Randomly(SQLite3SpecialStringGenerator::generate));
+        try (Statement s = globalState.getConnection().createStatement()) {
+            s.executeUpdate(
+                    String.format("restore from \"%s\"", getDatabaseFile(template.getName()).getAbsolutePath()));
+            // settings such as case_sensitive_like are stored in the connection rather than in the database
+            for (Query<?> statement : template.getStatements()) {
+                if (statement.getQueryString().startsWith("PRAGMA")) {
+                    try {
+                        s.execute(statement.getQueryString());
+                    } catch (SQLException e) {
+                        // the PRAGMA was already allowed to fail when generating the template
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void deleteDatabaseTemplate(String templateName) throws IOException {
+        Files.deleteIfExists(getDatabaseFile(templateName).toPath());
+    }
+
     @Override
     public String getDBMSName() {
         return "sqlite3";
@@ -307,11 +372,6 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
         String queryPlan = "";
         if (globalState.getOptions().logEachSelect()) {
             globalState.getLogger().writeCurrent(selectStr);
-            try {
-                globalState.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
         // Set up the expected errors for NoREC oracle.
         ExpectedErrors errors = new ExpectedErrors();
@@ -348,7 +408,7 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
     @Override
     protected boolean addRowsToAllTables(SQLite3GlobalState globalState) throws Exception {
         List<SQLite3Table> tablesNoRow = globalState.getSchema().getDatabaseTables().stream()
-                .filter(t -> t.getNrRows(globalState) == 0).collect(Collectors.toList());
+                .filter(t -> t.isEmpty(globalState)).collect(Collectors.toList());
         for (SQLite3Table table : tablesNoRow) {
             SQLQueryAdapter queryAddRows = SQLite3InsertGenerator.insertRow(globalState, table);
             globalState.executeStatement(queryAddRows);
@@ -2,6 +2,7 @@ package sqlancer.sqlite3.gen.ddl;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import sqlancer.IgnoreMeException;
@@ -41,8 +42,8 @@ public final class SQLite3CreateTriggerGenerator {
         }
         sb.append(" TRIGGER");
         sb.append(" IF NOT EXISTS ");
-        sb.append("tr");
-        sb.append(Randomly.smallNumber());
+        String triggerName = "tr" + Randomly.smallNumber();
+        sb.append(triggerName);
         sb.append(" ");
         if (table.isView()) {
             sb.append("INSTEAD OF");
@@ -108,8 +109,10 @@ public final class SQLite3CreateTriggerGenerator {
         }
         sb.append("END");
 
+        // the trigger is recorded in the schema, since it can change the row counts of other tables
         return new SQLQueryAdapter(sb.toString(),
-                ExpectedErrors.from("parser stack overflow", "unsupported frame specification"));
+                ExpectedErrors.from("parser stack overflow", "unsupported frame specification"),
+                Arrays.asList(triggerName));
     }
 
     private static void appendTableNameAndWhen(SQLite3GlobalState globalState, StringBuilder sb, SQLite3Table table) {
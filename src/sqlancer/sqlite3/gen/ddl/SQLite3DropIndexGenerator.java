@@ -1,5 +1,7 @@
 package sqlancer.sqlite3.gen.ddl;
 
+import java.util.Arrays;
+
 import sqlancer.Randomly;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.common.query.SQLQueryAdapter;
@@ -23,7 +25,7 @@ public final class SQLite3DropIndexGenerator {
         sb.append('"');
         return new SQLQueryAdapter(sb.toString(), ExpectedErrors.from(
                 "[SQLITE_ERROR] SQL error or missing database (index associated with UNIQUE or PRIMARY KEY constraint cannot be dropped)"),
-                true);
+                Arrays.asList(indexName));
     }
 
 }
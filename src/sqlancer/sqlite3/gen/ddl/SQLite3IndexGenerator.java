@@ -1,6 +1,7 @@
 package sqlancer.sqlite3.gen.ddl;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 
 import sqlancer.IgnoreMeException;
@@ -37,7 +38,8 @@ public class SQLite3IndexGenerator {
     private SQLQueryAdapter create() throws SQLException {
         SQLite3Table t = globalState.getSchema()
                 .getRandomTableOrBailout(tab -> !tab.isView() && !tab.isVirtual() && !tab.isReadOnly());
-        String q = createIndex(t, t.getColumns());
+        String indexName = SQLite3Common.getFreeIndexName(globalState.getSchema());
+        String q = createIndex(indexName, t, t.getColumns());
         errors.add("no such collation sequence: UINT");
         errors.add("[SQLITE_ERROR] SQL error or missing database (parser stack overflow)");
         errors.add("subqueries prohibited in index expressions");
@@ -61,10 +63,10 @@ public class SQLite3IndexGenerator {
          * https://www.mail-archive.com/sqlite-users@mailinglists.sqlite.org/msg115014.html).
          */
         errors.add("[SQLITE_ERROR] SQL error or missing database (no such column:");
-        return new SQLQueryAdapter(q, errors, true);
+        return new SQLQueryAdapter(q, errors, Arrays.asList(indexName));
     }
 
-    private String createIndex(SQLite3Table t, List<SQLite3Column> columns) {
+    private String createIndex(String indexName, SQLite3Table t, List<SQLite3Column> columns) {
         StringBuilder sb = new StringBuilder();
         sb.append("CREATE");
         if (Randomly.getBoolean()) {
@@ -78,7 +80,7 @@ public class SQLite3IndexGenerator {
             errors.add("already exists");
         }
         sb.append(" ");
-        sb.append(SQLite3Common.getFreeIndexName(globalState.getSchema()));
+        sb.append(indexName);
         sb.append(" ON ");
         sb.append(t.getName());
         sb.append("(");
@@ -66,7 +66,7 @@ public class SQLite3TableGenerator {
         errors.add("parser stack overflow");
         errors.add("malformed JSON");
         errors.add("JSON cannot hold BLOB values");
-        return new SQLQueryAdapter(sqLite3TableGenerator.sb.toString(), errors, true);
+        return new SQLQueryAdapter(sqLite3TableGenerator.sb.toString(), errors, Arrays.asList(tableName));
     }
 
     public void start() {
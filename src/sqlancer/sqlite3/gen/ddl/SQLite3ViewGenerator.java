@@ -1,6 +1,7 @@
 package sqlancer.sqlite3.gen.ddl;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
@@ -44,7 +45,8 @@ public final class SQLite3ViewGenerator {
         if (Randomly.getBoolean()) {
             sb.append(" IF NOT EXISTS ");
         }
-        sb.append(SQLite3Common.getFreeViewName(globalState.getSchema()));
+        String viewName = SQLite3Common.getFreeViewName(globalState.getSchema());
+        sb.append(viewName);
         ExpectedErrors errors = new ExpectedErrors();
         SQLite3Errors.addExpectedExpressionErrors(errors);
         errors.add("is circularly defined");
@@ -58,7 +60,7 @@ public final class SQLite3ViewGenerator {
         } while (globalState.getDbmsSpecificOptions().oracles == SQLite3OracleFactory.PQS
                 && !checkAffinity(randomQuery));
         sb.append(SQLite3Visitor.asString(randomQuery));
-        return new SQLQueryAdapter(sb.toString(), errors, true);
+        return new SQLQueryAdapter(sb.toString(), errors, Arrays.asList(viewName));
 
     }
 
@@ -1,6 +1,7 @@
 package sqlancer.sqlite3.gen.dml;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,7 +38,7 @@ public class SQLite3InsertGenerator {
     public static SQLQueryAdapter insertRow(SQLite3GlobalState globalState, SQLite3Table randomTable) {
         SQLite3InsertGenerator generator = new SQLite3InsertGenerator(globalState, globalState.getRandomly());
         String query = generator.insertRow(randomTable);
-        return new SQLQueryAdapter(query, generator.errors, true);
+        return new SQLQueryAdapter(query, generator.errors, Arrays.asList(randomTable.getName()));
     }
 
     private String insertRow(SQLite3Table table) {
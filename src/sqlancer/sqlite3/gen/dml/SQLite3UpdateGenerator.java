@@ -1,5 +1,6 @@
 package sqlancer.sqlite3.gen.dml;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -98,7 +99,7 @@ public class SQLite3UpdateGenerator extends AbstractUpdateGenerator<SQLite3Colum
         SQLite3Errors.addInsertNowErrors(errors);
         SQLite3Errors.addExpectedExpressionErrors(errors);
         SQLite3Errors.addDeleteErrors(errors);
-        return new SQLQueryAdapter(sb.toString(), errors, true /* column could have an ON UPDATE clause */);
+        return new SQLQueryAdapter(sb.toString(), errors, Arrays.asList(table.getName()));
 
     }
 
@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import sqlancer.IgnoreMeException;
@@ -33,7 +34,10 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
      */
     public static final List<String> ROWID_STRINGS = Collections
             .unmodifiableList(Arrays.asList("rowid", "_rowid_", "oid"));
+    private static final String SCHEMA_OBJECTS_QUERY = "SELECT name, type as category, sql FROM sqlite_master UNION "
+            + "SELECT name, 'temp_table' as category, sql FROM sqlite_temp_master WHERE type='table' UNION SELECT name, 'view' as category, sql FROM sqlite_temp_master WHERE type='view' GROUP BY name";
     private final List<String> indexNames;
+    private final boolean hasTriggersOrForeignKeys;
 
     public List<String> getIndexNames() {
         return indexNames;
@@ -253,9 +257,10 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
 
     }
 
-    public SQLite3Schema(List<SQLite3Table> databaseTables, List<String> indexNames) {
+    public SQLite3Schema(List<SQLite3Table> databaseTables, List<String> indexNames, boolean hasTriggersOrForeignKeys) {
         super(databaseTables);
         this.indexNames = indexNames;
+        this.hasTriggersOrForeignKeys = hasTriggersOrForeignKeys;
     }
 
     @Override
@@ -265,58 +270,30 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
             sb.append(t);
             sb.append("\n");
         }
+        for (String indexName : indexNames) {
+            sb.append(indexName);
+            sb.append("\n");
+        }
         return sb.toString();
     }
 
     public static SQLite3Schema fromConnection(SQLite3GlobalState globalState) throws SQLException {
         List<SQLite3Table> databaseTables = new ArrayList<>();
         List<String> indexNames = new ArrayList<>();
+        boolean hasTriggersOrForeignKeys = false;
         SQLConnection con = globalState.getConnection();
 
         try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT name, type as category, sql FROM sqlite_master UNION "
-                    + "SELECT name, 'temp_table' as category, sql FROM sqlite_temp_master WHERE type='table' UNION SELECT name, 'view' as category, sql FROM sqlite_temp_master WHERE type='view' GROUP BY name;")) {
+            try (ResultSet rs = s.executeQuery(SCHEMA_OBJECTS_QUERY)) {
                 while (rs.next()) {
                     String tableName = rs.getString("name");
-                    String tableType = rs.getString("category");
-                    boolean isReadOnly;
                     if (databaseTables.stream().anyMatch(t -> t.getName().contentEquals(tableName))) {
                         continue;
                     }
-                    String sqlString = rs.getString("sql") == null ? "" : rs.getString("sql").toLowerCase();
-                    if (tableName.startsWith("sqlite_") || tableType.equals("index") || tableType.equals("trigger")
-                            || tableName.endsWith("_idx") || tableName.endsWith("_docsize")
-                            || tableName.endsWith("_content") || tableName.endsWith("_data")
-                            || tableName.endsWith("_config") || tableName.endsWith("_segdir")
-                            || tableName.endsWith("_stat") || tableName.endsWith("_segments")
-                            || tableName.contains("_")) {
-                        continue; // TODO
-                    } else if (sqlString.contains("using dbstat")) {
-                        isReadOnly = true;
-                    } else if (sqlString.contains("content=''")) {
-                        isReadOnly = true;
-                    } else {
-                        isReadOnly = false;
-                    }
-                    boolean withoutRowid = sqlString.contains("without rowid");
-                    boolean isView = tableType.contentEquals("view");
-                    boolean isVirtual = sqlString.contains("virtual");
-                    boolean isDbStatsTable = sqlString.contains("using dbstat");
-                    List<SQLite3Column> databaseColumns = getTableColumns(con, tableName, sqlString, isView,
-                            isDbStatsTable);
-                    SQLite3Table t = new SQLite3Table(tableName, databaseColumns,
-                            tableType.contentEquals("temp_table") ? TableKind.TEMP : TableKind.MAIN, withoutRowid,
-                            isView, isVirtual, isReadOnly);
-                    if (isRowIdTable(withoutRowid, isView, isVirtual)) {
-                        String rowId = Randomly.fromList(ROWID_STRINGS);
-                        SQLite3Column rowid = new SQLite3Column(rowId, SQLite3DataType.INT, true, null, true);
-                        t.addRowid(rowid);
-                        rowid.setTable(t);
-                    }
-                    for (SQLite3Column c : databaseColumns) {
-                        c.setTable(t);
+                    SQLite3Table t = readTable(con, tableName, rs.getString("category"), rs.getString("sql"));
+                    if (t != null) {
+                        databaseTables.add(t);
                     }
-                    databaseTables.add(t);
                 }
             } catch (SQLException e) {
                 // ignore
@@ -335,9 +312,121 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
                     throw new AssertionError(e);
                 }
             }
+            try (ResultSet rs = s.executeQuery(
+                    "SELECT type, sql FROM sqlite_master UNION ALL SELECT type, sql FROM sqlite_temp_master")) {
+                while (rs.next() && !hasTriggersOrForeignKeys) {
+                    hasTriggersOrForeignKeys = isTriggerOrForeignKey(rs.getString(1), rs.getString(2));
+                }
+            } catch (SQLException e) {
+                hasTriggersOrForeignKeys = true;
+            }
+        }
+
+        return new SQLite3Schema(databaseTables, indexNames, hasTriggersOrForeignKeys);
+    }
+
+    /**
+     * Derives the current schema from the given previous schema by only re-reading the given tables, views, indexes,
+     * and triggers. The tables and indexes are kept in the same (i.e., alphabetical) order as by
+     * {@link #fromConnection(SQLite3GlobalState)}.
+     *
+     * @param globalState
+     *            the current global state
+     * @param previousSchema
+     *            the schema before the objects were changed
+     * @param changedObjects
+     *            the names of the tables, views, indexes, and triggers that were created or dropped
+     *
+     * @return the current schema, or null if the objects could not be read
+     */
+    public static SQLite3Schema fromConnection(SQLite3GlobalState globalState, SQLite3Schema previousSchema,
+            List<String> changedObjects) {
+        List<SQLite3Table> databaseTables = new ArrayList<>(previousSchema.getDatabaseTables());
+        List<String> indexNames = new ArrayList<>(previousSchema.getIndexNames());
+        boolean hasTriggersOrForeignKeys = previousSchema.hasTriggersOrForeignKeys;
+        SQLConnection con = globalState.getConnection();
+        try (Statement s = con.createStatement()) {
+            for (String name : changedObjects) {
+                databaseTables.removeIf(t -> t.getName().contentEquals(name));
+                indexNames.remove(name);
+                String nameLiteral = "'" + name.replace("'", "''") + "'";
+                try (ResultSet rs = s.executeQuery(String.format(
+                        "SELECT * FROM (%s) WHERE name=%s UNION SELECT name, type as category, sql FROM sqlite_temp_master WHERE type IN ('index', 'trigger') AND name=%s ORDER BY category",
+                        SCHEMA_OBJECTS_QUERY, nameLiteral, nameLiteral))) {
+                    if (!rs.next()) {
+                        continue; // the object was dropped or could not be created
+                    }
+                    String category = rs.getString("category");
+                    hasTriggersOrForeignKeys |= isTriggerOrForeignKey(category, rs.getString("sql"));
+                    if (category.equals("index")) {
+                        if (!name.contains("_autoindex")) {
+                            insertSorted(indexNames, name, n -> n);
+                        }
+                    } else {
+                        SQLite3Table t = readTable(con, name, category, rs.getString("sql"));
+                        if (t != null) {
+                            insertSorted(databaseTables, t, SQLite3Table::getName);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            return null;
         }
+        return new SQLite3Schema(databaseTables, indexNames, hasTriggersOrForeignKeys);
+    }
+
+    private static boolean isTriggerOrForeignKey(String type, String sql) {
+        return type.equals("trigger") || sql != null && sql.toLowerCase().contains("references");
+    }
 
-        return new SQLite3Schema(databaseTables, indexNames);
+    @Override
+    public boolean rowsCouldChangeIndirectly(SQLite3Table table) {
+        return hasTriggersOrForeignKeys || table.isView() || table.isVirtual();
+    }
+
+    private static <T> void insertSorted(List<T> list, T element, Function<T, String> getName) {
+        int i = 0;
+        while (i < list.size() && getName.apply(list.get(i)).compareTo(getName.apply(element)) < 0) {
+            i++;
+        }
+        list.add(i, element);
+    }
+
+    private static SQLite3Table readTable(SQLConnection con, String tableName, String tableType, String sql)
+            throws SQLException {
+        boolean isReadOnly;
+        String sqlString = sql == null ? "" : sql.toLowerCase();
+        if (tableName.startsWith("sqlite_") || tableType.equals("index") || tableType.equals("trigger")
+                || tableName.endsWith("_idx") || tableName.endsWith("_docsize") || tableName.endsWith("_content")
+                || tableName.endsWith("_data") || tableName.endsWith("_config") || tableName.endsWith("_segdir")
+                || tableName.endsWith("_stat") || tableName.endsWith("_segments") || tableName.contains("_")) {
+            return null; // TODO
+        } else if (sqlString.contains("using dbstat")) {
+            isReadOnly = true;
+        } else if (sqlString.contains("content=''")) {
+            isReadOnly = true;
+        } else {
+            isReadOnly = false;
+        }
+        boolean withoutRowid = sqlString.contains("without rowid");
+        boolean isView = tableType.contentEquals("view");
+        boolean isVirtual = sqlString.contains("virtual");
+        boolean isDbStatsTable = sqlString.contains("using dbstat");
+        List<SQLite3Column> databaseColumns = getTableColumns(con, tableName, sqlString, isView, isDbStatsTable);
+        SQLite3Table t = new SQLite3Table(tableName, databaseColumns,
+                tableType.contentEquals("temp_table") ? TableKind.TEMP : TableKind.MAIN, withoutRowid, isView,
+                isVirtual, isReadOnly);
+        if (isRowIdTable(withoutRowid, isView, isVirtual)) {
+            String rowId = Randomly.fromList(ROWID_STRINGS);
+            SQLite3Column rowid = new SQLite3Column(rowId, SQLite3DataType.INT, true, null, true);
+            t.addRowid(rowid);
+            rowid.setTable(t);
+        }
+        for (SQLite3Column c : databaseColumns) {
+            c.setTable(t);
+        }
+        return t;
     }
 
     // https://www.sqlite.org/rowidtable.html
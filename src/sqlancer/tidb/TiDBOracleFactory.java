@@ -40,7 +40,7 @@ public enum TiDBOracleFactory implements OracleFactory<TiDBProvider.TiDBGlobalSt
             List<TestOracle<TiDBProvider.TiDBGlobalState>> oracles = new ArrayList<>();
             oracles.add(WHERE.create(globalState));
             oracles.add(HAVING.create(globalState));
-            return new CompositeTestOracle<TiDBProvider.TiDBGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<TiDBProvider.TiDBGlobalState>(oracles);
         }
     },
     CERT {
@@ -1,6 +1,5 @@
 package sqlancer.tidb;
 
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -9,8 +8,10 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.google.auto.service.AutoService;
+import com.mysql.cj.jdbc.JdbcConnection;
 
 import sqlancer.AbstractAction;
+import sqlancer.DatabasePool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.MainOptions;
@@ -18,6 +19,7 @@ import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
 import sqlancer.SQLProviderAdapter;
+import sqlancer.ServerConnections;
 import sqlancer.StatementExecutor;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.common.query.SQLQueryAdapter;
@@ -181,28 +183,62 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
             port = TiDBOptions.DEFAULT_PORT;
         }
 
-        String databaseName = globalState.getDatabaseName();
         String url = String.format("jdbc:mysql://%s:%d/", host, port);
-        Connection con = DriverManager.getConnection(url, globalState.getOptions().getUserName(),
-                globalState.getOptions().getPassword());
+        String username = globalState.getOptions().getUserName();
+        String password = globalState.getOptions().getPassword();
+        boolean reuseConnections = ServerConnections.isEnabled(globalState);
+        Connection con;
+        if (reuseConnections) {
+            con = ServerConnections.getAdminConnection(url, () -> DriverManager.getConnection(url, username, password));
+        } else {
+            con = DriverManager.getConnection(url, username, password);
+        }
         globalState.getState().logStatement("USE test");
-        globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
-        String createDatabaseCommand = "CREATE DATABASE " + databaseName;
-        globalState.getState().logStatement(createDatabaseCommand);
+        Runnable dropPooledDatabase = null;
+        if (DatabasePool.isEnabled(globalState)) {
+            dropPooledDatabase = DatabasePool.take(globalState,
+                    () -> DriverManager.getConnection(url, username, password),
+                    name -> "DROP DATABASE IF EXISTS " + name, name -> "CREATE DATABASE " + name);
+        } else {
+            String databaseName = globalState.getDatabaseName();
+            globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
+            String createDatabaseCommand = "CREATE DATABASE " + databaseName;
+            globalState.getState().logStatement(createDatabaseCommand);
+            try (Statement s = con.createStatement()) {
+                s.execute("DROP DATABASE IF EXISTS " + databaseName);
+            }
+            try (Statement s = con.createStatement()) {
+                s.execute(createDatabaseCommand);
+            }
+        }
+        String databaseName = globalState.getDatabaseName();
         globalState.getState().logStatement("USE " + databaseName);
-        try (Statement s = con.createStatement()) {
-            s.execute("DROP DATABASE IF EXISTS " + databaseName);
-            if (globalState.getDbmsSpecificOptions().nonPreparePlanCache) {
+        if (globalState.getDbmsSpecificOptions().nonPreparePlanCache) {
+            try (Statement s = con.createStatement()) {
                 s.execute("set global tidb_enable_non_prepared_plan_cache=ON;");
             }
         }
-        try (Statement s = con.createStatement()) {
-            s.execute(createDatabaseCommand);
+        if (reuseConnections) {
+            con = ServerConnections.getSessionConnection(url,
+                    () -> DriverManager.getConnection(url, username, password),
+                    TiDBProvider::resetSession);
+            try (Statement s = con.createStatement()) {
+                s.execute("USE " + databaseName);
+            } catch (SQLException | RuntimeException e) {
+                // the connection is kept open for the next database
+                con.close();
+                throw e;
+            }
+        } else {
+            con.close();
+            con = DriverManager.getConnection(url + databaseName, username, password);
         }
-        con.close();
-        con = DriverManager.getConnection(url + databaseName, globalState.getOptions().getUserName(),
-                globalState.getOptions().getPassword());
-        return new SQLConnection(con);
+        return new SQLConnection(con, dropPooledDatabase);
+    }
+
+    // resets the session variables, temporary tables, and current database of a reused connection (COM_CHANGE_USER)
+    private static void resetSession(Connection con) throws SQLException {
+        con.unwrap(JdbcConnection.class).resetServerState();
     }
 
     @Override
@@ -215,11 +251,6 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
         String queryPlan = "";
         if (globalState.getOptions().logEachSelect()) {
             globalState.getLogger().writeCurrent(selectStr);
-            try {
-                globalState.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
 
         SQLQueryAdapter q = new SQLQueryAdapter("EXPLAIN FORMAT=brief " + selectStr);
@@ -252,7 +283,7 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
     @Override
     public boolean addRowsToAllTables(TiDBGlobalState globalState) throws Exception {
         List<TiDBTable> tablesNoRow = globalState.getSchema().getDatabaseTables().stream()
-                .filter(t -> t.getNrRows(globalState) == 0).collect(Collectors.toList());
+                .filter(t -> t.isEmpty(globalState)).collect(Collectors.toList());
         for (TiDBTable table : tablesNoRow) {
             SQLQueryAdapter queryAddRows = TiDBInsertGenerator.getQuery(globalState, table);
             globalState.executeStatement(queryAddRows);
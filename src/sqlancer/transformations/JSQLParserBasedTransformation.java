@@ -3,6 +3,8 @@ package sqlancer.transformations;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
 
+import sqlancer.transformations.ParsedStatementCache.StatementKind;
+
 /**
  * Transformations based on JSQLParser should be derived from this class.
  */
@@ -11,10 +13,16 @@ public class JSQLParserBasedTransformation extends Transformation {
 
     protected Statement statement;
 
+    private ParsedStatementCache parsedStatementCache;
+
     public JSQLParserBasedTransformation(String desc) {
         super(desc);
     }
 
+    public void setParsedStatementCache(ParsedStatementCache parsedStatementCache) {
+        this.parsedStatementCache = parsedStatementCache;
+    }
+
     @Override
     protected void onStatementChanged() {
         if (statementChangedHandler != null) {
@@ -25,6 +33,10 @@ public class JSQLParserBasedTransformation extends Transformation {
     @Override
     public boolean init(String sql) {
         this.current = sql;
+        if (parsedStatementCache != null) {
+            statement = parsedStatementCache.take(current);
+            return statement != null;
+        }
         try {
             statement = CCJSqlParserUtil.parse(current);
         } catch (Exception e) {
@@ -33,4 +45,39 @@ public class JSQLParserBasedTransformation extends Transformation {
         return true;
     }
 
+    @Override
+    public boolean mayChange(String sql) {
+        if (parsedStatementCache == null) {
+            return true;
+        }
+        StatementKind kind = parsedStatementCache.classify(sql);
+        // the statements that cannot be parsed are not skipped, so that init() reports them
+        if (kind == StatementKind.UNPARSEABLE || appliesTo(kind)) {
+            return true;
+        }
+        parsedStatementCache.recordSkipped();
+        return false;
+    }
+
+    /**
+     * Returns whether the transformation can change statements of the given kind.
+     *
+     * @param kind
+     *            the kind of the parsed statement
+     *
+     * @return false if {@link #apply()} does not change statements of this kind
+     */
+    protected boolean appliesTo(StatementKind kind) {
+        return true;
+    }
+
+    @Override
+    public void release() {
+        // the parsed statement is only equivalent to the statement text if none of the edits was kept
+        if (parsedStatementCache != null && statement != null && !isChanged) {
+            parsedStatementCache.release(current, statement);
+        }
+        statement = null;
+    }
+
 }
@@ -0,0 +1,125 @@
+package sqlancer.transformations;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.select.Select;
+
+/**
+ * Caches the statements parsed by JSQLParser by their text, so that the transformations of the AST-based reducer do not
+ * parse the same statement again for each transformation and each round. As the transformations edit the parsed
+ * statement in place, a statement is handed out to one transformation at a time (see {@link #take(String)}), which
+ * hands it back if it did not keep any edit (see {@link #release(String, Statement)}). The kind of each statement is
+ * kept even while its parsed statement is handed out, so that the transformations can skip the statements that they
+ * cannot change without parsing them.
+ */
+public class ParsedStatementCache {
+
+    public enum StatementKind {
+        SELECT, INSERT, OTHER, UNPARSEABLE
+    }
+
+    private static final class Entry {
+
+        private final StatementKind kind;
+        // null while a transformation uses the parsed statement
+        private Statement statement;
+
+        Entry(StatementKind kind, Statement statement) {
+            this.kind = kind;
+            this.statement = statement;
+        }
+
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private long nrRequests;
+    private long nrParses;
+    private long nrSkipped;
+
+    public StatementKind classify(String sql) {
+        synchronized (this) {
+            Entry entry = entries.get(sql);
+            if (entry != null) {
+                return entry.kind;
+            }
+        }
+        return parse(sql, true).kind;
+    }
+
+    /**
+     * Returns the parsed statement with the given text, which the caller may edit.
+     *
+     * @param sql
+     *            the text of the statement
+     *
+     * @return the parsed statement, or null if the statement cannot be parsed
+     */
+    public Statement take(String sql) {
+        synchronized (this) {
+            nrRequests++;
+            Entry entry = entries.get(sql);
+            if (entry != null && (entry.statement != null || entry.kind == StatementKind.UNPARSEABLE)) {
+                Statement statement = entry.statement;
+                entry.statement = null;
+                return statement;
+            }
+        }
+        return parse(sql, false).statement;
+    }
+
+    /**
+     * Hands back a parsed statement obtained by {@link #take(String)}.
+     *
+     * @param sql
+     *            the text of the statement
+     * @param statement
+     *            the parsed statement, which must not have been changed since it was taken
+     */
+    public synchronized void release(String sql, Statement statement) {
+        Entry entry = entries.get(sql);
+        if (entry != null && entry.statement == null) {
+            entry.statement = statement;
+        }
+    }
+
+    public synchronized void recordSkipped() {
+        nrSkipped++;
+    }
+
+    // parses outside of the lock, so that the threads of the reducer can parse different statements concurrently
+    private Entry parse(String sql, boolean keep) {
+        Statement statement;
+        StatementKind kind;
+        try {
+            statement = CCJSqlParserUtil.parse(sql);
+            if (statement instanceof Select) {
+                kind = StatementKind.SELECT;
+            } else if (statement instanceof Insert) {
+                kind = StatementKind.INSERT;
+            } else {
+                kind = StatementKind.OTHER;
+            }
+        } catch (Exception e) {
+            statement = null;
+            kind = StatementKind.UNPARSEABLE;
+        }
+        synchronized (this) {
+            nrParses++;
+            Entry entry = new Entry(kind, keep ? statement : null);
+            entries.putIfAbsent(sql, entry);
+        }
+        return new Entry(kind, statement);
+    }
+
+    public synchronized String getStatistics() {
+        return String.format(
+                "parsed %d statements for %d transformations of statements (one parse each without the cache), of which %d were skipped since they could not change the statement%n",
+                nrParses, nrRequests + nrSkipped, nrSkipped);
+    }
+
+}
@@ -14,6 +14,8 @@ import net.sf.jsqlparser.statement.select.WithItem;
 import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
 import net.sf.jsqlparser.util.deparser.SelectDeParser;
 
+import sqlancer.transformations.ParsedStatementCache.StatementKind;
+
 /**
  * remove clauses of a select, such as join, where, group by, distinct, offset, limit.
  *
@@ -45,6 +47,11 @@ public class RemoveClausesOfSelect extends JSQLParserBasedTransformation {
         return true;
     }
 
+    @Override
+    protected boolean appliesTo(StatementKind kind) {
+        return kind == StatementKind.SELECT;
+    }
+
     @Override
     public void apply() {
         super.apply();
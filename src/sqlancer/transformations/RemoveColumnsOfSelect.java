@@ -9,6 +9,8 @@ import net.sf.jsqlparser.statement.select.WithItem;
 import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
 import net.sf.jsqlparser.util.deparser.SelectDeParser;
 
+import sqlancer.transformations.ParsedStatementCache.StatementKind;
+
 /**
  * remove columns of a select: e.g. select a, b, c from t -> select a from t.
  */
@@ -37,6 +39,11 @@ public class RemoveColumnsOfSelect extends JSQLParserBasedTransformation {
         return true;
     }
 
+    @Override
+    protected boolean appliesTo(StatementKind kind) {
+        return kind == StatementKind.SELECT;
+    }
+
     @Override
     public void apply() {
         super.apply();
@@ -12,6 +12,8 @@ import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
 import net.sf.jsqlparser.util.deparser.InsertDeParser;
 import net.sf.jsqlparser.util.deparser.SelectDeParser;
 
+import sqlancer.transformations.ParsedStatementCache.StatementKind;
+
 /**
  * remove elements of an expression list.
  *
@@ -60,6 +62,11 @@ public class RemoveElementsOfExpressionList extends JSQLParserBasedTransformatio
         return true;
     }
 
+    @Override
+    protected boolean appliesTo(StatementKind kind) {
+        return kind == StatementKind.SELECT;
+    }
+
     @Override
     public void apply() {
         super.apply();
@@ -7,6 +7,8 @@ import net.sf.jsqlparser.statement.select.SelectBody;
 import net.sf.jsqlparser.statement.select.SetOperationList;
 import net.sf.jsqlparser.statement.values.ValuesStatement;
 
+import sqlancer.transformations.ParsedStatementCache.StatementKind;
+
 /**
  * This Transformer remove rows of insert. Given a sql statement:
  *
@@ -18,6 +20,11 @@ public class RemoveRowsOfInsert extends JSQLParserBasedTransformation {
         super("remove rows of an insert statement");
     }
 
+    @Override
+    protected boolean appliesTo(StatementKind kind) {
+        return kind == StatementKind.INSERT;
+    }
+
     @Override
     public void apply() {
         super.apply();
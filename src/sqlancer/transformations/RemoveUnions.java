@@ -8,6 +8,8 @@ import net.sf.jsqlparser.statement.select.SetOperationList;
 import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
 import net.sf.jsqlparser.util.deparser.SelectDeParser;
 
+import sqlancer.transformations.ParsedStatementCache.StatementKind;
+
 /**
  * try removing sub selects of a union statement.
  *
@@ -41,6 +43,11 @@ public class RemoveUnions extends JSQLParserBasedTransformation {
         return true;
     }
 
+    @Override
+    protected boolean appliesTo(StatementKind kind) {
+        return kind == StatementKind.SELECT;
+    }
+
     @Override
     public void apply() {
         super.apply();
@@ -13,6 +13,8 @@ import net.sf.jsqlparser.statement.select.Select;
 import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
 import net.sf.jsqlparser.util.deparser.SelectDeParser;
 
+import sqlancer.transformations.ParsedStatementCache.StatementKind;
+
 /**
  * Shorten the constant of a statement e.g. "a_very_long_str" -> "_", 12341234->1.
  *
@@ -50,6 +52,11 @@ public class SimplifyConstant extends JSQLParserBasedTransformation {
         super("simplify constant expressions");
     }
 
+    @Override
+    protected boolean appliesTo(StatementKind kind) {
+        return kind == StatementKind.SELECT || kind == StatementKind.INSERT;
+    }
+
     @Override
     public void apply() {
         super.apply();
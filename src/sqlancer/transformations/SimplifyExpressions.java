@@ -12,6 +12,8 @@ import net.sf.jsqlparser.statement.select.Select;
 import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
 import net.sf.jsqlparser.util.deparser.SelectDeParser;
 
+import sqlancer.transformations.ParsedStatementCache.StatementKind;
+
 /**
  * This transformation simplifies complicated expressions e.g: a + (b + c) -> b.
  */
@@ -55,6 +57,11 @@ public class SimplifyExpressions extends JSQLParserBasedTransformation {
         }
     };
 
+    @Override
+    protected boolean appliesTo(StatementKind kind) {
+        return kind == StatementKind.SELECT;
+    }
+
     @Override
     public void apply() {
         super.apply();
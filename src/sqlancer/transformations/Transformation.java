@@ -7,12 +7,14 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
- * The base class of transformations. Defines APIs to remove, replace, remove elements of a list.
+ * The base class of transformations. Defines APIs to remove, replace, remove elements of a list. Each edit is kept if
+ * the bug judgement of the transformation still holds afterwards, so that several transformations can be applied
+ * concurrently if each of them has its own judgement.
  */
 public class Transformation {
 
-    private static Supplier<Boolean> bugJudgement;
-    private static long reduceSteps;
+    private Supplier<Boolean> bugJudgement;
+    private long reduceSteps;
 
     protected boolean isChanged;
     protected String current;
@@ -28,7 +30,7 @@ public class Transformation {
     protected Transformation() {
     }
 
-    public static void setBugJudgement(Supplier<Boolean> judgement) {
+    public void setBugJudgement(Supplier<Boolean> judgement) {
         bugJudgement = judgement;
     }
 
@@ -42,6 +44,25 @@ public class Transformation {
         return true;
     }
 
+    /**
+     * Checks cheaply whether the transformation could change the given statement at all, so that the statements that it
+     * cannot change are skipped before {@link #init(String)}.
+     *
+     * @param sql
+     *            the statement
+     *
+     * @return false if {@link #apply()} would certainly not change the statement
+     */
+    public boolean mayChange(String sql) {
+        return true;
+    }
+
+    /**
+     * Called after {@link #apply()}, when the transformation is done with the current statement.
+     */
+    public void release() {
+    }
+
     public <P, T> boolean tryRemove(P parent, T target, BiConsumer<P, T> setter) {
         setter.accept(parent, null);
         onStatementChanged();
@@ -94,7 +115,7 @@ public class Transformation {
 
     public boolean bugStillTriggers() {
         try {
-            return Transformation.bugJudgement.get();
+            return bugJudgement.get();
         } catch (Exception ignored) {
         }
         return false;
@@ -108,7 +129,7 @@ public class Transformation {
         return isChanged;
     }
 
-    public static long getReduceSteps() {
+    public long getReduceSteps() {
         return reduceSteps;
     }
 
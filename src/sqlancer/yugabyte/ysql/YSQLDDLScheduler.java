@@ -0,0 +1,167 @@
+package sqlancer.yugabyte.ysql;
+
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import sqlancer.MetricsRegistry;
+
+/**
+ * Schedules the DDL statements of all YSQL threads. YugabyteDB rejects a DDL statement that conflicts with a concurrent
+ * change of the catalog (e.g., with a catalog version mismatch), so at most --ddl-concurrency DDL statements are
+ * executed at the same time, and a statement that failed is retried after a jittered exponential backoff. The time that
+ * the threads wait for their turn or for a retry is reported as the "YSQL DDL wait" latency.
+ */
+public final class YSQLDDLScheduler {
+
+    static final String WAIT_REASON = "YSQL DDL wait";
+
+    static final long INITIAL_BACKOFF_MILLIS = 50;
+    static final long MAX_BACKOFF_MILLIS = 2000;
+
+    // the SQLSTATE of serialization failures, which YugabyteDB reports for catalog version mismatches
+    private static final String SERIALIZATION_FAILURE = "40001";
+
+    private static final Object PERMITS_LOCK = new Object();
+    private static volatile Semaphore permits;
+
+    /**
+     * A DDL statement, which is executed again if it failed.
+     *
+     * @param <E>
+     *            the exception that the statement might throw
+     */
+    @FunctionalInterface
+    public interface DDLStatement<E extends Exception> {
+
+        /**
+         * Executes the statement.
+         *
+         * @return false if the statement failed with an expected error, which might have been caused by a concurrent
+         *         DDL statement
+         *
+         * @throws E
+         *             if the statement failed with another error
+         */
+        boolean execute() throws E;
+    }
+
+    private YSQLDDLScheduler() {
+    }
+
+    /**
+     * Executes a DDL statement once no more than --ddl-concurrency - 1 other DDL statements are executed. If the
+     * statement fails with an expected error or a catalog conflict, it is executed again after a backoff, at most
+     * --ddl-max-attempts times in total.
+     *
+     * @param <E>
+     *            the exception that the statement might throw
+     * @param globalState
+     *            the state of the thread
+     * @param statement
+     *            the statement
+     *
+     * @return whether the statement was executed successfully
+     *
+     * @throws E
+     *             if the statement failed with an error that is not a catalog conflict, or with a conflict in its last
+     *             attempt (an assertion error that reports such an error is thrown as well)
+     */
+    public static <E extends Exception> boolean execute(YSQLGlobalState globalState, DDLStatement<E> statement)
+            throws E {
+        YSQLOptions options = globalState.getDbmsSpecificOptions();
+        Semaphore ddlPermits = getPermits(options.ddlConcurrency);
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        for (int attempt = 1;; attempt++) {
+            long startNanos = System.nanoTime();
+            acquire(ddlPermits);
+            MetricsRegistry.recordWait(WAIT_REASON, System.nanoTime() - startNanos);
+            boolean success;
+            try {
+                success = statement.execute();
+            } catch (Exception | AssertionError e) {
+                // SQLQueryAdapter reports unexpected errors, such as catalog conflicts, as assertion errors
+                if (attempt >= options.ddlMaxAttempts || !isCatalogConflict(e)) {
+                    throw e;
+                }
+                success = false;
+            } finally {
+                ddlPermits.release();
+            }
+            if (success) {
+                return true;
+            }
+            if (attempt >= options.ddlMaxAttempts) {
+                return false;
+            }
+            startNanos = System.nanoTime();
+            sleep(getJitteredBackoff(backoffMillis));
+            MetricsRegistry.recordWait(WAIT_REASON, System.nanoTime() - startNanos);
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    // a random time between half of the backoff and the backoff, so that the threads that conflicted do not retry at
+    // the same time
+    static long getJitteredBackoff(long backoffMillis) {
+        return ThreadLocalRandom.current().nextLong(backoffMillis / 2, backoffMillis + 1);
+    }
+
+    static boolean isCatalogConflict(Throwable e) {
+        for (Throwable ex = e; ex != null; ex = ex.getCause()) {
+            if (ex instanceof SQLException && SERIALIZATION_FAILURE.equals(((SQLException) ex).getSQLState())) {
+                return true;
+            }
+            String message = ex.getMessage();
+            if (message != null && (message.contains("Catalog Version Mismatch")
+                    || message.contains("conflicts with higher priority transaction")
+                    || message.contains("The catalog snapshot used for this transaction has been invalidated"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Semaphore getPermits(int ddlConcurrency) {
+        Semaphore ddlPermits = permits;
+        if (ddlPermits == null) {
+            if (ddlConcurrency < 1) {
+                throw new AssertionError("--ddl-concurrency must be a positive number, but is " + ddlConcurrency);
+            }
+            synchronized (PERMITS_LOCK) {
+                ddlPermits = permits;
+                if (ddlPermits == null) {
+                    ddlPermits = new Semaphore(ddlConcurrency, true);
+                    permits = ddlPermits;
+                }
+            }
+        }
+        return ddlPermits;
+    }
+
+    // the permits are created once per run, as all threads have the same options; tests with other options reset them
+    static void resetPermits() {
+        synchronized (PERMITS_LOCK) {
+            permits = null;
+        }
+    }
+
+    private static void acquire(Semaphore ddlPermits) {
+        try {
+            ddlPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+}
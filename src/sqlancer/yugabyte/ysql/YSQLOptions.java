@@ -27,6 +27,12 @@ public class YSQLOptions implements DBMSSpecificOptions<YSQLOracleFactory> {
     public String connectionURL = String.format("jdbc:yugabytedb://%s:%d/yugabyte", YSQLOptions.DEFAULT_HOST,
             YSQLOptions.DEFAULT_PORT);
 
+    @Parameter(names = "--ddl-concurrency", description = "The maximum number of DDL statements that the threads execute concurrently")
+    public int ddlConcurrency = 4;
+
+    @Parameter(names = "--ddl-max-attempts", description = "The maximum number of times that a DDL statement is executed if it fails, e.g., due to a concurrent DDL statement")
+    public int ddlMaxAttempts = 10;
+
     @Override
     public List<YSQLOracleFactory> getTestOracleFactory() {
         return oracle;
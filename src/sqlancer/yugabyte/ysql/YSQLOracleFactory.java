@@ -65,7 +65,7 @@ public enum YSQLOracleFactory implements OracleFactory<YSQLGlobalState> {
             oracles.add(new YSQLTLPWhereOracle(globalState));
             oracles.add(new YSQLTLPHavingOracle(globalState));
             oracles.add(new YSQLTLPAggregateOracle(globalState));
-            return new CompositeTestOracle<YSQLGlobalState>(oracles, globalState);
+            return new CompositeTestOracle<YSQLGlobalState>(oracles);
         }
     }
 
@@ -7,6 +7,7 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
+import java.util.List;
 
 import com.google.auto.service.AutoService;
 
@@ -21,7 +22,6 @@ import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
-import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.yugabyte.ysql.gen.YSQLAlterTableGenerator;
 import sqlancer.yugabyte.ysql.gen.YSQLAnalyzeGenerator;
 import sqlancer.yugabyte.ysql.gen.YSQLCommentGenerator;
@@ -44,7 +44,7 @@ import sqlancer.yugabyte.ysql.gen.YSQLViewGenerator;
 @AutoService(DatabaseProvider.class)
 public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOptions> {
 
-    // TODO Due to yugabyte problems with parallel DDL we need this lock object
+    // TODO Due to yugabyte problems with parallel DDL YCQL needs this lock object (YSQL uses YSQLDDLScheduler)
     public static final Object DDL_LOCK = new Object();
     /**
      * Generate only data types and expressions that are understood by PQS.
@@ -197,22 +197,27 @@ public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOption
         return "ysql";
     }
 
-    // for some reason yugabyte unable to create few databases simultaneously
+    // yugabyte is unable to create several databases simultaneously, see YSQLDDLScheduler
     private void createDatabaseSync(YSQLGlobalState globalState, String entryDatabaseName) throws SQLException {
-        synchronized (DDL_LOCK) {
-            exceptionLessSleep(5000);
-
-            Connection con = createConnectionSafely(entryURL, username, password);
+        Connection con = createConnectionSafely(entryURL, username, password);
+        try {
             globalState.getState().logStatement(String.format("\\c %s;", entryDatabaseName));
             globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
             createDatabaseCommand = getCreateDatabaseCommand(globalState);
             globalState.getState().logStatement(createDatabaseCommand);
-            try (Statement s = con.createStatement()) {
-                s.execute("DROP DATABASE IF EXISTS " + databaseName);
-            }
-            try (Statement s = con.createStatement()) {
-                s.execute(createDatabaseCommand);
-            }
+            YSQLDDLScheduler.execute(globalState, () -> {
+                try (Statement s = con.createStatement()) {
+                    s.execute("DROP DATABASE IF EXISTS " + databaseName);
+                }
+                return true;
+            });
+            YSQLDDLScheduler.execute(globalState, () -> {
+                try (Statement s = con.createStatement()) {
+                    s.execute(createDatabaseCommand);
+                }
+                return true;
+            });
+        } finally {
             con.close();
         }
     }
@@ -238,44 +243,28 @@ public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOption
     }
 
     protected void readFunctions(YSQLGlobalState globalState) throws SQLException {
-        SQLQueryAdapter query = new SQLQueryAdapter("SELECT proname, provolatile FROM pg_proc;");
-        SQLancerResultSet rs = query.executeAndGet(globalState);
-        while (rs.next()) {
-            String functionName = rs.getString(1);
-            Character functionType = rs.getString(2).charAt(0);
+        for (List<String> row : globalState.getCatalogRows("SELECT proname, provolatile FROM pg_proc;")) {
+            String functionName = row.get(0);
+            Character functionType = row.get(1).charAt(0);
             globalState.addFunctionAndType(functionName, functionType);
         }
     }
 
     protected void createTables(YSQLGlobalState globalState, int numTables) throws Exception {
-        synchronized (DDL_LOCK) {
-            boolean prevCreationFailed = false; // small optimization - wait only after failed requests
-            while (globalState.getSchema().getDatabaseTables().size() < numTables) {
-                if (!prevCreationFailed) {
-                    exceptionLessSleep(5000);
-                }
-
-                try {
+        while (globalState.getSchema().getDatabaseTables().size() < numTables) {
+            try {
+                YSQLDDLScheduler.execute(globalState, () -> {
                     String tableName = DBMSCommon.createTableName(globalState.getSchema().getDatabaseTables().size());
                     SQLQueryAdapter createTable = YSQLTableGenerator.generate(tableName, generateOnlyKnown,
                             globalState);
-                    globalState.executeStatement(createTable);
-                    prevCreationFailed = false;
-                } catch (IgnoreMeException e) {
-                    prevCreationFailed = true;
-                }
+                    return globalState.executeStatement(createTable);
+                });
+            } catch (IgnoreMeException e) {
+                // try again with another table
             }
         }
     }
 
-    private void exceptionLessSleep(long timeout) {
-        try {
-            Thread.sleep(timeout);
-        } catch (InterruptedException e) {
-            throw new AssertionError();
-        }
-    }
-
     protected void prepareTables(YSQLGlobalState globalState) throws Exception {
         StatementExecutor<YSQLGlobalState, Action> se = new StatementExecutor<>(globalState, Action.values(),
                 YSQLProvider::mapActions, (q) -> {
@@ -1,7 +1,5 @@
 package sqlancer.yugabyte.ysql.oracle;
 
-import static sqlancer.yugabyte.ysql.YSQLProvider.DDL_LOCK;
-
 import java.util.Arrays;
 import java.util.List;
 
@@ -13,6 +11,7 @@ import sqlancer.common.DBMSCommon;
 import sqlancer.common.oracle.TestOracle;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.yugabyte.ysql.YSQLDDLScheduler;
 import sqlancer.yugabyte.ysql.YSQLErrors;
 import sqlancer.yugabyte.ysql.YSQLGlobalState;
 import sqlancer.yugabyte.ysql.YSQLProvider;
@@ -49,25 +48,18 @@ public class YSQLCatalog implements TestOracle<YSQLGlobalState> {
     }
 
     protected void createTables(YSQLGlobalState globalState, int numTables) throws Exception {
-        synchronized (DDL_LOCK) {
-            while (globalState.getSchema().getDatabaseTables().size() < numTables) {
-                // TODO concurrent DDLs may produce a lot of noise in test logs so its disabled right now
-                // added timeout to avoid possible catalog collisions
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    throw new AssertionError();
-                }
-
-                try {
+        while (globalState.getSchema().getDatabaseTables().size() < numTables) {
+            try {
+                YSQLDDLScheduler.execute(globalState, () -> {
                     String tableName = DBMSCommon.createTableName(globalState.getSchema().getDatabaseTables().size());
                     SQLQueryAdapter createTable = YSQLTableGenerator.generate(tableName, true, globalState);
-                    globalState.executeStatement(createTable);
+                    boolean success = globalState.executeStatement(createTable);
                     globalState.getManager().incrementSelectQueryCount();
                     globalState.executeStatement(new SQLQueryAdapter("COMMIT", true));
-                } catch (IgnoreMeException e) {
-                    // do nothing
-                }
+                    return success;
+                });
+            } catch (IgnoreMeException e) {
+                // do nothing
             }
         }
     }
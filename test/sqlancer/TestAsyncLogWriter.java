@@ -0,0 +1,49 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.log.AsyncLogWriter;
+
+public class TestAsyncLogWriter {
+
+    @Test
+    public void testFlushWritesBufferedText() throws IOException {
+        StringWriter out = new StringWriter();
+        try (AsyncLogWriter writer = new AsyncLogWriter(out, 60_000)) {
+            writer.write("SELECT 1;\n");
+            writer.write("SELECT 2;\n");
+            assertEquals("", out.toString());
+            writer.flush();
+            assertEquals("SELECT 1;\nSELECT 2;\n", out.toString());
+        }
+    }
+
+    @Test
+    public void testCloseWritesBufferedText() throws IOException {
+        StringWriter out = new StringWriter();
+        AsyncLogWriter writer = new AsyncLogWriter(out, 60_000);
+        writer.write("CREATE TABLE t0(c0);\n");
+        writer.close();
+        assertEquals("CREATE TABLE t0(c0);\n", out.toString());
+        assertThrows(IOException.class, () -> writer.write("SELECT 1;\n"));
+    }
+
+    @Test
+    public void testBackgroundDrain() throws Exception {
+        StringWriter out = new StringWriter();
+        try (AsyncLogWriter writer = new AsyncLogWriter(out, 10)) {
+            writer.write("SELECT 1;\n");
+            for (int i = 0; i < 500 && out.toString().isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+            assertEquals("SELECT 1;\n", out.toString());
+        }
+    }
+
+}
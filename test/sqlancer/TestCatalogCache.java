@@ -0,0 +1,66 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TestCatalogCache {
+
+    @Test
+    public void testServerURL() {
+        assertEquals("jdbc:postgresql://localhost:5432",
+                CatalogCache.getServerURL("jdbc:postgresql://localhost:5432/database0?user=sqlancer"));
+        assertEquals("jdbc:postgresql://localhost:5432", CatalogCache.getServerURL("jdbc:postgresql://localhost:5432"));
+        assertEquals("jdbc:sqlite:database.db", CatalogCache.getServerURL("jdbc:sqlite:database.db"));
+    }
+
+    @Test
+    public void testQueryIsExecutedOnce() throws Exception {
+        CatalogCache cache = CatalogCache.open(null);
+        int[] nrExecuted = new int[1];
+        CatalogCache.CatalogQuery query = () -> {
+            nrExecuted[0]++;
+            return Collections.singletonList(Arrays.asList("abs", "i"));
+        };
+        String key = "testQueryIsExecutedOnce";
+        assertEquals("abs", cache.getRows(key, query).get(0).get(0));
+        assertEquals("i", cache.getRows(key, query).get(0).get(1));
+        assertEquals(1, nrExecuted[0]);
+    }
+
+    @Test
+    public void testCacheFile() throws Exception {
+        File file = File.createTempFile("catalog", ".cache");
+        assertTrue(file.delete());
+        try {
+            CatalogCache cache = CatalogCache.load(file.getPath());
+            assertEquals(0, cache.size());
+            cache.getRows("operators", () -> Arrays.asList(Arrays.asList("+"), Arrays.asList("-")));
+            cache.getRows("functions", () -> Collections.singletonList(Arrays.asList("now", null)));
+            cache.save();
+
+            // a new run does not execute the queries
+            CatalogCache loaded = CatalogCache.load(file.getPath());
+            assertEquals(2, loaded.size());
+            List<List<String>> operators = loaded.getRows("operators", () -> {
+                throw new AssertionError();
+            });
+            assertEquals(Arrays.asList(Arrays.asList("+"), Arrays.asList("-")), operators);
+            List<List<String>> functions = loaded.getRows("functions", () -> {
+                throw new AssertionError();
+            });
+            assertEquals("now", functions.get(0).get(0));
+            assertNull(functions.get(0).get(1));
+        } finally {
+            file.delete();
+        }
+    }
+
+}
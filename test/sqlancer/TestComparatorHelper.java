@@ -1,5 +1,7 @@
 package sqlancer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 
 import java.sql.SQLException;
@@ -69,4 +71,49 @@ public class TestComparatorHelper {
         });
     }
 
+    @Test
+    public void testRemoveTrailingZeros() {
+        for (String value : Arrays.asList("", "0", "10", "1.0", "1.000", "1.50", ".0", "1..0", "1.0a", "100", "1.0\n",
+                "1.0\r\n", "1.5\n", "1.\u2028")) {
+            assertEquals(value.replaceAll("[\\.]0+$", ""), ComparatorHelper.removeTrailingZeros(value), value);
+        }
+    }
+
+    @Test
+    public void testResultSetDigestIgnoresOrder() {
+        ResultSetDigest first = new ResultSetDigest();
+        for (String value : Arrays.asList("a", "b", null, "b")) {
+            first.add(value);
+        }
+        ResultSetDigest second = new ResultSetDigest();
+        second.add("b");
+        ResultSetDigest third = new ResultSetDigest();
+        for (String value : Arrays.asList(null, "a", "b")) {
+            third.add(value);
+        }
+        second.addAll(third);
+        assertEquals(first, second);
+        assertEquals(4, second.getNrRows());
+    }
+
+    @Test
+    public void testResultSetDigestCountsDuplicates() {
+        ResultSetDigest first = new ResultSetDigest();
+        ResultSetDigest second = new ResultSetDigest();
+        for (String value : Arrays.asList("a", "a", "b")) {
+            first.add(value);
+        }
+        for (String value : Arrays.asList("a", "b", "b")) {
+            second.add(value);
+        }
+        assertNotEquals(first, second);
+        ResultSetDigest empty = new ResultSetDigest();
+        ResultSetDigest emptyString = new ResultSetDigest();
+        emptyString.add("");
+        ResultSetDigest nullValue = new ResultSetDigest();
+        nullValue.add(null);
+        assertNotEquals(empty, emptyString);
+        assertNotEquals(emptyString, nullValue);
+    }
+
 }
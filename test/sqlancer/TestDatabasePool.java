@@ -0,0 +1,181 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.beust.jcommander.JCommander;
+
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3Provider;
+
+public class TestDatabasePool {
+
+    // the statements that the background threads executed on the entry connections
+    private final List<String> executedStatements = Collections.synchronizedList(new ArrayList<>());
+    // the statements that fail once
+    private final Set<String> failingStatements = Collections.synchronizedSet(new HashSet<>());
+    private volatile long dropMillis;
+
+    private Connection openEntryConnection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (p, method, args) -> method.getName().equals("createStatement") ? createStatement() : null);
+    }
+
+    private Statement createStatement() {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Statement.class },
+                (p, method, args) -> {
+                    if (method.getName().equals("execute")) {
+                        String statement = (String) args[0];
+                        if (failingStatements.remove(statement)) {
+                            throw new SQLException("failed: " + statement);
+                        }
+                        if (statement.startsWith("DROP")) {
+                            Thread.sleep(dropMillis);
+                        }
+                        executedStatements.add(statement);
+                        return false;
+                    }
+                    return null;
+                });
+    }
+
+    private static SQLite3GlobalState createState(String databaseName, boolean usePool) {
+        MainOptions options = new MainOptions();
+        JCommander.newBuilder().addObject(options).build().parse("--database-pool-depth", "2");
+        SQLite3GlobalState state = new SQLite3GlobalState();
+        state.setMainOptions(options);
+        state.setDatabaseName(databaseName);
+        state.setState(new StateToReproduce(databaseName, new SQLite3Provider()));
+        if (usePool) {
+            state.setDatabasePoolName(databaseName);
+        }
+        return state;
+    }
+
+    private Runnable take(SQLite3GlobalState state) throws SQLException {
+        return DatabasePool.take(state, this::openEntryConnection, name -> "DROP DATABASE IF EXISTS " + name,
+                name -> "CREATE DATABASE " + name);
+    }
+
+    @Test
+    public void testOnlyStatesWithAPoolUseIt() {
+        assertTrue(DatabasePool.isEnabled(createState("pooled", true)));
+        // e.g., the states of the reducer and of the connection test
+        assertFalse(DatabasePool.isEnabled(createState("reducer", false)));
+    }
+
+    @Test
+    public void testDatabasesAreTakenFromTheSamePool() throws SQLException {
+        SQLite3GlobalState first = createState("database0", true);
+        take(first).run();
+        assertEquals("database0_0", first.getDatabaseName());
+        // a state that takes a second database still uses the pool of its original name
+        take(first).run();
+        assertEquals("database0_1", first.getDatabaseName());
+        SQLite3GlobalState second = createState("database0", true);
+        take(second);
+        assertTrue(second.getDatabaseName().matches("database0_[0-9]+"), second.getDatabaseName());
+        DatabasePool.closeAll();
+        assertFalse(executedStatements.stream().anyMatch(statement -> statement.contains("database0_0_")));
+    }
+
+    @Test
+    public void testFailedDatabaseIsKept() throws SQLException {
+        SQLite3GlobalState failed = createState("database1", true);
+        Runnable release = take(failed);
+        release.run();
+        DatabasePool.keep(failed);
+        take(createState("database1", true)).run();
+        DatabasePool.closeAll();
+        // the failed database is only dropped before it is created, and the databases that were not taken are dropped
+        assertEquals(1, Collections.frequency(executedStatements, "DROP DATABASE IF EXISTS database1_0"));
+        assertEquals(2, Collections.frequency(executedStatements, "DROP DATABASE IF EXISTS database1_1"));
+        assertEquals(2, Collections.frequency(executedStatements, "DROP DATABASE IF EXISTS database1_2"));
+        assertEquals(2, Collections.frequency(executedStatements, "DROP DATABASE IF EXISTS database1_3"));
+    }
+
+    // takes and releases databases until one with the given name is taken
+    private boolean isTakenAgain(SQLite3GlobalState state, String name) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            take(state).run();
+            if (state.getDatabaseName().equals(name)) {
+                return true;
+            }
+            // gives the background threads the time to drop the released databases
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    @Test
+    public void testNameIsReusedAfterRelease() throws Exception {
+        SQLite3GlobalState state = createState("database2", true);
+        take(state).run();
+        assertEquals("database2_0", state.getDatabaseName());
+        try {
+            assertTrue(isTakenAgain(state, "database2_0"));
+        } finally {
+            DatabasePool.closeAll();
+        }
+    }
+
+    @Test
+    public void testNameIsNotReusedAfterKeep() throws Exception {
+        SQLite3GlobalState state = createState("database3", true);
+        take(state).run();
+        DatabasePool.keep(state);
+        try {
+            assertFalse(isTakenAgain(createState("database3", true), "database3_0"));
+        } finally {
+            DatabasePool.closeAll();
+        }
+        assertEquals(1, Collections.frequency(executedStatements, "DROP DATABASE IF EXISTS database3_0"));
+    }
+
+    @Test
+    public void testCloseAllWaitsForTheDrops() throws SQLException {
+        dropMillis = 50;
+        SQLite3GlobalState state = createState("database4", true);
+        take(state).run();
+        // drops database4_0 in the background
+        take(state).run();
+        DatabasePool.closeAll();
+        // database4_0 and database4_1 were used, database4_2 and database4_3 were created but not taken
+        for (int i = 0; i < 4; i++) {
+            assertEquals(2, Collections.frequency(executedStatements, "DROP DATABASE IF EXISTS database4_" + i));
+        }
+        // the thread gets a new pool
+        take(state).run();
+        assertEquals("database4_0", state.getDatabaseName());
+        DatabasePool.closeAll();
+    }
+
+    @Test
+    public void testNameIsReusedAfterAFailedCreation() throws Exception {
+        failingStatements.add("CREATE DATABASE database5_1");
+        SQLite3GlobalState state = createState("database5", true);
+        take(state).run();
+        assertEquals("database5_0", state.getDatabaseName());
+        try {
+            assertThrows(SQLException.class, () -> take(state));
+            assertTrue(isTakenAgain(state, "database5_1"));
+        } finally {
+            DatabasePool.closeAll();
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.sqlite3.SQLite3Provider;
+
+public class TestDatabaseTemplatePool {
+
+    @Test
+    public void testTemplatesAreSelectedIndependentlyOfTheirOrder() {
+        DatabaseTemplatePool pool = DatabaseTemplatePool.getPool(new SQLite3Provider(), 12);
+        try {
+            assertNull(pool.getTemplate(new Randomly(0)));
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                names.add(pool.reserveTemplate());
+            }
+            assertNull(pool.reserveTemplate());
+            // e.g., the threads that generated the last templates finished first
+            Collections.reverse(names);
+            for (String name : names) {
+                pool.addTemplate(name, Collections.emptyList());
+            }
+            for (int seed = 0; seed < 100; seed++) {
+                int expectedTemplate = new Randomly(seed).getInteger(0, 12);
+                assertEquals("sqlite3-template" + expectedTemplate, pool.getTemplate(new Randomly(seed)).getName());
+            }
+        } finally {
+            DatabaseTemplatePool.deleteAll();
+        }
+    }
+
+}
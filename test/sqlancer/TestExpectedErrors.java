@@ -1,14 +1,19 @@
 package sqlancer;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.ExpectedErrorsMatcher;
 
 public class TestExpectedErrors {
 
@@ -156,4 +161,56 @@ public class TestExpectedErrors {
         assertTrue(errors.errorIsExpected("c"));
         assertFalse(errors.errorIsExpected("aa"));
     }
+
+    @Test
+    public void testStringsOverlapping() {
+        ExpectedErrors errors = ExpectedErrors.from("abcd", "bce", "cx");
+        assertTrue(errors.errorIsExpected("abce"));
+        assertTrue(errors.errorIsExpected("abcx"));
+        assertTrue(errors.errorIsExpected("xxabcdxx"));
+        assertFalse(errors.errorIsExpected("abc"));
+        assertFalse(errors.errorIsExpected("bcd"));
+    }
+
+    @Test
+    public void testAddAfterCheck() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.add("a");
+        assertFalse(errors.errorIsExpected("b"));
+        errors.add("b");
+        assertTrue(errors.errorIsExpected("b"));
+        errors.addRegexString("c\\d");
+        assertTrue(errors.errorIsExpected("c0"));
+    }
+
+    @Test
+    public void testRegexesNotCombinable() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.addRegex(Pattern.compile("^a", Pattern.CASE_INSENSITIVE));
+        errors.addRegexString("(b)\\1");
+        errors.addRegexString("\\Q(c");
+        errors.addRegexString("d$");
+        assertTrue(errors.errorIsExpected("A"));
+        assertTrue(errors.errorIsExpected("bb"));
+        assertTrue(errors.errorIsExpected("(c"));
+        assertTrue(errors.errorIsExpected("d"));
+        assertFalse(errors.errorIsExpected("ba"));
+        assertFalse(errors.errorIsExpected("c"));
+        assertFalse(errors.errorIsExpected("dd "));
+    }
+
+    @Test
+    public void testMatchersAreCachedPastTheCacheSize() {
+        Set<String> first = Set.of("testMatchersAreCachedPastTheCacheSize");
+        ExpectedErrorsMatcher firstMatcher = ExpectedErrorsMatcher.get(first, Collections.emptySet());
+        for (int i = 0; i < 5000; i++) {
+            Set<String> errors = Set.of("error " + i);
+            ExpectedErrorsMatcher matcher = ExpectedErrorsMatcher.get(errors, Collections.emptySet());
+            // the set is still cached after many distinct sets
+            assertSame(matcher, ExpectedErrorsMatcher.get(errors, Collections.emptySet()));
+            assertTrue(matcher.matches("error " + i));
+        }
+        // the least recently used set was evicted
+        assertNotSame(firstMatcher, ExpectedErrorsMatcher.get(first, Collections.emptySet()));
+    }
 }
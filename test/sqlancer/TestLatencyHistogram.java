@@ -0,0 +1,59 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TestLatencyHistogram {
+
+    @Test
+    public void testBucketsCoverAllValues() {
+        assertEquals(0, LatencyHistogram.getBucketLowerBound(0));
+        for (int i = 1; i < LatencyHistogram.NR_BUCKETS; i++) {
+            long lowerBound = LatencyHistogram.getBucketLowerBound(i);
+            assertEquals(LatencyHistogram.getBucketUpperBound(i - 1) + 1, lowerBound);
+            assertEquals(i, LatencyHistogram.getBucketIndex(lowerBound));
+            assertEquals(i, LatencyHistogram.getBucketIndex(LatencyHistogram.getBucketUpperBound(i)));
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.getBucketUpperBound(LatencyHistogram.NR_BUCKETS - 1));
+    }
+
+    @Test
+    public void testBucketPrecision() {
+        for (int i = LatencyHistogram.SUB_BUCKETS; i < LatencyHistogram.NR_BUCKETS - 1; i++) {
+            long lowerBound = LatencyHistogram.getBucketLowerBound(i);
+            long width = LatencyHistogram.getBucketUpperBound(i) - lowerBound + 1;
+            assertTrue(width * LatencyHistogram.SUB_BUCKETS <= lowerBound);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertEquals(500_500, snapshot.getMean(), 0.001);
+        assertPercentile(500_000, snapshot.getValueAtPercentile(50));
+        assertPercentile(990_000, snapshot.getValueAtPercentile(99));
+        assertEquals(1_000_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().getSnapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+        assertEquals(0, snapshot.getMean());
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        assertTrue(actual >= expected, () -> actual + " < " + expected);
+        assertTrue(actual <= expected + expected / LatencyHistogram.SUB_BUCKETS, () -> actual + " > " + expected);
+    }
+
+}
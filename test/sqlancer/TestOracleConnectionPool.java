@@ -0,0 +1,101 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.OracleConnectionPool.ConnectionTask;
+import sqlancer.common.query.Query;
+import sqlancer.common.schema.AbstractSchema;
+
+public class TestOracleConnectionPool {
+
+    private static final class NamedConnection implements SQLancerDBConnection {
+
+        private final String name;
+
+        NamedConnection(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getDatabaseVersion() {
+            return "";
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+    private final GlobalState<DBMSSpecificOptions<?>, AbstractSchema<?, ?>, NamedConnection> state = new GlobalState<DBMSSpecificOptions<?>, AbstractSchema<?, ?>, NamedConnection>() {
+
+        @Override
+        protected void executeEpilogue(Query<?> q, boolean success, ExecutionTimer timer) {
+        }
+
+        @Override
+        protected AbstractSchema<?, ?> readSchema() {
+            return null;
+        }
+    };
+
+    {
+        state.setConnection(new NamedConnection("primary"));
+    }
+
+    private <T> List<T> executeWithPool(List<ConnectionTask<NamedConnection, T>> tasks) throws Exception {
+        OracleConnectionPool<NamedConnection> pool = new OracleConnectionPool<>(
+                Arrays.asList(new NamedConnection("pooled"), new NamedConnection("pooled")));
+        state.setOracleConnectionPool(pool);
+        try {
+            return OracleConnectionPool.execute(state, tasks);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testWithoutPool() throws Exception {
+        List<ConnectionTask<NamedConnection, String>> tasks = Arrays.asList(con -> con.name + 1, con -> con.name + 2);
+        assertEquals(Arrays.asList("primary1", "primary2"), OracleConnectionPool.execute(state, tasks));
+    }
+
+    @Test
+    public void testResultsInTaskOrder() throws Exception {
+        List<ConnectionTask<NamedConnection, String>> tasks = Arrays.asList(con -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            return con.name + 1;
+        }, con -> con.name + 2, con -> con.name + 3);
+        assertEquals(Arrays.asList("pooled1", "pooled2", "pooled3"), executeWithPool(tasks));
+    }
+
+    @Test
+    public void testUnexpectedErrorFallsBackToPrimaryConnection() throws Exception {
+        List<ConnectionTask<NamedConnection, String>> tasks = Arrays.asList(con -> con.name + 1, con -> {
+            if (!"primary".equals(con.name)) {
+                throw new AssertionError("relation does not exist");
+            }
+            return con.name + 2;
+        });
+        assertEquals(Arrays.asList("primary1", "primary2"), executeWithPool(tasks));
+    }
+
+    @Test
+    public void testExpectedErrorIsPropagated() throws Exception {
+        List<ConnectionTask<NamedConnection, String>> tasks = Arrays.asList(con -> con.name, con -> {
+            throw new IgnoreMeException();
+        });
+        assertThrows(IgnoreMeException.class, () -> executeWithPool(tasks));
+    }
+
+}
@@ -0,0 +1,161 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.reducer.VirtualDB.VirtualDBProvider;
+
+public class TestQueryPlanGuidance {
+
+    private static QueryPlanPool createPool(int maxPoolSize) {
+        return new QueryPlanGuidance(new double[] { 0 }, QueryPlanCoverage.createInMemory()).createPool(maxPoolSize);
+    }
+
+    @Test
+    public void testAddQueryPlan() {
+        QueryPlanPool pool = createPool(100);
+        assertTrue(pool.addQueryPlan("SELECT 1", "plan1"));
+        assertFalse(pool.addQueryPlan("SELECT 2", "plan1"));
+        assertTrue(pool.addQueryPlan("SELECT 3", "plan2"));
+        assertEquals(2, pool.getPoolSize());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyObservedPlans() {
+        QueryPlanPool pool = createPool(10);
+        for (int i = 0; i < 10; i++) {
+            pool.addQueryPlan("SELECT " + i, "plan" + i);
+        }
+        // observe the first plan again, so that it is kept
+        assertFalse(pool.addQueryPlan("SELECT 0", "plan0"));
+        assertTrue(pool.addQueryPlan("SELECT 10", "plan10"));
+        assertEquals(9, pool.getPoolSize());
+        assertFalse(pool.addQueryPlan("SELECT 0", "plan0"));
+        assertFalse(pool.addQueryPlan("SELECT 10", "plan10"));
+        assertEquals(9, pool.getPoolSize());
+        // the evicted plans are not new again
+        assertFalse(pool.addQueryPlan("SELECT 1", "plan1"));
+        assertEquals(10, pool.getPoolSize());
+    }
+
+    @Test
+    public void testCoverageIsShared() {
+        QueryPlanCoverage coverage = QueryPlanCoverage.createInMemory();
+        QueryPlanPool pool1 = new QueryPlanGuidance(new double[] { 0 }, coverage).createPool(100);
+        QueryPlanPool pool2 = new QueryPlanGuidance(new double[] { 0 }, coverage).createPool(100);
+        assertTrue(pool1.addQueryPlan("SELECT * FROM t0", "SCAN t0"));
+        assertFalse(pool2.addQueryPlan("SELECT * FROM t1", "SCAN t1"));
+        assertTrue(pool2.addQueryPlan("SELECT * FROM t1 WHERE c0", "SEARCH t1 USING INDEX i0"));
+    }
+
+    @Test
+    public void testInMemoryCoverageIsShared() {
+        assertSame(QueryPlanCoverage.open(null), QueryPlanCoverage.open(null));
+    }
+
+    @Test
+    public void testCoverageFile() throws Exception {
+        File file = File.createTempFile("coverage", ".qpg");
+        assertTrue(file.delete());
+        try {
+            QueryPlanCoverage coverage = QueryPlanCoverage.load(file.getPath());
+            assertEquals(0, coverage.size());
+            assertTrue(coverage.add(QueryPlanCoverage.getFingerprint("SCAN t0")));
+            assertTrue(coverage.add(QueryPlanCoverage.getFingerprint("SCAN v0")));
+            coverage.save();
+            // a header and two fingerprints
+            assertEquals(12 + 2 * 8, file.length());
+
+            // a new run loads the fingerprints
+            QueryPlanCoverage loaded = QueryPlanCoverage.load(file.getPath());
+            assertEquals(2, loaded.size());
+            assertFalse(loaded.add(QueryPlanCoverage.getFingerprint("SCAN t3")));
+            assertTrue(loaded.add(QueryPlanCoverage.getFingerprint("SCAN i0")));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testRecheckQueryPlans() throws Exception {
+        QueryPlanPool pool = createPool(100);
+        Map<String, String> plans = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            plans.put("SELECT " + i, "plan" + i);
+            pool.addQueryPlan("SELECT " + i, "plan" + i);
+        }
+        // after a mutation, one query is invalid, and two queries have a new plan in common
+        plans.put("SELECT 0", "");
+        plans.put("SELECT 1", "plan4");
+        plans.put("SELECT 2", "plan4");
+        double reward = pool.recheckQueryPlans(4, new Randomly(0), plans::get);
+        assertEquals(0.25, reward, 0.0001);
+        assertEquals(2, pool.getPoolSize());
+        assertFalse(pool.addQueryPlan("SELECT 3", "plan3"));
+        assertFalse(pool.addQueryPlan("SELECT 1", "plan4"));
+    }
+
+    @Test
+    public void testRecheckSample() throws Exception {
+        QueryPlanPool pool = createPool(1000);
+        for (int i = 0; i < 100; i++) {
+            pool.addQueryPlan("SELECT " + i, "plan" + i);
+        }
+        int[] nrChecked = new int[1];
+        pool.recheckQueryPlans(10, new Randomly(0), query -> {
+            nrChecked[0]++;
+            return "plan" + query.substring("SELECT ".length());
+        });
+        assertEquals(10, nrChecked[0]);
+        assertEquals(100, pool.getPoolSize());
+    }
+
+    @Test
+    public void testRewards() {
+        QueryPlanGuidance qpg = new QueryPlanGuidance(new double[] { 0, 0, 0 }, QueryPlanCoverage.createInMemory());
+        qpg.addReward(1, 0.5);
+        qpg.updateReward(2, 1, 0.25);
+        assertEquals(0.5, qpg.getReward(1), 0.0001);
+        assertEquals(0.25, qpg.getReward(2), 0.0001);
+        assertEquals(1, qpg.getBestMutator());
+    }
+
+    @Test
+    public void testRewardsAreSharedByTheProvidersOfADBMS() {
+        // a provider is created for each database
+        ProviderAdapter<?, ?, ?> provider1 = new SharedRewardsProvider();
+        ProviderAdapter<?, ?, ?> provider2 = new SharedRewardsProvider();
+        QueryPlanGuidance qpg = provider1.getQueryPlanGuidance(MainOptions.DEFAULT_OPTIONS);
+        assertSame(qpg, provider2.getQueryPlanGuidance(MainOptions.DEFAULT_OPTIONS));
+        qpg.addReward(1, 0.5);
+        assertEquals(0.5, provider2.getQueryPlanGuidance(MainOptions.DEFAULT_OPTIONS).getReward(1), 0.0001);
+        assertEquals(1, provider2.getQueryPlanGuidance(MainOptions.DEFAULT_OPTIONS).getBestMutator());
+        // the plans of a database are not checked again on the next one
+        QueryPlanPool pool1 = qpg.createPool(100);
+        assertTrue(pool1.addQueryPlan("SELECT 1", "plan1"));
+        assertEquals(0, qpg.createPool(100).getPoolSize());
+    }
+
+    private static class SharedRewardsProvider extends VirtualDBProvider {
+
+        @Override
+        public String getDBMSName() {
+            return "shared_rewards";
+        }
+
+        @Override
+        protected double[] initializeWeightedAverageReward() {
+            return new double[] { 0, 0 };
+        }
+
+    }
+
+}
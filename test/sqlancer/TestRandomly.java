@@ -9,7 +9,10 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -52,6 +55,34 @@ public class TestRandomly {
         } while (!encounteredEmptySubset || !encounteredOriginalSet || !encounteredStrictSubsetNonEmpty);
     }
 
+    @Test
+    public void testNonEmptySubsetDistinct() {
+        List<Integer> options = Arrays.asList(1, 2, 3, 4, 5);
+        boolean[] encountered = new boolean[options.size() + 1];
+        for (int i = 0; i < NR_MIN_RUNS; i++) {
+            List<Integer> subset = Randomly.nonEmptySubset(options);
+            assertFalse(subset.isEmpty());
+            assertEquals(subset.size(), new HashSet<>(subset).size());
+            for (Integer option : subset) {
+                encountered[option] = true;
+            }
+        }
+        for (int i = 1; i < encountered.length; i++) {
+            assertTrue(encountered[i]);
+        }
+    }
+
+    @Test
+    public void testCachedIntegersAreReused() {
+        Randomly r = new Randomly();
+        Set<Long> values = new HashSet<>();
+        for (int i = 0; i < NR_MIN_RUNS; i++) {
+            values.add(r.getInteger());
+        }
+        // with caching enabled per default, about a third of the values are taken from the cache
+        assertTrue(values.size() < NR_MIN_RUNS * 9 / 10);
+    }
+
     @Test
     public void testString() {
         boolean encounteredInteger = false;
@@ -223,6 +254,40 @@ public class TestRandomly {
         }
     }
 
+    @Test
+    public void testSplittableGeneratorIsDeterministic() {
+        Random first = Randomly.RandomGenerator.SPLITTABLE.create(42);
+        Random second = Randomly.RandomGenerator.SPLITTABLE.create(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+            assertEquals(first.nextInt(100), second.nextInt(100));
+            assertEquals(first.nextGaussian(), second.nextGaussian());
+        }
+    }
+
+    @Test
+    public void testWorkerSeeds() {
+        long[] seeds = Randomly.getWorkerSeeds(42, 8);
+        assertEquals(42, seeds[0]);
+        assertTrue(Arrays.equals(seeds, Randomly.getWorkerSeeds(42, 8)));
+        assertEquals(8, Arrays.stream(seeds).distinct().count());
+    }
+
+    @Test
+    public void testInstanceDrawsFromItsOwnGenerator() {
+        List<String> expected = new ArrayList<>();
+        Randomly reference = new Randomly(42);
+        for (int i = 0; i < 1000; i++) {
+            expected.add(reference.getString() + reference.getInteger() + reference.getDouble());
+        }
+        Randomly r = new Randomly(42);
+        for (int i = 0; i < 1000; i++) {
+            // e.g., another state that is created on the same thread
+            new Randomly(i);
+            assertEquals(expected.get(i), r.getString() + r.getInteger() + r.getDouble());
+        }
+    }
+
     private List<String> getRandomValueList(Randomly r) {
         List<String> values = new ArrayList<>();
         for (int i = 0; i < 1000; i++) {
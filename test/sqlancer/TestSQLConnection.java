@@ -0,0 +1,96 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class TestSQLConnection {
+
+    private final Set<Statement> closedStatements = new HashSet<>();
+    private boolean connectionClosed;
+
+    private <T> T createProxy(Class<T> type) {
+        Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                (p, method, args) -> {
+                    switch (method.getName()) {
+                    case "createStatement":
+                        return createProxy(Statement.class);
+                    case "prepareStatement":
+                        return createProxy(PreparedStatement.class);
+                    case "close":
+                        if (p instanceof Statement) {
+                            closedStatements.add((Statement) p);
+                        } else {
+                            connectionClosed = true;
+                        }
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(p);
+                    case "equals":
+                        return p == args[0];
+                    default:
+                        return null;
+                    }
+                });
+        return type.cast(proxy);
+    }
+
+    @Test
+    public void testStatementIsReused() throws SQLException {
+        SQLConnection con = new SQLConnection(createProxy(Connection.class));
+        Statement first = con.getCachedStatement();
+        // the first statement is still in use
+        Statement second = con.getCachedStatement();
+        assertNotSame(first, second);
+        con.releaseStatement(first);
+        con.releaseStatement(second);
+        assertTrue(closedStatements.contains(second));
+        assertSame(first, con.getCachedStatement());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPreparedStatementIsClosed() throws SQLException {
+        SQLConnection con = new SQLConnection(createProxy(Connection.class));
+        PreparedStatement first = con.getCachedPreparedStatement("SELECT ?");
+        PreparedStatement second = con.getCachedPreparedStatement("SELECT ?, ?");
+        con.releasePreparedStatement("SELECT ?", first, 1);
+        assertSame(first, con.getCachedPreparedStatement("SELECT ?"));
+        con.releasePreparedStatement("SELECT ?", first, 1);
+        con.releasePreparedStatement("SELECT ?, ?", second, 1);
+        assertEquals(Set.of(first), closedStatements);
+        assertSame(second, con.getCachedPreparedStatement("SELECT ?, ?"));
+    }
+
+    @Test
+    public void testOnCloseRunsAfterTheConnectionIsClosed() throws SQLException {
+        boolean[] closedBeforeOnClose = new boolean[1];
+        SQLConnection con = new SQLConnection(createProxy(Connection.class),
+                () -> closedBeforeOnClose[0] = connectionClosed);
+        con.close();
+        assertTrue(closedBeforeOnClose[0]);
+    }
+
+    @Test
+    public void testCachedStatementsAreClosedWithTheConnection() throws SQLException {
+        SQLConnection con = new SQLConnection(createProxy(Connection.class));
+        Statement statement = con.getCachedStatement();
+        con.releaseStatement(statement);
+        PreparedStatement preparedStatement = con.getCachedPreparedStatement("SELECT ?");
+        con.releasePreparedStatement("SELECT ?", preparedStatement, 1);
+        con.close();
+        assertEquals(Set.of(statement, preparedStatement), closedStatements);
+        assertTrue(connectionClosed);
+    }
+
+}
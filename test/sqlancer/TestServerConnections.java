@@ -0,0 +1,102 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class TestServerConnections {
+
+    private final List<Connection> openedConnections = new ArrayList<>();
+    private final Set<Connection> closedConnections = new HashSet<>();
+    private final Set<Connection> invalidConnections = new HashSet<>();
+
+    private Connection openConnection() {
+        Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (p, method, args) -> {
+                    switch (method.getName()) {
+                    case "isValid":
+                        return !invalidConnections.contains(p);
+                    case "close":
+                        closedConnections.add((Connection) p);
+                        return null;
+                    case "isClosed":
+                        return closedConnections.contains(p);
+                    case "getCatalog":
+                        return "database" + openedConnections.indexOf(p);
+                    case "hashCode":
+                        return System.identityHashCode(p);
+                    case "equals":
+                        return p == args[0];
+                    default:
+                        return null;
+                    }
+                });
+        Connection con = (Connection) proxy;
+        openedConnections.add(con);
+        return con;
+    }
+
+    @Test
+    public void testAdminConnectionIsReused() throws SQLException {
+        // each test uses its own URL, as the connections are kept by the thread that runs all tests
+        String url = "jdbc:test://localhost/testAdminConnectionIsReused";
+        Connection first = ServerConnections.getAdminConnection(url, this::openConnection);
+        assertSame(first, ServerConnections.getAdminConnection(url, this::openConnection));
+        invalidConnections.add(first);
+        Connection second = ServerConnections.getAdminConnection(url, this::openConnection);
+        assertEquals(openedConnections.get(1), second);
+        assertTrue(closedConnections.contains(first));
+        ServerConnections.closeAll();
+        assertTrue(closedConnections.contains(second));
+    }
+
+    @Test
+    public void testClosedSessionConnectionIsResetAndReused() throws SQLException {
+        String url = "jdbc:test://localhost/testClosedSessionConnectionIsResetAndReused";
+        List<Connection> resetConnections = new ArrayList<>();
+        Connection con = ServerConnections.getSessionConnection(url, this::openConnection, resetConnections::add);
+        assertEquals("database0", con.getCatalog());
+        con.close();
+        assertTrue(con.isClosed());
+        assertTrue(closedConnections.isEmpty());
+
+        Connection reused = ServerConnections.getSessionConnection(url, this::openConnection, resetConnections::add);
+        assertEquals("database0", reused.getCatalog());
+        assertEquals(openedConnections, resetConnections);
+        assertFalse(reused.isClosed());
+        reused.close();
+        // the closed proxy does not reach the connection, which is used by the next database
+        assertThrows(SQLException.class, reused::createStatement);
+        assertThrows(SQLException.class, con::getCatalog);
+
+        ServerConnections.closeAll();
+        assertEquals(Set.copyOf(openedConnections), closedConnections);
+    }
+
+    @Test
+    public void testSessionConnectionThatCannotBeResetIsReplaced() throws SQLException {
+        String url = "jdbc:test://localhost/testSessionConnectionThatCannotBeResetIsReplaced";
+        ServerConnections.getSessionConnection(url, this::openConnection, con -> {
+        }).close();
+        Connection con = ServerConnections.getSessionConnection(url, this::openConnection, c -> {
+            throw new SQLException("cannot reset the session");
+        });
+        assertEquals("database1", con.getCatalog());
+        assertEquals(Set.of(openedConnections.get(0)), closedConnections);
+        con.close();
+        ServerConnections.closeAll();
+    }
+
+}
@@ -81,6 +81,33 @@ public class TestASTBasedReducer {
                 "SELECT row_id FROM v0;\nSELECT row_id FROM v0 UNION SELECT * FROM v0;");
     }
 
+    @Test
+    void testMultipleStatementsInParallel() throws Exception {
+        TestEnvironment env = TestEnvironment.getASTBasedReducerEnv();
+        env.setReducerThreads(4);
+
+        String query = "SELECT DISTINCT row_id, c FROM v0 WHERE ((v0.rowid || (v0.c < 200 && v0.c >= 100) || 114514)OR(((v0.c0)||(1529686005)))) UNION SELECT DISTINCT * FROM v0 WHERE (NOT ((v0.rowid)OR(((v0.c0)||(1529686005))))) UNION SELECT DISTINCT * FROM v0 WHERE ((((v0.rowid)OR(((v0.c0)||(1529686005))))) IS NULL)";
+        env.setInitialStatementsFromStrings(List.of(query, query, query, query, query));
+        env.setBugInducingCondition(statements -> {
+            String queriesString = TestEnvironment.getQueriesString(statements);
+            try {
+                for (Query<?> s : statements) {
+                    CCJSqlParserUtil.parse(s.getQueryString());
+                }
+            } catch (JSQLParserException e) {
+                return false;
+            }
+
+            return queriesString.toUpperCase().contains("UNION");
+        });
+        env.runReduce();
+        List<Query<?>> reducedResult = env.getReducedStatements();
+        // the same result as if the statements were transformed one after another
+        assertEquals(TestEnvironment.getQueriesString(reducedResult),
+                "SELECT row_id FROM v0;\nSELECT row_id FROM v0;\nSELECT row_id FROM v0;\nSELECT row_id FROM v0;\n"
+                        + "SELECT row_id FROM v0 UNION SELECT * FROM v0;");
+    }
+
     @Test
     void removeJoins() throws Exception {
         TestEnvironment env = TestEnvironment.getASTBasedReducerEnv();
@@ -0,0 +1,68 @@
+package sqlancer.reducer;
+
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import org.junit.jupiter.api.Test;
+import sqlancer.transformations.ParsedStatementCache;
+import sqlancer.transformations.ParsedStatementCache.StatementKind;
+import sqlancer.transformations.RemoveClausesOfSelect;
+import sqlancer.transformations.RemoveRowsOfInsert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestParsedStatementCache {
+
+    private static final String SELECT = "SELECT * FROM t0 WHERE c0 = 1";
+    private static final String INSERT = "INSERT INTO t0 (c0) VALUES (1), (2)";
+
+    @Test
+    void testStatementIsHandedOutToOneTransformationAtATime() {
+        ParsedStatementCache cache = new ParsedStatementCache();
+        assertEquals(StatementKind.SELECT, cache.classify(SELECT));
+
+        Statement first = cache.take(SELECT);
+        Statement second = cache.take(SELECT);
+        assertNotSame(first, second);
+        // an edit of one transformation does not reach the statement of another
+        ((PlainSelect) ((Select) first).getSelectBody()).setWhere(null);
+        assertEquals(SELECT, second.toString());
+
+        // the edited statement is not handed back, but the unchanged one is handed out again
+        cache.release(SELECT, second);
+        assertSame(second, cache.take(SELECT));
+        assertEquals(SELECT, cache.take(SELECT).toString());
+    }
+
+    @Test
+    void testUnparseableStatement() {
+        ParsedStatementCache cache = new ParsedStatementCache();
+        assertEquals(StatementKind.UNPARSEABLE, cache.classify("SELECT FROM WHERE"));
+        assertNull(cache.take("SELECT FROM WHERE"));
+    }
+
+    @Test
+    void testTransformationsSkipStatementsOfOtherKinds() {
+        ParsedStatementCache cache = new ParsedStatementCache();
+        RemoveClausesOfSelect removeClauses = new RemoveClausesOfSelect();
+        removeClauses.setParsedStatementCache(cache);
+        RemoveRowsOfInsert removeRows = new RemoveRowsOfInsert();
+        removeRows.setParsedStatementCache(cache);
+
+        assertTrue(removeClauses.mayChange(SELECT));
+        assertFalse(removeClauses.mayChange(INSERT));
+        assertTrue(removeRows.mayChange(INSERT));
+        assertFalse(removeRows.mayChange(SELECT));
+        assertFalse(removeRows.mayChange("CREATE TABLE t0 (c0 INT)"));
+        // the unparseable statements are left to init(), which reports them
+        assertTrue(removeRows.mayChange("SELECT FROM WHERE"));
+
+        assertTrue(cache.getStatistics().contains("of which 3 were skipped"), cache.getStatistics());
+    }
+
+}
@@ -0,0 +1,128 @@
+package sqlancer.reducer;
+
+import org.junit.jupiter.api.Test;
+import sqlancer.DatabaseTemplatePool.DatabaseTemplate;
+import sqlancer.MainOptions;
+import sqlancer.ReplayCheckpoints;
+import sqlancer.SQLConnection;
+import sqlancer.common.query.Query;
+import sqlancer.reducer.VirtualDB.VirtualDBGlobalState;
+import sqlancer.reducer.VirtualDB.VirtualDBProvider;
+import sqlancer.reducer.VirtualDB.VirtualDBQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestReplayCheckpoints {
+
+    private final List<String> executedStatements = new ArrayList<>();
+    private final List<String> savedTemplates = new ArrayList<>();
+    private final List<String> restoredTemplates = new ArrayList<>();
+    private final List<String> deletedTemplates = new ArrayList<>();
+
+    private final VirtualDBProvider provider = new VirtualDBProvider() {
+
+        @Override
+        public boolean supportsDatabaseTemplates() {
+            return true;
+        }
+
+        @Override
+        public boolean saveDatabaseTemplate(VirtualDBGlobalState globalState, String templateName) {
+            savedTemplates.add(templateName);
+            return true;
+        }
+
+        @Override
+        public void restoreDatabaseTemplate(VirtualDBGlobalState globalState, DatabaseTemplate template) {
+            restoredTemplates.add(template.getName());
+        }
+
+        @Override
+        public void deleteDatabaseTemplate(String templateName) {
+            deletedTemplates.add(templateName);
+        }
+    };
+
+    private final VirtualDBGlobalState state = new VirtualDBGlobalState() {
+
+        @Override
+        public boolean executeStatement(Query<SQLConnection> q, String... fills) {
+            executedStatements.add(q.getQueryString());
+            return true;
+        }
+    };
+
+    private static List<VirtualDBQuery> getStatements(String... statements) {
+        List<VirtualDBQuery> queries = new ArrayList<>();
+        for (String s : statements) {
+            queries.add(new VirtualDBQuery(s));
+        }
+        return queries;
+    }
+
+    @Test
+    void testCandidateIsReplayedFromItsLongestPrefix() throws Exception {
+        ReplayCheckpoints<VirtualDBGlobalState, SQLConnection> replayer = new ReplayCheckpoints<>(provider,
+                "virtual_db", 16);
+        replayer.replay(state, getStatements("s0;", "s1;", "s2;", "s3;", "s4;"), 3);
+        assertEquals(List.of("s0;", "s1;", "s2;", "s3;", "s4;"), executedStatements);
+        assertEquals(1, savedTemplates.size());
+
+        executedStatements.clear();
+        replayer.replay(state, getStatements("s0;", "s1;", "s2;", "t3;"), 4);
+        assertEquals(savedTemplates, restoredTemplates);
+        assertEquals(List.of("t3;"), executedStatements);
+
+        executedStatements.clear();
+        // the candidate differs within the prefix of the checkpoint
+        replayer.replay(state, getStatements("s0;", "t1;", "s2;"), 3);
+        assertEquals(1, restoredTemplates.size());
+        assertEquals(List.of("s0;", "t1;", "s2;"), executedStatements);
+
+        String statistics = ReplayCheckpoints.getStatistics(List.of(replayer));
+        assertTrue(statistics.startsWith("checkpoints: 1 hits, 2 misses, 3 statements skipped, 9 statements replayed"),
+                statistics);
+
+        ReplayCheckpoints.deleteCheckpoints(List.of(replayer));
+        assertEquals(savedTemplates, deletedTemplates);
+    }
+
+    @Test
+    void testLeastRecentlyUsedCheckpointIsOverwritten() throws Exception {
+        ReplayCheckpoints<VirtualDBGlobalState, SQLConnection> replayer = new ReplayCheckpoints<>(provider,
+                "virtual_db", 1);
+        replayer.replay(state, getStatements("s0;", "s1;", "s2;"), 1);
+        replayer.replay(state, getStatements("t0;", "t1;", "t2;"), 2);
+        assertEquals(List.of("virtual_db-checkpoint0", "virtual_db-checkpoint0"), savedTemplates);
+
+        executedStatements.clear();
+        replayer.replay(state, getStatements("s0;", "s1;"), 2);
+        assertTrue(restoredTemplates.isEmpty());
+        assertEquals(List.of("s0;", "s1;"), executedStatements);
+    }
+
+    @Test
+    void testCheckpointsAreOnlyEnabledByDefaultWithDatabaseTemplates() {
+        MainOptions options = new MainOptions();
+        VirtualDBProvider unsupportedProvider = new VirtualDBProvider();
+        assertNull(ReplayCheckpoints.validateOptions(options, provider));
+        assertNull(ReplayCheckpoints.validateOptions(options, unsupportedProvider));
+        assertEquals(16, ReplayCheckpoints.getMaxCheckpoints(options, provider));
+        assertEquals(0, ReplayCheckpoints.getMaxCheckpoints(options, unsupportedProvider));
+    }
+
+    @Test
+    void testCheckpointsAreRejectedWithoutDatabaseTemplates() {
+        VirtualDBProvider unsupportedProvider = new VirtualDBProvider();
+        assertThrows(AssertionError.class, () -> new ReplayCheckpoints<>(unsupportedProvider, "virtual_db", 1));
+        assertNotNull(new ReplayCheckpoints<>(unsupportedProvider, "virtual_db", 0));
+    }
+
+}
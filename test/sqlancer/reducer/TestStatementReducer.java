@@ -50,6 +50,29 @@ public class TestStatementReducer {
         assertEquals(queriesString, "Statement_29;");
     }
 
+    @Test
+    void testParallelDeltaDebugging() throws Exception {
+        TestEnvironment env = TestEnvironment.getStatementReducerEnv();
+        env.setReducerThreads(4);
+        List<String> fakeStatements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String statement = "Statement_" + i + ";";
+            fakeStatements.add(statement);
+        }
+
+        env.setInitialStatementsFromStrings(fakeStatements);
+        env.setBugInducingCondition(queryList -> {
+            String queries = TestEnvironment.getQueriesString(queryList);
+            return queries.contains("Statement_2;") && queries.contains("Statement_318;")
+                    && queries.contains("Statement_990;");
+        });
+
+        env.runReduce();
+        List<Query<?>> reducedQueries = env.getReducedStatements();
+        String queriesString = TestEnvironment.getQueriesString(reducedQueries);
+        assertEquals(queriesString, "Statement_2;\nStatement_318;\nStatement_990;");
+    }
+
     @Test
     void testDeltaDebuggingWithStatementsCombination() throws Exception {
         TestEnvironment env = TestEnvironment.getStatementReducerEnv();
@@ -0,0 +1,143 @@
+package sqlancer.yugabyte.ysql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class TestYSQLDDLScheduler {
+
+    private static final SQLException CATALOG_CONFLICT = new SQLException("Catalog Version Mismatch", "40001");
+
+    private static YSQLGlobalState createState(int ddlConcurrency, int ddlMaxAttempts) {
+        YSQLOptions options = new YSQLOptions();
+        options.ddlConcurrency = ddlConcurrency;
+        options.ddlMaxAttempts = ddlMaxAttempts;
+        YSQLGlobalState state = new YSQLGlobalState();
+        state.setDbmsSpecificOptions(options);
+        YSQLDDLScheduler.resetPermits();
+        return state;
+    }
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        YSQLGlobalState state = createState(2, 1);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> YSQLDDLScheduler.execute(state, () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                active.decrementAndGet();
+                return true;
+            })));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(2, maxActive.get());
+    }
+
+    @Test
+    public void testRetriesUpToTheMaximumNumberOfAttempts() throws Exception {
+        YSQLGlobalState state = createState(4, 3);
+        AtomicInteger attempts = new AtomicInteger();
+        assertFalse(YSQLDDLScheduler.execute(state, () -> {
+            attempts.incrementAndGet();
+            return false;
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testRetriesCatalogConflicts() throws Exception {
+        YSQLGlobalState state = createState(4, 3);
+        AtomicInteger attempts = new AtomicInteger();
+        assertTrue(YSQLDDLScheduler.execute(state, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw CATALOG_CONFLICT;
+            }
+            return true;
+        }));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testRetriesCatalogConflictsReportedAsAssertionErrors() throws Exception {
+        YSQLGlobalState state = createState(4, 3);
+        AtomicInteger attempts = new AtomicInteger();
+        // e.g., SQLQueryAdapter.checkException for an error that is not expected
+        assertTrue(YSQLDDLScheduler.execute(state, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new AssertionError("CREATE TABLE t0(c0 INT);", CATALOG_CONFLICT);
+            }
+            return true;
+        }));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testRejectsNonPositiveConcurrency() {
+        YSQLGlobalState state = createState(0, 3);
+        assertThrows(AssertionError.class, () -> YSQLDDLScheduler.execute(state, () -> true));
+    }
+
+    @Test
+    public void testGivesUpOnOtherErrors() {
+        YSQLGlobalState state = createState(4, 3);
+        SQLException syntaxError = new SQLException("syntax error at or near \"TABLE\"", "42601");
+        AtomicInteger attempts = new AtomicInteger();
+        SQLException thrown = assertThrows(SQLException.class, () -> YSQLDDLScheduler.execute(state, () -> {
+            attempts.incrementAndGet();
+            throw syntaxError;
+        }));
+        assertSame(syntaxError, thrown);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testThrowsCatalogConflictOfTheLastAttempt() {
+        YSQLGlobalState state = createState(4, 2);
+        AtomicInteger attempts = new AtomicInteger();
+        SQLException thrown = assertThrows(SQLException.class, () -> YSQLDDLScheduler.execute(state, () -> {
+            attempts.incrementAndGet();
+            throw CATALOG_CONFLICT;
+        }));
+        assertSame(CATALOG_CONFLICT, thrown);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testCatalogConflicts() {
+        assertTrue(YSQLDDLScheduler.isCatalogConflict(CATALOG_CONFLICT));
+        assertTrue(YSQLDDLScheduler.isCatalogConflict(new AssertionError(new SQLException(
+                "ERROR: The catalog snapshot used for this transaction has been invalidated"))));
+        assertTrue(YSQLDDLScheduler.isCatalogConflict(new SQLException(
+                "ERROR: Operation failed. Try again: Transaction conflicts with higher priority transaction")));
+        assertFalse(YSQLDDLScheduler.isCatalogConflict(new SQLException("relation \"t0\" already exists", "42P07")));
+    }
+
+    @Test
+    public void testJitteredBackoff() {
+        for (int i = 0; i < 100; i++) {
+            long backoff = YSQLDDLScheduler.getJitteredBackoff(YSQLDDLScheduler.INITIAL_BACKOFF_MILLIS);
+            assertTrue(backoff >= YSQLDDLScheduler.INITIAL_BACKOFF_MILLIS / 2, String.valueOf(backoff));
+            assertTrue(backoff <= YSQLDDLScheduler.INITIAL_BACKOFF_MILLIS, String.valueOf(backoff));
+        }
+    }
+
+}